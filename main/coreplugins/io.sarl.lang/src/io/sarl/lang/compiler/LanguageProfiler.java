@@ -0,0 +1,207 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sarl.lang.compiler;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import javax.inject.Singleton;
+
+/**
+ * Profiler of the language components, e.g. the validation checks and the type resolution.
+ *
+ * <p>The profiler is disabled by default. When it is disabled, the profiled components are not measured.
+ * It is enabled by the tools that need to report the measures, e.g. the batch compiler.
+ *
+ * <p>This class is thread-safe.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ */
+@Singleton
+public class LanguageProfiler {
+
+	private static final LongSupplier NO_ALLOCATION_COUNTER = () -> 0;
+
+	private final Map<Category, Map<String, Measure>> measures = new EnumMap<>(Category.class);
+
+	private volatile boolean enabled;
+
+	private volatile LongSupplier allocationCounter = NO_ALLOCATION_COUNTER;
+
+	/** Constructor.
+	 */
+	public LanguageProfiler() {
+		for (final Category category : Category.values()) {
+			this.measures.put(category, new ConcurrentHashMap<>());
+		}
+	}
+
+	/** Enable the profiler. The previous measures are forgotten.
+	 *
+	 * @param allocationCounter the provider of the number of bytes that were allocated by the current thread,
+	 *     or {@code null} if the allocated memory is not measured.
+	 */
+	public void enable(LongSupplier allocationCounter) {
+		reset();
+		this.allocationCounter = allocationCounter == null ? NO_ALLOCATION_COUNTER : allocationCounter;
+		this.enabled = true;
+	}
+
+	/** Disable the profiler. The measures are kept.
+	 */
+	public void disable() {
+		this.enabled = false;
+		this.allocationCounter = NO_ALLOCATION_COUNTER;
+	}
+
+	/** Replies if the profiler is enabled.
+	 *
+	 * @return {@code true} if the profiled components must be measured.
+	 */
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	/** Replies the number of bytes that were allocated by the current thread since its start.
+	 *
+	 * @return the number of bytes, or {@code 0} if the allocated memory is not measured.
+	 */
+	public long getAllocatedBytes() {
+		return this.allocationCounter.getAsLong();
+	}
+
+	/** Forget the measures.
+	 */
+	public void reset() {
+		for (final Map<String, Measure> categoryMeasures : this.measures.values()) {
+			categoryMeasures.clear();
+		}
+	}
+
+	/** Add a measure.
+	 *
+	 * @param category the category of the measured component.
+	 * @param name the name of the measured component.
+	 * @param duration the duration in nanoseconds.
+	 * @param allocatedBytes the number of allocated bytes.
+	 */
+	public void record(Category category, String name, long duration, long allocatedBytes) {
+		if (this.enabled) {
+			this.measures.get(category).computeIfAbsent(name, it -> new Measure()).add(duration, allocatedBytes);
+		}
+	}
+
+	/** Replies the measures for the given category.
+	 *
+	 * @param category the category of the measured components.
+	 * @return the measures per component name, sorted by name.
+	 */
+	public Map<String, Measure> getMeasures(Category category) {
+		return Collections.unmodifiableMap(new TreeMap<>(this.measures.get(category)));
+	}
+
+	/** Category of profiled component.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 0.12
+	 */
+	public enum Category {
+		/** Validation check method.
+		 */
+		CHECK,
+
+		/** Resolution of the types of a resource.
+		 */
+		TYPE_RESOLUTION;
+	}
+
+	/** Accumulated measures of a profiled component.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 0.12
+	 */
+	public static class Measure {
+
+		private final LongAdder count = new LongAdder();
+
+		private final LongAdder duration = new LongAdder();
+
+		private final LongAdder allocatedBytes = new LongAdder();
+
+		/** Constructor.
+		 */
+		Measure() {
+			//
+		}
+
+		/** Add a measure.
+		 *
+		 * @param duration the duration in nanoseconds.
+		 * @param allocatedBytes the number of allocated bytes.
+		 */
+		void add(long duration, long allocatedBytes) {
+			this.count.increment();
+			this.duration.add(duration);
+			this.allocatedBytes.add(allocatedBytes);
+		}
+
+		/** Replies the number of measured invocations.
+		 *
+		 * @return the number of invocations.
+		 */
+		public long getCount() {
+			return this.count.sum();
+		}
+
+		/** Replies the total duration of the invocations.
+		 *
+		 * @return the duration in nanoseconds.
+		 */
+		public long getTotalDuration() {
+			return this.duration.sum();
+		}
+
+		/** Replies the total number of bytes that were allocated by the invocations.
+		 *
+		 * @return the number of bytes.
+		 */
+		public long getTotalAllocatedBytes() {
+			return this.allocatedBytes.sum();
+		}
+
+	}
+
+}
@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -41,6 +42,7 @@ import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
@@ -186,6 +188,7 @@ import io.sarl.lang.typesystem.IOperationHelper;
 import io.sarl.lang.typesystem.InheritanceHelper;
 import io.sarl.lang.typesystem.SARLAnnotationUtil;
 import io.sarl.lang.typesystem.SARLReentrantTypeResolver;
+import io.sarl.lang.util.InheritanceContextCache;
 import io.sarl.lang.util.JvmVisibilityComparator;
 import io.sarl.lang.util.Utils;
 
@@ -339,9 +342,11 @@ public class SARLJvmModelInferrer extends XtendJvmModelInferrer {
 	@Inject
 	private IDefaultVisibilityProvider defaultVisibilityProvider;
 
-	/** Generation contexts.
+	/** Generation contexts. The most recently opened context is at the head of the deque.
+	 * The deque is concurrent because the inferrer is a singleton that may be invoked
+	 * for different resources from different threads, e.g. by the parallel batch compiler.
 	 */
-	private LinkedList<GenerationContext> bufferedContexes = new LinkedList<>();
+	private final Deque<GenerationContext> bufferedContexes = new ConcurrentLinkedDeque<>();
 
 	/** Log an internal error but do not fail.
 	 *
@@ -519,7 +524,7 @@ public class SARLJvmModelInferrer extends XtendJvmModelInferrer {
 	 * @param supportedMemberTypes the types of the supported members.
 	 * @return the created context.
 	 */
-	protected final synchronized GenerationContext openContext(EObject sarlObject, JvmDeclaredType type,
+	protected final GenerationContext openContext(EObject sarlObject, JvmDeclaredType type,
 			final Iterable<Class<? extends XtendMember>> supportedMemberTypes) {
 		assert type != null;
 		assert supportedMemberTypes != null;
@@ -535,7 +540,7 @@ public class SARLJvmModelInferrer extends XtendJvmModelInferrer {
 			}
 		};
 		this.contextInjector.injectMembers(context);
-		this.bufferedContexes.push(context);
+		this.bufferedContexes.addFirst(context);
 		return context;
 	}
 
@@ -546,14 +551,12 @@ public class SARLJvmModelInferrer extends XtendJvmModelInferrer {
 	protected final void closeContext(GenerationContext context) {
 		boolean runPostElements = false;
 		GenerationContext selectedContext = null;
-		synchronized (this) {
-			final Iterator<GenerationContext> iterator = this.bufferedContexes.iterator();
-			while (selectedContext == null && iterator.hasNext()) {
-				final GenerationContext candidate = iterator.next();
-				if (Objects.equal(candidate.getTypeIdentifier(), context.getTypeIdentifier())) {
-					runPostElements = candidate.getParentContext() == null;
-					selectedContext = candidate;
-				}
+		final Iterator<GenerationContext> iterator = this.bufferedContexes.iterator();
+		while (selectedContext == null && iterator.hasNext()) {
+			final GenerationContext candidate = iterator.next();
+			if (Objects.equal(candidate.getTypeIdentifier(), context.getTypeIdentifier())) {
+				runPostElements = candidate.getParentContext() == null;
+				selectedContext = candidate;
 			}
 		}
 		if (selectedContext == null) {
@@ -564,17 +567,14 @@ public class SARLJvmModelInferrer extends XtendJvmModelInferrer {
 				handler.run();
 			}
 		}
-		synchronized (this) {
-			final Iterator<GenerationContext> iterator = this.bufferedContexes.iterator();
-			while (iterator.hasNext()) {
-				final GenerationContext candidate = iterator.next();
-				if (selectedContext == candidate) {
-					candidate.setParentContext(null);
-					candidate.release();
-					iterator.remove();
-					return;
-				}
-			}
+		if (this.bufferedContexes.removeFirstOccurrence(selectedContext)) {
+			selectedContext.setParentContext(null);
+			selectedContext.release();
+		}
+		// The members of the type have changed. The descriptions of the inheriting types must be computed again.
+		final JvmDeclaredType type = context.getType();
+		if (type != null) {
+			InheritanceContextCache.invalidate(type.eResource());
 		}
 	}
 
@@ -583,7 +583,7 @@ public class SARLJvmModelInferrer extends XtendJvmModelInferrer {
 	 * @param type the generated type.
 	 * @return the SARL-specific generation context.
 	 */
-	protected final synchronized GenerationContext getContext(JvmIdentifiableElement type) {
+	protected final GenerationContext getContext(JvmIdentifiableElement type) {
 		for (final GenerationContext candidate : this.bufferedContexes) {
 			if (Objects.equal(candidate.getTypeIdentifier(), type.getIdentifier())) {
 				return candidate;
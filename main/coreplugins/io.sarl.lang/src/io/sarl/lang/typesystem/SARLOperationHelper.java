@@ -22,6 +22,7 @@
 package io.sarl.lang.typesystem;
 
 import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -29,7 +30,6 @@ import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -91,6 +91,7 @@ import io.sarl.lang.sarl.actionprototype.ActionParameterTypes;
 import io.sarl.lang.sarl.actionprototype.IActionPrototypeProvider;
 import io.sarl.lang.sarl.actionprototype.InferredPrototype;
 import io.sarl.lang.sarl.actionprototype.QualifiedActionName;
+import io.sarl.lang.util.InheritanceContextCache;
 import io.sarl.lang.util.Utils;
 
 /**
@@ -100,6 +101,11 @@ import io.sarl.lang.util.Utils;
  * with a name starting with "get", "is", "has" is a pure function.
  * It also assumes that "equals", "hashCode", "clone" and "toString" are also pure functions.
  *
+ * <p>The results of the analysis are memorized into a {@link SideEffectCache} that is attached to the
+ * resource set. When mutually recursive operations are analyzed, the result for an operation is memorized
+ * only if it does not depend on an operation that is upper in the call stack, i.e. when the operation is
+ * the entry point of the cycle of calls.
+ *
  * @author $Author: sgalland$
  * @version $FullVersion$
  * @mavengroupid $GroupId$
@@ -201,7 +207,18 @@ public class SARLOperationHelper implements IOperationHelper {
 
 	@Override
 	public boolean isPurableOperation(XtendFunction operation) {
-		return isPurableOperation(operation, null);
+		final SideEffectCache cache = SideEffectCache.getOrCreate(operation);
+		if (cache != null) {
+			final Boolean cachedValue = cache.getPurableFunction(operation);
+			if (cachedValue != null) {
+				return cachedValue.booleanValue();
+			}
+		}
+		final boolean purable = isPurableOperation(operation, null);
+		if (cache != null) {
+			cache.setPurableFunction(operation, purable);
+		}
+		return purable;
 	}
 
 	/** Replies if the given is purable in the given context.
@@ -250,13 +267,9 @@ public class SARLOperationHelper implements IOperationHelper {
 		if (fct != null) {
 			return getInferredPrototype(fct);
 		}
-		final QualifiedActionName actionKey = this.actionPrototypes.createQualifiedActionName(
-				operation.getDeclaringType(), operation.getSimpleName());
 		// Compute the different action prototypes associated to the action to create.
-		return this.actionPrototypes.createPrototypeFromJvmModel(
-				// TODO more general context?
-				this.actionPrototypes.createContext(),
-				actionKey, operation.isVarArgs(), operation.getParameters());
+		// The prototypes are shared with the other users of the type.
+		return InheritanceContextCache.getPrototype(operation, this.actionPrototypes);
 	}
 
 	private Boolean internalHasSideEffects(XExpression expr, ISideEffectContext ctx) {
@@ -269,8 +282,20 @@ public class SARLOperationHelper implements IOperationHelper {
 
 	@Override
 	public boolean hasSideEffects(InferredPrototype calledOperation, XExpression expr) {
+		// The result depends on the called operation; only the results without called operation are memorized.
+		final SideEffectCache cache = calledOperation == null ? SideEffectCache.getOrCreate(expr) : null;
+		if (cache != null) {
+			final Boolean cachedValue = cache.getSideEffects(expr);
+			if (cachedValue != null) {
+				return cachedValue.booleanValue();
+			}
+		}
 		final SideEffectContext ctx = new SideEffectContext(calledOperation);
-		return internalHasSideEffects(expr, ctx);
+		final boolean sideEffects = internalHasSideEffects(expr, ctx).booleanValue();
+		if (cache != null) {
+			cache.setSideEffects(expr, sideEffects);
+		}
+		return sideEffects;
 	}
 
 	/** Determine if the given expression has a side effect.
@@ -741,10 +766,14 @@ public class SARLOperationHelper implements IOperationHelper {
 		}
 		if (feature instanceof JvmOperation) {
 			final JvmOperation operation = (JvmOperation) feature;
-			if (isCalledOperation(operation, context.getCalledOperations())) {
+			final int frame = getCalledOperationIndex(operation, context.getCalledOperations());
+			if (frame >= 0) {
 				// Recursive call detected.
 				// We assume no border effect in order to let the other expressions in the operation
 				// to influence the pure state of the operation.
+				if (context instanceof SideEffectContext) {
+					((SideEffectContext) context).markRecursiveCall(frame);
+				}
 				return false;
 			}
 			// Test if the receiver has side effects
@@ -752,11 +781,7 @@ public class SARLOperationHelper implements IOperationHelper {
 				return true;
 			}
 			// Test the feature call itself
-			final ISideEffectContext ctx = new SideEffectContext(
-					Iterables.concat(context.getCalledOperations(),
-							Collections.singleton(getInferredPrototype(operation))));
-			if (this.annotations.findAnnotation(operation, Pure.class) != null
-					|| evaluatePureAnnotationAdapters(operation, ctx)) {
+			if (isPureOperation(operation, context)) {
 				return false;
 			}
 			if (this.nameValidator.isNamePatternForNotPureOperation(operation)) {
@@ -780,8 +805,40 @@ public class SARLOperationHelper implements IOperationHelper {
 		return false;
 	}
 
-	private static boolean isCalledOperation(JvmOperation operation, List<InferredPrototype> prototypes) {
+	/** Replies if the given operation is pure when it is called in the given context.
+	 * The result is memorized, except if it depends on an operation that is in the call stack of the context.
+	 *
+	 * @param operation the operation to test.
+	 * @param context the context of the call.
+	 * @return {@code true} if the operation is pure.
+	 */
+	private boolean isPureOperation(JvmOperation operation, ISideEffectContext context) {
+		if (this.annotations.findAnnotation(operation, Pure.class) != null) {
+			return true;
+		}
+		final SideEffectCache cache = SideEffectCache.getOrCreate(operation);
+		if (cache != null) {
+			final Boolean cachedValue = cache.getPureOperation(operation);
+			if (cachedValue != null) {
+				return cachedValue.booleanValue();
+			}
+		}
+		final List<InferredPrototype> calledOperations = context.getCalledOperations();
+		final int frame = calledOperations.size();
+		final SideEffectContext ctx = new SideEffectContext(
+				Iterables.concat(calledOperations, Collections.singleton(getInferredPrototype(operation))),
+				context);
+		final int previousLowestFrame = ctx.enterFrame();
+		final boolean pure = evaluatePureAnnotationAdapters(operation, ctx);
+		if (ctx.leaveFrame(previousLowestFrame, frame) && cache != null) {
+			cache.setPureOperation(operation, pure);
+		}
+		return pure;
+	}
+
+	private static int getCalledOperationIndex(JvmOperation operation, List<InferredPrototype> prototypes) {
 		final String container = operation.getDeclaringType().getQualifiedName();
+		int index = 0;
 		for (final InferredPrototype prototype : prototypes) {
 			if (Strings.equal(container, prototype.getActionName().getDeclaringType().getIdentifier())
 					&& Strings.equal(operation.getSimpleName(), prototype.getActionName().getActionName())) {
@@ -790,16 +847,17 @@ public class SARLOperationHelper implements IOperationHelper {
 				for (final ActionParameterTypes types : prototype.getParameterTypeAlternatives()) {
 					String name = prefix + types.toActionPrototype(operation.getSimpleName()).toString();
 					if (Strings.equal(operationId, name)) {
-						return true;
+						return index;
 					}
 					name = prefix + types.toRawActionPrototype(operation.getSimpleName()).toString();
 					if (Strings.equal(operationId, name)) {
-						return true;
+						return index;
 					}
 				}
 			}
+			++index;
 		}
-		return false;
+		return -1;
 	}
 
 	private static boolean isExternalFeature(JvmIdentifiableElement feature) {
@@ -885,6 +943,10 @@ public class SARLOperationHelper implements IOperationHelper {
 	public void attachPureAnnotationAdapter(JvmOperation operation,
 			Function2<? super JvmOperation, ? super IOperationHelper, ? extends Boolean> dynamicCallback) {
 		if (operation != null && dynamicCallback != null) {
+			final SideEffectCache cache = SideEffectCache.get(operation);
+			if (cache != null) {
+				cache.clear();
+			}
 			AnnotationJavaGenerationAdapter adapter = (AnnotationJavaGenerationAdapter) EcoreUtil.getAdapter(
 					operation.eAdapters(), AnnotationJavaGenerationAdapter.class);
 			if (adapter == null) {
@@ -900,8 +962,21 @@ public class SARLOperationHelper implements IOperationHelper {
 		if (operation == null) {
 			return false;
 		}
-		return this.annotations.findAnnotation(operation, Pure.class) != null
-				|| evaluatePureAnnotationAdapters(operation);
+		if (this.annotations.findAnnotation(operation, Pure.class) != null) {
+			return true;
+		}
+		final SideEffectCache cache = SideEffectCache.getOrCreate(operation);
+		if (cache != null) {
+			final Boolean cachedValue = cache.getPureOperation(operation);
+			if (cachedValue != null) {
+				return cachedValue.booleanValue();
+			}
+		}
+		final boolean pure = evaluatePureAnnotationAdapters(operation);
+		if (cache != null) {
+			cache.setPureOperation(operation, pure);
+		}
+		return pure;
 	}
 
 	/** Context for the side effect.
@@ -922,6 +997,8 @@ public class SARLOperationHelper implements IOperationHelper {
 
 		private final Map<String, List<XExpression>> variableAssignmentBuffer;
 
+		private final CycleTracker cycleTracker;
+
 		/** Constructor.
 		 *
 		 * @param calledOperation the called operation.
@@ -932,15 +1009,18 @@ public class SARLOperationHelper implements IOperationHelper {
 			}
 			this.variableAssignmentBuffer = null;
 			this.isBranchContext = false;
-			this.contextStack = new LinkedList<>();
+			this.cycleTracker = new CycleTracker();
+			this.contextStack = new ArrayDeque<>();
 			this.contextStack.addLast(new InternalContext(null));
 		}
 
 		/** Constructor.
 		 *
 		 * @param calledOperations the operations that are called before the called operation in the call stack.
+		 * @param context the context of the call, or {@code null}.
+		 * @since 0.12
 		 */
-		SideEffectContext(Iterable<InferredPrototype> calledOperations) {
+		SideEffectContext(Iterable<InferredPrototype> calledOperations, ISideEffectContext context) {
 			if (calledOperations != null) {
 				for (final InferredPrototype proto : calledOperations) {
 					this.calledOperations.add(proto);
@@ -948,7 +1028,8 @@ public class SARLOperationHelper implements IOperationHelper {
 			}
 			this.variableAssignmentBuffer = null;
 			this.isBranchContext = false;
-			this.contextStack = new LinkedList<>();
+			this.cycleTracker = getCycleTracker(context);
+			this.contextStack = new ArrayDeque<>();
 			this.contextStack.addLast(new InternalContext(null));
 		}
 
@@ -964,20 +1045,65 @@ public class SARLOperationHelper implements IOperationHelper {
 			}
 			this.variableAssignmentBuffer = null;
 			this.isBranchContext = false;
-			this.contextStack = new LinkedList<>();
+			this.cycleTracker = getCycleTracker(context);
+			this.contextStack = new ArrayDeque<>();
 			this.contextStack.addLast(new InternalContext(null));
 		}
 
 		private SideEffectContext(List<InferredPrototype> calledOperations, Deque<InternalContext> contextStack,
-				Map<String, List<XExpression>> buffer) {
+				Map<String, List<XExpression>> buffer, CycleTracker cycleTracker) {
 			if (calledOperations != null) {
 				this.calledOperations.addAll(calledOperations);
 			}
 			this.variableAssignmentBuffer = buffer;
 			this.isBranchContext = true;
+			this.cycleTracker = cycleTracker;
 			this.contextStack = contextStack;
 		}
 
+		private static CycleTracker getCycleTracker(ISideEffectContext context) {
+			if (context instanceof SideEffectContext) {
+				return ((SideEffectContext) context).cycleTracker;
+			}
+			return new CycleTracker();
+		}
+
+		/** Notify that a recursive call to the operation at the given index in the call stack was detected.
+		 *
+		 * @param frame the index of the called operation in the call stack.
+		 * @since 0.12
+		 */
+		void markRecursiveCall(int frame) {
+			if (frame < this.cycleTracker.lowestFrame) {
+				this.cycleTracker.lowestFrame = frame;
+			}
+		}
+
+		/** Start the analysis of the operation that is at the top of the call stack.
+		 *
+		 * @return the lowest index of the recursive calls that were detected before.
+		 * @since 0.12
+		 */
+		int enterFrame() {
+			final int previousLowestFrame = this.cycleTracker.lowestFrame;
+			this.cycleTracker.lowestFrame = Integer.MAX_VALUE;
+			return previousLowestFrame;
+		}
+
+		/** Terminate the analysis of the operation that is at the given index in the call stack.
+		 *
+		 * @param previousLowestFrame the value replied by {@link #enterFrame()}.
+		 * @param frame the index of the operation in the call stack.
+		 * @return {@code true} if the result of the analysis does not depend on an operation that is below
+		 *     the given index in the call stack. In this case, the result could be memorized.
+		 * @since 0.12
+		 */
+		boolean leaveFrame(int previousLowestFrame, int frame) {
+			final int lowestFrame = this.cycleTracker.lowestFrame;
+			this.cycleTracker.lowestFrame = Math.min(previousLowestFrame, lowestFrame);
+			return lowestFrame >= frame;
+		}
+
 		@Override
 		public List<InferredPrototype> getCalledOperations() {
 			return Collections.unmodifiableList(this.calledOperations);
@@ -1040,7 +1166,7 @@ public class SARLOperationHelper implements IOperationHelper {
 
 		@Override
 		public ISideEffectContext branch(Map<String, List<XExpression>> buffer) {
-			return new SideEffectContext(getCalledOperations(), this.contextStack, buffer);
+			return new SideEffectContext(getCalledOperations(), this.contextStack, buffer, this.cycleTracker);
 		}
 
 		@Override
@@ -1080,6 +1206,26 @@ public class SARLOperationHelper implements IOperationHelper {
 			return this.contextStack.getLast().getVariableValues(name);
 		}
 
+		/** Tracker of the recursive calls that is shared by the contexts of a same analysis.
+		 *
+		 * @author $Author: sgalland$
+		 * @version $FullVersion$
+		 * @mavengroupid $GroupId$
+		 * @mavenartifactid $ArtifactId$
+		 * @since 0.12
+		 */
+		private static class CycleTracker {
+
+			/** Lowest index in the call stack of the operations that are recursively called.
+			 */
+			int lowestFrame = Integer.MAX_VALUE;
+
+			CycleTracker() {
+				//
+			}
+
+		}
+
 		/** A context.
 		 *
 		 * @author $Author: sgalland$
@@ -26,6 +26,7 @@ import java.util.Set;
 
 import com.google.inject.Inject;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.xtend.core.typesystem.XtendReentrantTypeResolver;
 import org.eclipse.xtend.core.xtend.RichString;
@@ -41,6 +42,7 @@ import org.eclipse.xtext.common.types.JvmType;
 import org.eclipse.xtext.common.types.JvmTypeAnnotationValue;
 import org.eclipse.xtext.common.types.JvmTypeReference;
 import org.eclipse.xtext.common.types.util.AnnotationLookup;
+import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.JavaVersion;
 import org.eclipse.xtext.xbase.XAbstractFeatureCall;
 import org.eclipse.xtext.xbase.XClosure;
@@ -59,6 +61,8 @@ import org.eclipse.xtext.xbase.typesystem.references.LightweightTypeReference;
 import org.eclipse.xtext.xbase.typesystem.util.Maps2;
 
 import io.sarl.lang.annotation.ImportedCapacityFeature;
+import io.sarl.lang.compiler.LanguageProfiler;
+import io.sarl.lang.compiler.LanguageProfiler.Category;
 import io.sarl.lang.util.Utils;
 
 /**
@@ -81,6 +85,8 @@ import io.sarl.lang.util.Utils;
  */
 public class SARLReentrantTypeResolver extends XtendReentrantTypeResolver {
 
+	private static final ThreadLocal<int[]> RESOLUTION_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
 	@Inject
 	private AnnotationLookup annotationLookup;
 
@@ -89,6 +95,33 @@ public class SARLReentrantTypeResolver extends XtendReentrantTypeResolver {
 	@Inject
 	private IGeneratorConfigProvider generatorConfigProvider;
 
+	@Inject
+	private LanguageProfiler profiler;
+
+	@Override
+	public IResolvedTypes reentrantResolve(CancelIndicator monitor) {
+		final LanguageProfiler prof = this.profiler;
+		// The resolution of the types of a resource may trigger the resolution of the types of another resource.
+		// Only the outer resolution is measured in order to avoid to count the same duration several times.
+		if (prof == null || !prof.isEnabled() || RESOLUTION_DEPTH.get()[0] > 0) {
+			return super.reentrantResolve(monitor);
+		}
+		final int[] depth = RESOLUTION_DEPTH.get();
+		final long startTime = System.nanoTime();
+		final long startBytes = prof.getAllocatedBytes();
+		++depth[0];
+		try {
+			return super.reentrantResolve(monitor);
+		} finally {
+			--depth[0];
+			final EObject root = getRoot();
+			final Resource resource = root == null ? null : root.eResource();
+			prof.record(Category.TYPE_RESOLUTION,
+					resource == null ? String.valueOf(root) : resource.getURI().toString(),
+					System.nanoTime() - startTime, prof.getAllocatedBytes() - startBytes);
+		}
+	}
+
 	@Override
 	protected IFeatureScopeSession addExtensionFieldsToMemberSession(
 			ResolvedTypes resolvedTypes,
@@ -0,0 +1,307 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sarl.lang.typesystem;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtend.core.xtend.XtendFunction;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.xbase.XExpression;
+
+/**
+ * Memoization table of the purity of the operations and of the side effects of the expressions.
+ * The table is attached to a resource set.
+ *
+ * <p>The table is cleared when the content of one of the resources that contains a memorized element
+ * is changed, when one of these resources is unloaded or reparsed, or when a resource is removed from
+ * the resource set. The loading of a new resource into the resource set does not clear the table.
+ * The elements that are not inside a resource are never memorized.
+ *
+ * <p>This class is thread-safe.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ */
+public class SideEffectCache extends AdapterImpl {
+
+	private final Map<JvmOperation, Boolean> pureOperations = new ConcurrentHashMap<>();
+
+	private final Map<XtendFunction, Boolean> purableFunctions = new ConcurrentHashMap<>();
+
+	private final Map<XExpression, Boolean> sideEffects = new ConcurrentHashMap<>();
+
+	private final Map<Resource, Object> listenedResources = new ConcurrentHashMap<>();
+
+	/** Replies the memoization table that is attached to the resource set of the given object.
+	 * If the table does not exist, it is created.
+	 *
+	 * @param object the object.
+	 * @return the memoization table, or {@code null} if the object is not inside a resource set.
+	 */
+	public static SideEffectCache getOrCreate(EObject object) {
+		final ResourceSet resourceSet = getResourceSet(object);
+		if (resourceSet == null) {
+			return null;
+		}
+		SideEffectCache cache = (SideEffectCache) EcoreUtil.getAdapter(resourceSet.eAdapters(), SideEffectCache.class);
+		if (cache == null) {
+			synchronized (resourceSet) {
+				cache = (SideEffectCache) EcoreUtil.getAdapter(resourceSet.eAdapters(), SideEffectCache.class);
+				if (cache == null) {
+					cache = new SideEffectCache();
+					resourceSet.eAdapters().add(cache);
+				}
+			}
+		}
+		return cache;
+	}
+
+	/** Replies the memoization table that is attached to the resource set of the given object.
+	 *
+	 * @param object the object.
+	 * @return the memoization table, or {@code null} if there is no table.
+	 */
+	public static SideEffectCache get(EObject object) {
+		final ResourceSet resourceSet = getResourceSet(object);
+		if (resourceSet == null) {
+			return null;
+		}
+		return (SideEffectCache) EcoreUtil.getAdapter(resourceSet.eAdapters(), SideEffectCache.class);
+	}
+
+	private static ResourceSet getResourceSet(EObject object) {
+		if (object != null) {
+			final Resource resource = object.eResource();
+			if (resource != null) {
+				return resource.getResourceSet();
+			}
+		}
+		return null;
+	}
+
+	/** Replies the stamp of the resource. The stamp changes each time the resource is parsed.
+	 *
+	 * @param resource the resource.
+	 * @return the stamp.
+	 */
+	private static Object getStamp(Resource resource) {
+		if (resource instanceof XtextResource) {
+			final Object parseResult = ((XtextResource) resource).getParseResult();
+			if (parseResult != null) {
+				return parseResult;
+			}
+		}
+		return resource;
+	}
+
+	@Override
+	public boolean isAdapterForType(Object type) {
+		return SideEffectCache.class.equals(type);
+	}
+
+	@Override
+	public void notifyChanged(Notification msg) {
+		if (msg.getFeatureID(ResourceSet.class) == ResourceSet.RESOURCE_SET__RESOURCES) {
+			switch (msg.getEventType()) {
+			case Notification.REMOVE:
+			case Notification.REMOVE_MANY:
+			case Notification.SET:
+			case Notification.UNSET:
+				clear();
+				break;
+			default:
+				break;
+			}
+		}
+	}
+
+	/** Clear the memoization table.
+	 */
+	public void clear() {
+		this.pureOperations.clear();
+		this.purableFunctions.clear();
+		this.sideEffects.clear();
+		for (final Entry<Resource, Object> entry : this.listenedResources.entrySet()) {
+			entry.setValue(getStamp(entry.getKey()));
+		}
+	}
+
+	/** Replies if the memorized values for the given object are still valid.
+	 * If the resource of the object has been reparsed, the table is cleared.
+	 *
+	 * @param object the object.
+	 * @return {@code true} if the memorized values could be used.
+	 */
+	private boolean isValid(EObject object) {
+		final Resource resource = object.eResource();
+		if (resource == null) {
+			return false;
+		}
+		final Object stamp = this.listenedResources.get(resource);
+		if (stamp != null && stamp != getStamp(resource)) {
+			clear();
+			return false;
+		}
+		return true;
+	}
+
+	/** Listen on the resource of the given object in order to clear the table when the resource changes.
+	 *
+	 * @param object the object.
+	 * @return {@code true} if the values for the given object could be memorized.
+	 */
+	private boolean listen(EObject object) {
+		final Resource resource = object.eResource();
+		if (resource == null) {
+			return false;
+		}
+		if (!this.listenedResources.containsKey(resource)) {
+			synchronized (resource) {
+				if (!this.listenedResources.containsKey(resource)) {
+					resource.eAdapters().add(new ResourceListener());
+					this.listenedResources.put(resource, getStamp(resource));
+				}
+			}
+		}
+		return true;
+	}
+
+	/** Replies the memorized purity of the given operation.
+	 *
+	 * @param operation the operation.
+	 * @return the purity, or {@code null} if it is not memorized.
+	 */
+	public Boolean getPureOperation(JvmOperation operation) {
+		if (!isValid(operation)) {
+			return null;
+		}
+		return this.pureOperations.get(operation);
+	}
+
+	/** Memorize the purity of the given operation.
+	 *
+	 * @param operation the operation.
+	 * @param pure the purity.
+	 */
+	public void setPureOperation(JvmOperation operation, boolean pure) {
+		if (listen(operation)) {
+			this.pureOperations.put(operation, Boolean.valueOf(pure));
+		}
+	}
+
+	/** Replies the memorized purable state of the given function.
+	 *
+	 * @param function the function.
+	 * @return the purable state, or {@code null} if it is not memorized.
+	 */
+	public Boolean getPurableFunction(XtendFunction function) {
+		if (!isValid(function)) {
+			return null;
+		}
+		return this.purableFunctions.get(function);
+	}
+
+	/** Memorize the purable state of the given function.
+	 *
+	 * @param function the function.
+	 * @param purable the purable state.
+	 */
+	public void setPurableFunction(XtendFunction function, boolean purable) {
+		if (listen(function)) {
+			this.purableFunctions.put(function, Boolean.valueOf(purable));
+		}
+	}
+
+	/** Replies the memorized side effect state of the given expression.
+	 *
+	 * @param expression the expression.
+	 * @return the side effect state, or {@code null} if it is not memorized.
+	 */
+	public Boolean getSideEffects(XExpression expression) {
+		if (!isValid(expression)) {
+			return null;
+		}
+		return this.sideEffects.get(expression);
+	}
+
+	/** Memorize the side effect state of the given expression.
+	 *
+	 * @param expression the expression.
+	 * @param sideEffects the side effect state.
+	 */
+	public void setSideEffects(XExpression expression, boolean sideEffects) {
+		if (listen(expression)) {
+			this.sideEffects.put(expression, Boolean.valueOf(sideEffects));
+		}
+	}
+
+	/** Listener on the changes of a resource that contains memorized elements.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 0.12
+	 */
+	private class ResourceListener extends AdapterImpl {
+
+		/** Constructor.
+		 */
+		ResourceListener() {
+			//
+		}
+
+		@Override
+		public void notifyChanged(Notification msg) {
+			if (msg.isTouch()) {
+				return;
+			}
+			final int featureId = msg.getFeatureID(Resource.class);
+			if (featureId == Resource.RESOURCE__CONTENTS || featureId == Resource.RESOURCE__IS_LOADED) {
+				clear();
+			}
+		}
+
+		@Override
+		public void unsetTarget(Notifier oldTarget) {
+			super.unsetTarget(oldTarget);
+			if (oldTarget instanceof Resource) {
+				SideEffectCache.this.listenedResources.remove(oldTarget);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,331 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sarl.lang.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.common.types.JvmConstructor;
+import org.eclipse.xtext.common.types.JvmDeclaredType;
+import org.eclipse.xtext.common.types.JvmFeature;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.common.types.JvmType;
+import org.eclipse.xtext.common.types.JvmTypeReference;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.util.IResourceScopeCache;
+import org.eclipse.xtext.util.OnChangeEvictingCache;
+
+import io.sarl.lang.sarl.actionprototype.ActionParameterTypes;
+import io.sarl.lang.sarl.actionprototype.ActionPrototype;
+import io.sarl.lang.sarl.actionprototype.IActionPrototypeProvider;
+import io.sarl.lang.sarl.actionprototype.InferredPrototype;
+import io.sarl.lang.sarl.actionprototype.QualifiedActionName;
+
+/**
+ * Cache of the action prototypes of the features of the JVM types.
+ *
+ * <p>The description of a type is attached to the type itself. Consequently, it is shared by all the
+ * components that are using the type, e.g. the JVM model inferrer, the validator and the IDE tools.
+ * The description is associated to the modification stamps of the resources that contain the type and
+ * its super types. It is computed again when one of these resources has changed. The modification stamp
+ * of a Xtext resource is stored into the resource scope cache, which is evicted by Xtext on each change
+ * of the resource content. Xtext does not evict this cache during the inference of the JVM model.
+ * Consequently, the JVM model inferrer renews the stamp with {@link #invalidate(Resource)} each time
+ * it has filled a type, e.g. when a super type is declared after its sub type into the same resource.
+ *
+ * <p>This class is thread-safe.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ */
+public final class InheritanceContextCache {
+
+	private static final String STAMP_KEY = InheritanceContextCache.class.getName() + ".stamp"; //$NON-NLS-1$
+
+	private static final String OBJECT_TYPE_NAME = "java.lang.Object"; //$NON-NLS-1$
+
+	private InheritanceContextCache() {
+		//
+	}
+
+	/** Replies the description of the features of the given type.
+	 *
+	 * @param type the type.
+	 * @param provider the provider of action prototypes.
+	 * @return the description, never {@code null}.
+	 */
+	public static TypeDescription getDescription(JvmDeclaredType type, IActionPrototypeProvider provider) {
+		DescriptionAdapter adapter = (DescriptionAdapter) EcoreUtil.getAdapter(type.eAdapters(), DescriptionAdapter.class);
+		if (adapter == null) {
+			synchronized (type) {
+				adapter = (DescriptionAdapter) EcoreUtil.getAdapter(type.eAdapters(), DescriptionAdapter.class);
+				if (adapter == null) {
+					adapter = new DescriptionAdapter();
+					type.eAdapters().add(adapter);
+				}
+			}
+		}
+		final TypeDescription description = adapter.description;
+		if (description != null && description.provider == provider && description.isValid()) {
+			return description;
+		}
+		final TypeDescription newDescription = new TypeDescription(type, provider);
+		adapter.description = newDescription;
+		return newDescription;
+	}
+
+	/** Replies the prototype that is inferred from the JVM model for the given operation.
+	 * The prototype is created within a new action prototype context.
+	 *
+	 * @param operation the operation.
+	 * @param provider the provider of action prototypes.
+	 * @return the prototype.
+	 */
+	public static InferredPrototype getPrototype(JvmOperation operation, IActionPrototypeProvider provider) {
+		final JvmDeclaredType container = operation.getDeclaringType();
+		if (container == null || container.eResource() == null) {
+			return createPrototype(operation, provider);
+		}
+		return getDescription(container, provider).prototypes.computeIfAbsent(operation,
+			it -> createPrototype(it, provider));
+	}
+
+	private static InferredPrototype createPrototype(JvmOperation operation, IActionPrototypeProvider provider) {
+		final QualifiedActionName actionKey = provider.createQualifiedActionName(
+				operation.getDeclaringType(), operation.getSimpleName());
+		return provider.createPrototypeFromJvmModel(
+				provider.createContext(),
+				actionKey, operation.isVarArgs(), operation.getParameters());
+	}
+
+	/** Replies the modification stamp of the given resource.
+	 *
+	 * @param resource the resource.
+	 * @return the stamp.
+	 */
+	static Object getStamp(Resource resource) {
+		if (resource instanceof XtextResource) {
+			final XtextResource xtextResource = (XtextResource) resource;
+			// The value is evicted from the cache each time the content of the resource is changed.
+			return xtextResource.getCache().get(STAMP_KEY, xtextResource, Object::new);
+		}
+		return resource;
+	}
+
+	/** Invalidate the descriptions of the types that are defined into the given resource, or that
+	 * are inheriting from these types.
+	 *
+	 * @param resource the resource that has changed.
+	 */
+	public static void invalidate(Resource resource) {
+		if (resource instanceof XtextResource) {
+			final IResourceScopeCache cache = ((XtextResource) resource).getCache();
+			if (cache instanceof OnChangeEvictingCache) {
+				((OnChangeEvictingCache) cache).getOrCreate(resource).set(STAMP_KEY, new Object());
+			} else {
+				cache.clear(resource);
+			}
+		}
+	}
+
+	/** Description of the features of a type.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 0.12
+	 */
+	public static final class TypeDescription {
+
+		private final IActionPrototypeProvider provider;
+
+		private final Map<Resource, Object> stamps = new IdentityHashMap<>();
+
+		private final List<FeatureDescription> features;
+
+		private final Map<ActionParameterTypes, JvmConstructor> constructors;
+
+		private final Map<JvmOperation, InferredPrototype> prototypes = new ConcurrentHashMap<>();
+
+		/** Constructor.
+		 *
+		 * @param type the described type.
+		 * @param provider the provider of action prototypes.
+		 */
+		TypeDescription(JvmDeclaredType type, IActionPrototypeProvider provider) {
+			this.provider = provider;
+			// The stamps are computed before the features in order to detect the changes during the computation.
+			addStamps(type, new HashSet<>());
+			final List<FeatureDescription> features = new ArrayList<>();
+			for (final JvmFeature feature : type.getAllFeatures()) {
+				if (!OBJECT_TYPE_NAME.equals(feature.getDeclaringType().getQualifiedName())) {
+					ActionPrototype actionKey = null;
+					if (feature instanceof JvmOperation) {
+						final JvmOperation operation = (JvmOperation) feature;
+						final ActionParameterTypes sig = provider.createParameterTypesFromJvmModel(
+								operation.isVarArgs(), operation.getParameters());
+						actionKey = provider.createActionPrototype(operation.getSimpleName(), sig);
+					}
+					features.add(new FeatureDescription(feature, actionKey));
+				}
+			}
+			this.features = Collections.unmodifiableList(features);
+			final Map<ActionParameterTypes, JvmConstructor> constructors = new LinkedHashMap<>();
+			for (final JvmConstructor cons : type.getDeclaredConstructors()) {
+				final ActionParameterTypes sig = provider.createParameterTypesFromJvmModel(
+						cons.isVarArgs(), cons.getParameters());
+				constructors.put(sig, cons);
+			}
+			this.constructors = Collections.unmodifiableMap(constructors);
+		}
+
+		private void addStamps(JvmDeclaredType type, Set<JvmDeclaredType> visited) {
+			if (!visited.add(type)) {
+				return;
+			}
+			final Resource resource = type.eResource();
+			if (resource != null && !this.stamps.containsKey(resource)) {
+				this.stamps.put(resource, getStamp(resource));
+			}
+			for (final JvmTypeReference superType : type.getSuperTypes()) {
+				final JvmType jvmType = superType.getType();
+				if (jvmType instanceof JvmDeclaredType) {
+					addStamps((JvmDeclaredType) jvmType, visited);
+				}
+			}
+		}
+
+		/** Replies if the description is still valid, i.e. if none of the resources of the type hierarchy has changed.
+		 *
+		 * @return {@code true} if the description is valid.
+		 */
+		boolean isValid() {
+			if (this.stamps.isEmpty()) {
+				return false;
+			}
+			for (final Entry<Resource, Object> entry : this.stamps.entrySet()) {
+				if (entry.getValue() != getStamp(entry.getKey())) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/** Replies the features of the type, including the inherited features, except the features of {@code Object}.
+		 *
+		 * @return the features.
+		 */
+		public List<FeatureDescription> getFeatures() {
+			return this.features;
+		}
+
+		/** Replies the constructors that are declared into the type.
+		 *
+		 * @return the constructors.
+		 */
+		public Map<ActionParameterTypes, JvmConstructor> getConstructors() {
+			return this.constructors;
+		}
+
+	}
+
+	/** Description of a feature of a type.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 0.12
+	 */
+	public static final class FeatureDescription {
+
+		private final JvmFeature feature;
+
+		private final ActionPrototype prototype;
+
+		/** Constructor.
+		 *
+		 * @param feature the feature.
+		 * @param prototype the prototype of the operation, or {@code null} if the feature is not an operation.
+		 */
+		FeatureDescription(JvmFeature feature, ActionPrototype prototype) {
+			this.feature = feature;
+			this.prototype = prototype;
+		}
+
+		/** Replies the feature.
+		 *
+		 * @return the feature.
+		 */
+		public JvmFeature getFeature() {
+			return this.feature;
+		}
+
+		/** Replies the prototype of the operation.
+		 *
+		 * @return the prototype, or {@code null} if the feature is not an operation.
+		 */
+		public ActionPrototype getPrototype() {
+			return this.prototype;
+		}
+
+	}
+
+	/** Adapter that stores the description of a type.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 0.12
+	 */
+	private static class DescriptionAdapter extends AdapterImpl {
+
+		volatile TypeDescription description;
+
+		DescriptionAdapter() {
+			//
+		}
+
+		@Override
+		public boolean isAdapterForType(Object type) {
+			return DescriptionAdapter.class.equals(type);
+		}
+
+	}
+
+}
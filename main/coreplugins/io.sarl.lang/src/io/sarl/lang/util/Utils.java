@@ -107,6 +107,8 @@ import io.sarl.lang.sarl.actionprototype.ActionParameterTypes;
 import io.sarl.lang.sarl.actionprototype.ActionPrototype;
 import io.sarl.lang.sarl.actionprototype.IActionPrototypeProvider;
 import io.sarl.lang.services.SARLGrammarKeywordAccess;
+import io.sarl.lang.util.InheritanceContextCache.FeatureDescription;
+import io.sarl.lang.util.InheritanceContextCache.TypeDescription;
 
 /**
  * Utilities functions on JvmElements.
@@ -187,18 +189,13 @@ public final class Utils {
 			Map<ActionPrototype, JvmOperation> operations,
 			Map<String, JvmField> fields,
 			IActionPrototypeProvider sarlSignatureProvider) {
-		for (final JvmFeature feature : jvmElement.getAllFeatures()) {
-			if (!"java.lang.Object".equals(feature.getDeclaringType().getQualifiedName())) { //$NON-NLS-1$
-				if (operations != null && feature instanceof JvmOperation) {
-					final JvmOperation operation = (JvmOperation) feature;
-					final ActionParameterTypes sig = sarlSignatureProvider.createParameterTypesFromJvmModel(
-							operation.isVarArgs(), operation.getParameters());
-					final ActionPrototype actionKey = sarlSignatureProvider.createActionPrototype(
-							operation.getSimpleName(), sig);
-					operations.put(actionKey, operation);
-				} else if (fields != null && feature instanceof JvmField) {
-					fields.put(feature.getSimpleName(), (JvmField) feature);
-				}
+		final TypeDescription description = InheritanceContextCache.getDescription(jvmElement, sarlSignatureProvider);
+		for (final FeatureDescription featureDescription : description.getFeatures()) {
+			final JvmFeature feature = featureDescription.getFeature();
+			if (operations != null && feature instanceof JvmOperation) {
+				operations.put(featureDescription.getPrototype(), (JvmOperation) feature);
+			} else if (fields != null && feature instanceof JvmField) {
+				fields.put(feature.getSimpleName(), (JvmField) feature);
 			}
 		}
 	}
@@ -263,23 +260,20 @@ public final class Utils {
 		// Get the operations that must be implemented
 		if (operationsToImplement != null && extendedInterfaces != null) {
 			for (final JvmTypeReference interfaceReference : extendedInterfaces) {
-				for (final JvmFeature feature : ((JvmGenericType) interfaceReference.getType()).getAllFeatures()) {
-					if (!"java.lang.Object".equals(//$NON-NLS-1$
-							feature.getDeclaringType().getQualifiedName())) {
-						if (feature instanceof JvmOperation) {
-							final JvmOperation operation = (JvmOperation) feature;
-							final ActionParameterTypes sig = sarlSignatureProvider.createParameterTypesFromJvmModel(
-									operation.isVarArgs(), operation.getParameters());
-							final ActionPrototype actionKey = sarlSignatureProvider.createActionPrototype(
-									operation.getSimpleName(), sig);
-							if (operation.isDefault()) {
-								if (overridableOperations != null) {
-									overridableOperations.put(actionKey, operation);
-								}
-							} else {
-								if (operationsToImplement != null) {
-									operationsToImplement.put(actionKey, operation);
-								}
+				final TypeDescription description = InheritanceContextCache.getDescription(
+						(JvmGenericType) interfaceReference.getType(), sarlSignatureProvider);
+				for (final FeatureDescription featureDescription : description.getFeatures()) {
+					final JvmFeature feature = featureDescription.getFeature();
+					if (feature instanceof JvmOperation) {
+						final JvmOperation operation = (JvmOperation) feature;
+						final ActionPrototype actionKey = featureDescription.getPrototype();
+						if (operation.isDefault()) {
+							if (overridableOperations != null) {
+								overridableOperations.put(actionKey, operation);
+							}
+						} else {
+							if (operationsToImplement != null) {
+								operationsToImplement.put(actionKey, operation);
 							}
 						}
 					}
@@ -290,17 +284,15 @@ public final class Utils {
 		// Check on the implemented features, inherited from the super type
 		if (extendedClass != null) {
 			final JvmGenericType parentType = (JvmGenericType) extendedClass.getType();
-			for (final JvmFeature feature : parentType.getAllFeatures()) {
-				if (!"java.lang.Object".equals(feature.getDeclaringType().getQualifiedName()) //$NON-NLS-1$
-						&& isVisible(jvmElement, feature)
+			final TypeDescription description = InheritanceContextCache.getDescription(parentType, sarlSignatureProvider);
+			for (final FeatureDescription featureDescription : description.getFeatures()) {
+				final JvmFeature feature = featureDescription.getFeature();
+				if (isVisible(jvmElement, feature)
 						&& !isHiddenMember(feature.getSimpleName())) {
 					if (feature instanceof JvmOperation) {
 						if (!feature.isStatic()) {
 							final JvmOperation operation = (JvmOperation) feature;
-							final ActionParameterTypes sig = sarlSignatureProvider.createParameterTypesFromJvmModel(
-									operation.isVarArgs(), operation.getParameters());
-							final ActionPrototype actionKey = sarlSignatureProvider.createActionPrototype(
-									feature.getSimpleName(), sig);
+							final ActionPrototype actionKey = featureDescription.getPrototype();
 							if (operation.isAbstract() && !operation.isDefault()) {
 								if (operationsToImplement != null) {
 									operationsToImplement.put(actionKey, operation);
@@ -328,11 +320,7 @@ public final class Utils {
 			}
 
 			if (superConstructors != null) {
-				for (final JvmConstructor cons : parentType.getDeclaredConstructors()) {
-					final ActionParameterTypes sig = sarlSignatureProvider.createParameterTypesFromJvmModel(
-							cons.isVarArgs(), cons.getParameters());
-					superConstructors.put(sig,  cons);
-				}
+				superConstructors.putAll(description.getConstructors());
 			}
 		}
 	}
@@ -100,6 +100,7 @@ import static org.eclipse.xtext.xbase.validation.IssueCodes.VARIABLE_NAME_SHADOW
 
 import java.lang.annotation.ElementType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -180,6 +181,7 @@ import org.eclipse.xtext.naming.IQualifiedNameConverter;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.util.JavaVersion;
 import org.eclipse.xtext.util.Strings;
+import org.eclipse.xtext.validation.AbstractDeclarativeValidator;
 import org.eclipse.xtext.validation.Check;
 import org.eclipse.xtext.validation.CheckType;
 import org.eclipse.xtext.validation.ComposedChecks;
@@ -228,6 +230,8 @@ import io.sarl.lang.annotation.EarlyExit;
 import io.sarl.lang.annotation.ErrorOnCall;
 import io.sarl.lang.annotation.InfoOnCall;
 import io.sarl.lang.annotation.WarningOnCall;
+import io.sarl.lang.compiler.LanguageProfiler;
+import io.sarl.lang.compiler.LanguageProfiler.Category;
 import io.sarl.lang.controlflow.ISarlEarlyExitComputer;
 import io.sarl.lang.core.Agent;
 import io.sarl.lang.core.Behavior;
@@ -457,6 +461,9 @@ public class SARLValidator extends AbstractSARLValidator {
 	@Inject
 	private ProxyAwareUIStrings proxyAwareUIStrings;
 
+	@Inject
+	private LanguageProfiler profiler;
+
 	// Update the annotation target information
 	{
 		final ImmutableMultimap.Builder<Class<?>, ElementType> result = ImmutableMultimap.builder();
@@ -512,6 +519,11 @@ public class SARLValidator extends AbstractSARLValidator {
 		return super.isValueExpectedRecursive(expr);
 	}
 
+	@Override
+	protected MethodWrapper createMethodWrapper(AbstractDeclarativeValidator instanceToUse, Method method) {
+		return new ProfiledMethodWrapper(instanceToUse, method, this.profiler);
+	}
+
 	@Override
 	protected IssueSeverities getIssueSeverities(Map<Object, Object> context, EObject eObject) {
 		final IssueSeverities severities = super.getIssueSeverities(context, eObject);
@@ -3360,4 +3372,55 @@ public class SARLValidator extends AbstractSARLValidator {
 
 	}
 
+	/** Wrapper of a check method that measures the invocations of the method when the profiler is enabled.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 0.12
+	 */
+	protected static class ProfiledMethodWrapper extends MethodWrapper {
+
+		private final LanguageProfiler profiler;
+
+		private final String name;
+
+		/** Constructor.
+		 *
+		 * @param instance the validator that owns the method.
+		 * @param method the check method.
+		 * @param profiler the profiler, or {@code null} if none.
+		 */
+		protected ProfiledMethodWrapper(AbstractDeclarativeValidator instance, Method method, LanguageProfiler profiler) {
+			super(instance, method);
+			this.profiler = profiler;
+			final StringBuilder name = new StringBuilder();
+			name.append(method.getDeclaringClass().getSimpleName()).append('.').append(method.getName()).append('(');
+			if (method.getParameterTypes().length > 0) {
+				name.append(method.getParameterTypes()[0].getSimpleName());
+			}
+			name.append(')');
+			this.name = name.toString();
+		}
+
+		@Override
+		public void invoke(State state) {
+			final LanguageProfiler prof = this.profiler;
+			if (prof != null && prof.isEnabled()) {
+				final long startTime = System.nanoTime();
+				final long startBytes = prof.getAllocatedBytes();
+				try {
+					super.invoke(state);
+				} finally {
+					prof.record(Category.CHECK, this.name, System.nanoTime() - startTime,
+							prof.getAllocatedBytes() - startBytes);
+				}
+			} else {
+				super.invoke(state);
+			}
+		}
+
+	}
+
 }
@@ -0,0 +1,197 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sarl.lang.compiler.batch;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.xtext.common.types.JvmDeclaredType;
+import org.eclipse.xtext.common.types.access.IMirror;
+import org.eclipse.xtext.common.types.access.TypeResource;
+import org.eclipse.xtext.common.types.access.impl.AbstractClassMirror;
+import org.eclipse.xtext.common.types.access.impl.ClasspathTypeProvider;
+import org.eclipse.xtext.common.types.access.impl.IndexedJvmTypeAccess;
+import org.eclipse.xtext.common.types.access.impl.TypeResourceServices;
+
+/** Provider of JVM types from the class path that is using a {@link JvmTypeCache} for the types
+ * that are defined into jar files.
+ *
+ * <p>When a type is requested, and if it is defined into a jar file, its description is read from the cache.
+ * If it is not in the cache, the type is extracted from the byte code as usual, and its description is added
+ * into the cache. The types that are defined into folders are never cached, because these folders, e.g. the
+ * stub folder, are changing between two compilations.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ */
+public class CachingClasspathTypeProvider extends ClasspathTypeProvider {
+
+	private static final String JAR_PROTOCOL = "jar"; //$NON-NLS-1$
+
+	private static final String JAR_SEPARATOR = "!/"; //$NON-NLS-1$
+
+	private static final String CLASS_FILE_EXTENSION = ".class"; //$NON-NLS-1$
+
+	private final JvmTypeCache cache;
+
+	private final ClassLoader classLoader;
+
+	/** Constructor.
+	 *
+	 * @param cache the cache of the type descriptions.
+	 * @param classLoader the class loader to use.
+	 * @param resourceSet the resource set in which the provider is registered.
+	 * @param indexedJvmTypeAccess the accessor to the indexed types, or {@code null}.
+	 * @param services the type resource services, or {@code null}.
+	 */
+	public CachingClasspathTypeProvider(JvmTypeCache cache, ClassLoader classLoader, ResourceSet resourceSet,
+			IndexedJvmTypeAccess indexedJvmTypeAccess, TypeResourceServices services) {
+		super(classLoader, resourceSet, indexedJvmTypeAccess, services);
+		this.cache = cache;
+		this.classLoader = classLoader;
+	}
+
+	/** Replies the cache of the type descriptions.
+	 *
+	 * @return the cache.
+	 */
+	public JvmTypeCache getCache() {
+		return this.cache;
+	}
+
+	@Override
+	protected IMirror createMirrorForFQN(String name) {
+		final File jar = getJarFile(name);
+		if (jar == null) {
+			return super.createMirrorForFQN(name);
+		}
+		if (this.cache.contains(jar, name)) {
+			return new CachedClassMirror(name, jar, null);
+		}
+		final IMirror mirror = super.createMirrorForFQN(name);
+		if (mirror == null) {
+			return null;
+		}
+		return new CachedClassMirror(name, jar, mirror);
+	}
+
+	/** Replies the jar file that contains the byte code of the given type.
+	 *
+	 * @param name the binary name of the type.
+	 * @return the jar file, or {@code null} if the type is not defined into a jar file.
+	 */
+	protected File getJarFile(String name) {
+		final URL url = this.classLoader.getResource(name.replace('.', '/') + CLASS_FILE_EXTENSION);
+		if (url != null && JAR_PROTOCOL.equals(url.getProtocol())) {
+			final String path = url.getPath();
+			final int index = path.indexOf(JAR_SEPARATOR);
+			if (index > 0) {
+				try {
+					final File file = new File(new URL(path.substring(0, index)).toURI());
+					if (file.isFile()) {
+						return file;
+					}
+				} catch (MalformedURLException | URISyntaxException | IllegalArgumentException exception) {
+					//
+				}
+			}
+		}
+		return null;
+	}
+
+	/** Create the mirror that is extracting the type from the byte code.
+	 *
+	 * @param name the binary name of the type.
+	 * @return the mirror, or {@code null} if the type is not found.
+	 */
+	IMirror createByteCodeMirror(String name) {
+		return super.createMirrorForFQN(name);
+	}
+
+	/** Mirror of a type that is defined into a jar file. The description of the type is read from the cache;
+	 * or it is extracted from the byte code and added into the cache.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 0.12
+	 */
+	private class CachedClassMirror extends AbstractClassMirror {
+
+		private final String typeName;
+
+		private final File jar;
+
+		private IMirror byteCodeMirror;
+
+		/** Constructor.
+		 *
+		 * @param typeName the binary name of the type.
+		 * @param jar the jar file that contains the type.
+		 * @param byteCodeMirror the mirror that extracts the type from the byte code, or {@code null} if the
+		 *     type is read from the cache.
+		 */
+		CachedClassMirror(String typeName, File jar, IMirror byteCodeMirror) {
+			this.typeName = typeName;
+			this.jar = jar;
+			this.byteCodeMirror = byteCodeMirror;
+		}
+
+		@Override
+		protected String getTypeName() {
+			return this.typeName;
+		}
+
+		@Override
+		public void initialize(TypeResource typeResource) {
+			if (this.byteCodeMirror == null) {
+				final JvmDeclaredType type = getCache().load(this.jar, this.typeName, typeResource.getURI());
+				if (type != null) {
+					typeResource.getContents().add(type);
+					return;
+				}
+				// The cached description cannot be read; the type is extracted from the byte code.
+				this.byteCodeMirror = createByteCodeMirror(this.typeName);
+				if (this.byteCodeMirror == null) {
+					return;
+				}
+			}
+			this.byteCodeMirror.initialize(typeResource);
+			if (!typeResource.getContents().isEmpty()) {
+				final EObject root = typeResource.getContents().get(0);
+				if (root instanceof JvmDeclaredType) {
+					getCache().store(this.jar, this.typeName, typeResource.getURI(), (JvmDeclaredType) root);
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,191 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.compiler.batch;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.CrossReference;
+import org.eclipse.xtext.nodemodel.INode;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.parser.IParseResult;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.XtextResource;
+
+/** Utilities for splitting the SARL files into clusters that are compiled one after the other.
+ *
+ * <p>The clusters are ordered according to the dependencies between the SARL files: the files on which
+ * a file depends are put, as much as possible, in the same cluster or in a previous cluster. The dependencies
+ * are approximated from the names that are written into the cross-references of the files, and from the names
+ * that are exported by the files. This approximation does not need to link the files. It only has
+ * an impact on the order of the files, not on the result of the compilation.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ */
+public final class CompilationClusters {
+
+	private CompilationClusters() {
+		//
+	}
+
+	/** Replies the simple names that are written into the cross-references of the given resource.
+	 * The cross-references are not resolved.
+	 *
+	 * @param resource the resource.
+	 * @return the simple names.
+	 */
+	public static Set<String> getReferencedNames(Resource resource) {
+		final Set<String> names = new HashSet<>();
+		if (resource instanceof XtextResource) {
+			final IParseResult result = ((XtextResource) resource).getParseResult();
+			if (result != null && result.getRootNode() != null) {
+				for (final INode node : result.getRootNode().getAsTreeIterable()) {
+					if (node.getGrammarElement() instanceof CrossReference) {
+						final String name = getSimpleName(NodeModelUtils.getTokenText(node));
+						if (!name.isEmpty()) {
+							names.add(name);
+						}
+					}
+				}
+			}
+		}
+		return names;
+	}
+
+	private static String getSimpleName(String name) {
+		int index = name.length();
+		while (index > 0) {
+			final char character = name.charAt(index - 1);
+			if (character == '.' || character == ':' || character == '$' || Character.isWhitespace(character)) {
+				break;
+			}
+			--index;
+		}
+		return name.substring(index);
+	}
+
+	/** Compute the dependencies between the resources.
+	 *
+	 * <p>A resource depends on another resource if one of its cross-references has the same simple name as one
+	 * of the objects that are exported by the other resource.
+	 *
+	 * @param descriptions the descriptions of the resources.
+	 * @param referencedNames the simple names that are referenced by each resource.
+	 * @return the dependencies of each resource, in the order of the descriptions.
+	 */
+	public static Map<URI, Set<URI>> computeDependencies(Iterable<IResourceDescription> descriptions,
+			Map<URI, ? extends Collection<String>> referencedNames) {
+		final Map<String, Set<URI>> exporters = new HashMap<>();
+		for (final IResourceDescription description : descriptions) {
+			for (final IEObjectDescription exportedObject : description.getExportedObjects()) {
+				exporters.computeIfAbsent(exportedObject.getName().getLastSegment(),
+					it -> new LinkedHashSet<>()).add(description.getURI());
+			}
+		}
+		final Map<URI, Set<URI>> dependencies = new LinkedHashMap<>();
+		for (final IResourceDescription description : descriptions) {
+			final URI uri = description.getURI();
+			final Set<URI> resourceDependencies = new LinkedHashSet<>();
+			final Collection<String> names = referencedNames.get(uri);
+			if (names != null) {
+				for (final String name : names) {
+					final Set<URI> uris = exporters.get(name);
+					if (uris != null) {
+						resourceDependencies.addAll(uris);
+					}
+				}
+			}
+			resourceDependencies.remove(uri);
+			dependencies.put(uri, resourceDependencies);
+		}
+		return dependencies;
+	}
+
+	/** Split the given resources into clusters of the given size.
+	 * The resources are sorted in order to have the dependencies of a resource before the resource itself.
+	 * When there is a dependency cycle, the order of the resources in the cycle is not specified.
+	 *
+	 * @param resources the resources to split.
+	 * @param dependencies the dependencies of each resource.
+	 * @param clusterSize the maximal number of resources in a cluster.
+	 * @return the clusters.
+	 */
+	public static List<List<URI>> createClusters(List<URI> resources, Map<URI, ? extends Collection<URI>> dependencies,
+			int clusterSize) {
+		final Set<URI> known = new HashSet<>(resources);
+		final Set<URI> visited = new HashSet<>();
+		final List<URI> order = new ArrayList<>(resources.size());
+		final Deque<URI> stack = new ArrayDeque<>();
+		final Deque<Iterator<URI>> iterators = new ArrayDeque<>();
+		for (final URI root : resources) {
+			if (visited.add(root)) {
+				stack.push(root);
+				iterators.push(getDependencies(dependencies, root));
+				while (!stack.isEmpty()) {
+					final Iterator<URI> iterator = iterators.peek();
+					if (iterator.hasNext()) {
+						final URI dependency = iterator.next();
+						if (known.contains(dependency) && visited.add(dependency)) {
+							stack.push(dependency);
+							iterators.push(getDependencies(dependencies, dependency));
+						}
+					} else {
+						iterators.pop();
+						order.add(stack.pop());
+					}
+				}
+			}
+		}
+		final int size = Math.max(1, clusterSize);
+		final List<List<URI>> clusters = new ArrayList<>((order.size() + size - 1) / size);
+		for (int i = 0; i < order.size(); i += size) {
+			clusters.add(Collections.unmodifiableList(new ArrayList<>(order.subList(i, Math.min(i + size, order.size())))));
+		}
+		return clusters;
+	}
+
+	private static Iterator<URI> getDependencies(Map<URI, ? extends Collection<URI>> dependencies, URI resource) {
+		final Collection<URI> uris = dependencies.get(resource);
+		if (uris == null) {
+			return Collections.emptyIterator();
+		}
+		return uris.iterator();
+	}
+
+}
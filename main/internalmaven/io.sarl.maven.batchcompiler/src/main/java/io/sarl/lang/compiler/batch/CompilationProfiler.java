@@ -0,0 +1,399 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.compiler.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.eclipse.emf.ecore.resource.Resource;
+
+import io.sarl.lang.compiler.LanguageProfiler;
+import io.sarl.lang.compiler.LanguageProfiler.Category;
+import io.sarl.lang.compiler.LanguageProfiler.Measure;
+
+/** Profiler of the batch compiler.
+ *
+ * <p>In addition to the measures per compilation stage that are provided by {@link CompilationStageProfiler},
+ * this profiler is measuring the duration and the allocated memory per resource and per stage, and it
+ * collects the measures of the language components, i.e. the validation checks and the type resolution,
+ * from the {@link LanguageProfiler}. The measures could be written as a human-readable report,
+ * sorted by decreasing duration, or as a JSON file.
+ *
+ * <p>The per-resource measures could be recorded from several threads.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ */
+public class CompilationProfiler extends CompilationStageProfiler {
+
+	private static final double NANOS_PER_MILLI = 1000000.;
+
+	private static final int KILO = 1024;
+
+	private static final String ENTRY_INDENT = "    "; //$NON-NLS-1$
+
+	private static final String RESOURCE_INDENT = "      "; //$NON-NLS-1$
+
+	private final LanguageProfiler languageProfiler;
+
+	private final Map<CompilationStage, Map<String, ResourceStatistics>> resources = new EnumMap<>(CompilationStage.class);
+
+	/** Constructor.
+	 *
+	 * @param languageProfiler the profiler of the language components, or {@code null} if the language
+	 *     components are not profiled.
+	 */
+	public CompilationProfiler(LanguageProfiler languageProfiler) {
+		this.languageProfiler = languageProfiler;
+		for (final CompilationStage stage : CompilationStage.values()) {
+			this.resources.put(stage, new ConcurrentHashMap<>());
+		}
+	}
+
+	/** Replies the profiler of the language components.
+	 *
+	 * @return the profiler, or {@code null} if the language components are not profiled.
+	 */
+	public LanguageProfiler getLanguageProfiler() {
+		return this.languageProfiler;
+	}
+
+	/** Enable the profiling of the language components.
+	 */
+	public void startLanguageProfiling() {
+		if (this.languageProfiler != null) {
+			this.languageProfiler.enable(this::getAllocatedBytes);
+		}
+	}
+
+	/** Disable the profiling of the language components. The measures of the language components are kept.
+	 */
+	public void stopLanguageProfiling() {
+		if (this.languageProfiler != null) {
+			this.languageProfiler.disable();
+		}
+	}
+
+	@Override
+	public synchronized void reset() {
+		super.reset();
+		for (final Map<String, ResourceStatistics> stats : this.resources.values()) {
+			stats.clear();
+		}
+		if (this.languageProfiler != null) {
+			this.languageProfiler.reset();
+		}
+	}
+
+	/** Wrap the given task on a resource in order to measure its execution.
+	 *
+	 * @param <T> the type of the result of the task.
+	 * @param stage the compilation stage in which the task is run.
+	 * @param task the task to wrap.
+	 * @return the wrapping task.
+	 */
+	public <T> Function<Resource, T> wrap(CompilationStage stage, Function<Resource, T> task) {
+		return resource -> {
+			final long startAllocation = getAllocatedBytes();
+			final long start = System.nanoTime();
+			try {
+				return task.apply(resource);
+			} finally {
+				final long duration = System.nanoTime() - start;
+				final long allocation = getAllocatedBytes() - startAllocation;
+				record(stage, resource.getURI().toString(), duration, allocation);
+			}
+		};
+	}
+
+	/** Add a measure for the given resource.
+	 *
+	 * @param stage the compilation stage.
+	 * @param resource the name of the resource.
+	 * @param duration the duration in nanoseconds.
+	 * @param allocatedBytes the number of allocated bytes.
+	 */
+	public void record(CompilationStage stage, String resource, long duration, long allocatedBytes) {
+		this.resources.get(stage).computeIfAbsent(resource, ResourceStatistics::new).add(duration, allocatedBytes);
+	}
+
+	/** Replies the measures per resource for the given stage.
+	 *
+	 * @param stage the compilation stage.
+	 * @return the measures, sorted by decreasing duration.
+	 */
+	public List<ResourceStatistics> getResourceStatistics(CompilationStage stage) {
+		final List<ResourceStatistics> list = new ArrayList<>(this.resources.get(stage).values());
+		list.sort((a, b) -> Long.compare(b.getTotalDuration(), a.getTotalDuration()));
+		return Collections.unmodifiableList(list);
+	}
+
+	/** Replies the measures of the language components of the given category.
+	 *
+	 * @param category the category of the language components.
+	 * @return the measures, sorted by decreasing duration.
+	 */
+	public List<Entry<String, Measure>> getLanguageStatistics(Category category) {
+		if (this.languageProfiler == null) {
+			return Collections.emptyList();
+		}
+		final List<Entry<String, Measure>> list = new ArrayList<>(this.languageProfiler.getMeasures(category).entrySet());
+		list.sort((a, b) -> Long.compare(b.getValue().getTotalDuration(), a.getValue().getTotalDuration()));
+		return list;
+	}
+
+	/** Build the human-readable report of the measures.
+	 *
+	 * @param maxEntries the maximum number of resources or checks that are listed for each section.
+	 * @return the report.
+	 */
+	@SuppressWarnings("checkstyle:magicnumber")
+	public String toReport(int maxEntries) {
+		final StringBuilder report = new StringBuilder();
+		final List<StageStatistics> stages = new ArrayList<>(getStatistics().values());
+		stages.sort((a, b) -> Long.compare(b.getTotalDuration(), a.getTotalDuration()));
+		report.append("Compilation stages:\n"); //$NON-NLS-1$
+		for (final StageStatistics stats : stages) {
+			appendLine(report, stats.getStage().name(), stats.getRuns(), stats.getTotalDuration(), stats.getTotalAllocatedBytes());
+		}
+		for (final CompilationStage stage : CompilationStage.values()) {
+			final List<ResourceStatistics> resourceStats = getResourceStatistics(stage);
+			if (!resourceStats.isEmpty()) {
+				report.append("Resources in ").append(stage.name()).append(":\n"); //$NON-NLS-1$ //$NON-NLS-2$
+				for (final ResourceStatistics stats : resourceStats.subList(0, Math.min(maxEntries, resourceStats.size()))) {
+					appendLine(report, stats.getResource(), stats.getRuns(), stats.getTotalDuration(), stats.getTotalAllocatedBytes());
+				}
+			}
+		}
+		for (final Category category : Category.values()) {
+			final List<Entry<String, Measure>> measures = getLanguageStatistics(category);
+			if (!measures.isEmpty()) {
+				report.append(category.name()).append(":\n"); //$NON-NLS-1$
+				for (final Entry<String, Measure> entry : measures.subList(0, Math.min(maxEntries, measures.size()))) {
+					final Measure measure = entry.getValue();
+					appendLine(report, entry.getKey(), measure.getCount(), measure.getTotalDuration(),
+							measure.getTotalAllocatedBytes());
+				}
+			}
+		}
+		return report.toString();
+	}
+
+	private void appendLine(StringBuilder report, String name, long runs, long duration, long allocatedBytes) {
+		report.append(String.format("  %10.3f ms", Double.valueOf(duration / NANOS_PER_MILLI))); //$NON-NLS-1$
+		if (isAllocationMeasured()) {
+			report.append(String.format(" %12d KiB", Long.valueOf(allocatedBytes / KILO))); //$NON-NLS-1$
+		}
+		report.append(String.format(" %8dx  ", Long.valueOf(runs))).append(name).append('\n'); //$NON-NLS-1$
+	}
+
+	/** Write the measures into the given file with the JSON format.
+	 * The durations are in nanoseconds, and the allocated memory is in bytes.
+	 *
+	 * @param file the file to write.
+	 * @throws IOException if the file cannot be written.
+	 */
+	public void writeJson(File file) throws IOException {
+		final File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null) {
+			parent.mkdirs();
+		}
+		try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			writer.write(toJson());
+		}
+	}
+
+	/** Build the JSON representation of the measures.
+	 * The durations are in nanoseconds, and the allocated memory is in bytes.
+	 *
+	 * @return the JSON representation.
+	 */
+	public String toJson() {
+		final StringBuilder json = new StringBuilder();
+		json.append("{\n  \"allocationMeasured\": ").append(isAllocationMeasured()); //$NON-NLS-1$
+		json.append(",\n  \"stages\": ["); //$NON-NLS-1$
+		boolean first = true;
+		for (final StageStatistics stats : getStatistics().values()) {
+			first = appendJsonEntry(json, ENTRY_INDENT, first, stats.getStage().name(), stats.getRuns(), stats.getTotalDuration(),
+					stats.getTotalAllocatedBytes());
+		}
+		json.append("\n  ],\n  \"resources\": {"); //$NON-NLS-1$
+		boolean firstStage = true;
+		for (final CompilationStage stage : CompilationStage.values()) {
+			final List<ResourceStatistics> resourceStats = getResourceStatistics(stage);
+			if (!resourceStats.isEmpty()) {
+				if (!firstStage) {
+					json.append(',');
+				}
+				firstStage = false;
+				json.append("\n    \"").append(stage.name()).append("\": ["); //$NON-NLS-1$ //$NON-NLS-2$
+				first = true;
+				for (final ResourceStatistics stats : resourceStats) {
+					first = appendJsonEntry(json, RESOURCE_INDENT, first, stats.getResource(), stats.getRuns(), stats.getTotalDuration(),
+							stats.getTotalAllocatedBytes());
+				}
+				json.append("\n    ]"); //$NON-NLS-1$
+			}
+		}
+		json.append("\n  }"); //$NON-NLS-1$
+		for (final Category category : Category.values()) {
+			json.append(",\n  \"").append(category.name().toLowerCase(Locale.ROOT)).append("\": ["); //$NON-NLS-1$ //$NON-NLS-2$
+			first = true;
+			for (final Entry<String, Measure> entry : getLanguageStatistics(category)) {
+				final Measure measure = entry.getValue();
+				first = appendJsonEntry(json, ENTRY_INDENT, first, entry.getKey(), measure.getCount(), measure.getTotalDuration(),
+						measure.getTotalAllocatedBytes());
+			}
+			json.append("\n  ]"); //$NON-NLS-1$
+		}
+		json.append("\n}\n"); //$NON-NLS-1$
+		return json.toString();
+	}
+
+	private static boolean appendJsonEntry(StringBuilder json, String indent, boolean first, String name, long runs,
+			long duration, long allocatedBytes) {
+		if (!first) {
+			json.append(',');
+		}
+		json.append('\n').append(indent).append("{\"name\": \""); //$NON-NLS-1$
+		appendJsonString(json, name);
+		json.append("\", \"count\": ").append(runs); //$NON-NLS-1$
+		json.append(", \"duration\": ").append(duration); //$NON-NLS-1$
+		json.append(", \"allocatedBytes\": ").append(allocatedBytes).append('}'); //$NON-NLS-1$
+		return false;
+	}
+
+	@SuppressWarnings("checkstyle:magicnumber")
+	private static void appendJsonString(StringBuilder json, String value) {
+		for (int i = 0; i < value.length(); ++i) {
+			final char character = value.charAt(i);
+			switch (character) {
+			case '"':
+			case '\\':
+				json.append('\\').append(character);
+				break;
+			case '\n':
+				json.append("\\n"); //$NON-NLS-1$
+				break;
+			case '\r':
+				json.append("\\r"); //$NON-NLS-1$
+				break;
+			case '\t':
+				json.append("\\t"); //$NON-NLS-1$
+				break;
+			default:
+				if (character < 0x20) {
+					json.append(String.format("\\u%04x", Integer.valueOf(character))); //$NON-NLS-1$
+				} else {
+					json.append(character);
+				}
+				break;
+			}
+		}
+	}
+
+	/** Statistics on a resource for a compilation stage.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 0.12
+	 */
+	public static class ResourceStatistics {
+
+		private final String resource;
+
+		private int runs;
+
+		private long totalDuration;
+
+		private long totalAllocatedBytes;
+
+		/** Constructor.
+		 *
+		 * @param resource the name of the measured resource.
+		 */
+		ResourceStatistics(String resource) {
+			this.resource = resource;
+		}
+
+		/** Add a measure.
+		 *
+		 * @param duration the duration in nanoseconds.
+		 * @param allocatedBytes the number of allocated bytes.
+		 */
+		synchronized void add(long duration, long allocatedBytes) {
+			++this.runs;
+			this.totalDuration += duration;
+			this.totalAllocatedBytes += allocatedBytes;
+		}
+
+		/** Replies the name of the measured resource.
+		 *
+		 * @return the name of the resource.
+		 */
+		public String getResource() {
+			return this.resource;
+		}
+
+		/** Replies the number of times the resource was processed.
+		 *
+		 * @return the number of runs.
+		 */
+		public synchronized int getRuns() {
+			return this.runs;
+		}
+
+		/** Replies the total duration of the processing of the resource.
+		 *
+		 * @return the duration in nanoseconds.
+		 */
+		public synchronized long getTotalDuration() {
+			return this.totalDuration;
+		}
+
+		/** Replies the total number of bytes that were allocated for processing the resource.
+		 *
+		 * @return the number of bytes.
+		 */
+		public synchronized long getTotalAllocatedBytes() {
+			return this.totalAllocatedBytes;
+		}
+
+	}
+
+}
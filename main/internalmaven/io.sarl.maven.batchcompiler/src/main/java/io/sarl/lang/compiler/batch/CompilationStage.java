@@ -0,0 +1,74 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.compiler.batch;
+
+/** The stages of the SARL batch compiler that are observable with a {@link ICompilationStageListener}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ * @see SarlBatchCompiler#addCompilationStageListener(ICompilationStageListener)
+ */
+public enum CompilationStage {
+
+	/** Loading of the SARL files into the resource set.
+	 */
+	LOAD_SARL_FILES,
+
+	/** Generation of the Java stubs for the SARL types.
+	 */
+	STUB_GENERATION,
+
+	/** Compilation of the Java stubs.
+	 */
+	STUB_COMPILATION,
+
+	/** Compilation of the Java files that are in the source folders, with the stubs on the classpath.
+	 */
+	JAVA_PRE_COMPILATION,
+
+	/** Inference of the JVM elements from the SARL elements.
+	 */
+	JVM_ELEMENT_GENERATION,
+
+	/** Validation of the SARL resources.
+	 */
+	VALIDATION,
+
+	/** Generation of the Java files from the JVM elements.
+	 */
+	JAVA_GENERATION,
+
+	/** Compilation of the generated Java files to byte code.
+	 */
+	JAVA_POST_COMPILATION;
+
+	/** Replies the string representation of this stage.
+	 *
+	 * @return the string representation.
+	 */
+	public String getCaseInsensitiveName() {
+		return name().toLowerCase();
+	}
+
+}
@@ -0,0 +1,272 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.compiler.batch;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/** Listener on the compilation stages that is measuring the duration of each stage,
+ * and the number of bytes that are allocated by the compiler thread during the stage.
+ *
+ * <p>The measures are accumulated over all the compilations that are observed by the profiler.
+ * The allocated memory is measured only if the JVM supports the measurement of the thread allocations.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ */
+public class CompilationStageProfiler implements ICompilationStageListener {
+
+	private final Map<CompilationStage, StageStatistics> statistics = new EnumMap<>(CompilationStage.class);
+
+	private final Map<CompilationStage, long[]> startMeasures = new EnumMap<>(CompilationStage.class);
+
+	private final com.sun.management.ThreadMXBean allocationBean;
+
+	/** Constructor.
+	 */
+	public CompilationStageProfiler() {
+		final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			final com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+			if (sunBean.isThreadAllocatedMemorySupported()) {
+				if (!sunBean.isThreadAllocatedMemoryEnabled()) {
+					sunBean.setThreadAllocatedMemoryEnabled(true);
+				}
+				this.allocationBean = sunBean;
+				return;
+			}
+		}
+		this.allocationBean = null;
+	}
+
+	/** Replies if the allocated memory is measured by this profiler.
+	 *
+	 * @return {@code true} if the allocated memory is measured.
+	 */
+	public boolean isAllocationMeasured() {
+		return this.allocationBean != null;
+	}
+
+	/** Replies the number of bytes that were allocated by the current thread since its start.
+	 *
+	 * @return the number of bytes, or {@code 0} if the allocated memory is not measured.
+	 */
+	protected long getAllocatedBytes() {
+		if (this.allocationBean != null) {
+			return this.allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return 0;
+	}
+
+	@Override
+	public synchronized void stageStarted(CompilationStage stage) {
+		this.startMeasures.put(stage, new long[] {System.nanoTime(), getAllocatedBytes()});
+	}
+
+	@Override
+	public synchronized void stageFinished(CompilationStage stage) {
+		final long end = System.nanoTime();
+		final long allocated = getAllocatedBytes();
+		final long[] start = this.startMeasures.remove(stage);
+		if (start != null) {
+			StageStatistics stats = this.statistics.get(stage);
+			if (stats == null) {
+				stats = new StageStatistics(stage);
+				this.statistics.put(stage, stats);
+			}
+			stats.add(end - start[0], allocated - start[1]);
+		}
+	}
+
+	/** Forget all the measures.
+	 */
+	public synchronized void reset() {
+		this.statistics.clear();
+		this.startMeasures.clear();
+	}
+
+	/** Replies the statistics for the stages that were run at least one time.
+	 *
+	 * @return the statistics, in the order of the stages.
+	 */
+	public synchronized Map<CompilationStage, StageStatistics> getStatistics() {
+		final Map<CompilationStage, StageStatistics> copy = new EnumMap<>(CompilationStage.class);
+		for (final Map.Entry<CompilationStage, StageStatistics> entry : this.statistics.entrySet()) {
+			copy.put(entry.getKey(), new StageStatistics(entry.getValue()));
+		}
+		return Collections.unmodifiableMap(copy);
+	}
+
+	/** Replies the statistics for the given stage.
+	 *
+	 * @param stage the stage.
+	 * @return the statistics, or {@code null} if the stage was never run.
+	 */
+	public synchronized StageStatistics getStatistics(CompilationStage stage) {
+		final StageStatistics stats = this.statistics.get(stage);
+		if (stats == null) {
+			return null;
+		}
+		return new StageStatistics(stats);
+	}
+
+	/** Statistics on a single compilation stage.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 0.12
+	 */
+	public static class StageStatistics {
+
+		private final CompilationStage stage;
+
+		private int runs;
+
+		private long totalDuration;
+
+		private long minDuration = Long.MAX_VALUE;
+
+		private long maxDuration;
+
+		private long totalAllocatedBytes;
+
+		/** Constructor.
+		 *
+		 * @param stage the measured stage.
+		 */
+		StageStatistics(CompilationStage stage) {
+			this.stage = stage;
+		}
+
+		/** Copy constructor.
+		 *
+		 * @param origin the statistics to copy.
+		 */
+		StageStatistics(StageStatistics origin) {
+			this.stage = origin.stage;
+			this.runs = origin.runs;
+			this.totalDuration = origin.totalDuration;
+			this.minDuration = origin.minDuration;
+			this.maxDuration = origin.maxDuration;
+			this.totalAllocatedBytes = origin.totalAllocatedBytes;
+		}
+
+		/** Add a measure.
+		 *
+		 * @param duration the duration of the stage in nanoseconds.
+		 * @param allocatedBytes the number of bytes allocated during the stage.
+		 */
+		void add(long duration, long allocatedBytes) {
+			++this.runs;
+			this.totalDuration += duration;
+			if (duration < this.minDuration) {
+				this.minDuration = duration;
+			}
+			if (duration > this.maxDuration) {
+				this.maxDuration = duration;
+			}
+			this.totalAllocatedBytes += allocatedBytes;
+		}
+
+		/** Replies the measured stage.
+		 *
+		 * @return the stage.
+		 */
+		public CompilationStage getStage() {
+			return this.stage;
+		}
+
+		/** Replies the number of times the stage was run.
+		 *
+		 * @return the number of runs.
+		 */
+		public int getRuns() {
+			return this.runs;
+		}
+
+		/** Replies the total duration of the stage over all the runs.
+		 *
+		 * @return the duration in nanoseconds.
+		 */
+		public long getTotalDuration() {
+			return this.totalDuration;
+		}
+
+		/** Replies the average duration of a run of the stage.
+		 *
+		 * @return the duration in nanoseconds.
+		 */
+		public long getAverageDuration() {
+			if (this.runs == 0) {
+				return 0;
+			}
+			return this.totalDuration / this.runs;
+		}
+
+		/** Replies the minimal duration of a run of the stage.
+		 *
+		 * @return the duration in nanoseconds.
+		 */
+		public long getMinDuration() {
+			if (this.runs == 0) {
+				return 0;
+			}
+			return this.minDuration;
+		}
+
+		/** Replies the maximal duration of a run of the stage.
+		 *
+		 * @return the duration in nanoseconds.
+		 */
+		public long getMaxDuration() {
+			return this.maxDuration;
+		}
+
+		/** Replies the total number of bytes that were allocated by the stage over all the runs.
+		 *
+		 * @return the number of bytes.
+		 */
+		public long getTotalAllocatedBytes() {
+			return this.totalAllocatedBytes;
+		}
+
+		/** Replies the average number of bytes that were allocated by a run of the stage.
+		 *
+		 * @return the number of bytes.
+		 */
+		public long getAverageAllocatedBytes() {
+			if (this.runs == 0) {
+				return 0;
+			}
+			return this.totalAllocatedBytes / this.runs;
+		}
+
+	}
+
+}
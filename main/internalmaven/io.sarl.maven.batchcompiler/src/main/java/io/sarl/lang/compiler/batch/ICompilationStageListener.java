@@ -0,0 +1,47 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.compiler.batch;
+
+/** An object that is notified when the SARL batch compiler enters and leaves a compilation stage.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ */
+public interface ICompilationStageListener {
+
+	/** The compiler is entering the given stage.
+	 *
+	 * @param stage the compilation stage.
+	 */
+	void stageStarted(CompilationStage stage);
+
+	/** The compiler has left the given stage.
+	 *
+	 * <p>This function is invoked even if the stage has failed or was canceled.
+	 *
+	 * @param stage the compilation stage.
+	 */
+	void stageFinished(CompilationStage stage);
+
+}
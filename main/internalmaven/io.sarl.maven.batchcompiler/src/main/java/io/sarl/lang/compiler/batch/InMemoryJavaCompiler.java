@@ -0,0 +1,429 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sarl.lang.compiler.batch;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.Charset;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import com.google.common.collect.Iterables;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.xtext.util.JavaVersion;
+import org.eclipse.xtext.util.Strings;
+
+/** A Java compiler that is compiling in memory, without writing the source files nor the class files on the disk.
+ *
+ * <p>The source files are provided as character sequences with {@link #addSource(String, CharSequence)}, or are read
+ * from the disk. The byte codes of the compiled classes are kept in memory. They are visible by the
+ * next invocations of the compiler, and they could be loaded through the class loader that is replied
+ * by {@link #createClassLoader(Iterable, ClassLoader)}.
+ *
+ * <p>This compiler is based on the Java compiler that is provided by the Java platform, i.e. {@link ToolProvider}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ */
+public class InMemoryJavaCompiler {
+
+	private static final String MEMORY_SCHEME = "memory:///"; //$NON-NLS-1$
+
+	private final Map<String, CharSequence> sources = new TreeMap<>();
+
+	private final Map<String, byte[]> classes = new ConcurrentHashMap<>();
+
+	/** Replies if the in-memory compilation is supported by the current Java platform.
+	 *
+	 * @return {@code true} if a system Java compiler is available.
+	 */
+	public static boolean isAvailable() {
+		return ToolProvider.getSystemJavaCompiler() != null;
+	}
+
+	/** Add a source file.
+	 *
+	 * @param path the relative path of the source file, e.g. {@code "io/sarl/MyType.java"}.
+	 * @param content the content of the file.
+	 */
+	public void addSource(String path, CharSequence content) {
+		this.sources.put(path.replace(File.separatorChar, '/'), content);
+	}
+
+	/** Replies the source files that were added with {@link #addSource(String, CharSequence)}.
+	 *
+	 * @return the source files, indexed by their relative paths.
+	 */
+	public Map<String, CharSequence> getSources() {
+		return Collections.unmodifiableMap(this.sources);
+	}
+
+	/** Replies the byte codes of the compiled classes.
+	 *
+	 * @return the byte codes, indexed by the binary names of the classes.
+	 */
+	public Map<String, byte[]> getClasses() {
+		return Collections.unmodifiableMap(this.classes);
+	}
+
+	/** Remove the source files and the compiled classes.
+	 */
+	public void clear() {
+		this.sources.clear();
+		this.classes.clear();
+	}
+
+	/** Compile the source files that were added with {@link #addSource(String, CharSequence)}.
+	 *
+	 * @param classPathEntries the class path entries.
+	 * @param bootClassPathEntries the boot class path entries.
+	 * @param javaVersion the version of Java that is the target, e.g. {@code 1.8}.
+	 * @param isCompilerMoreVerbose indicates if the Java compiler should be more verbose.
+	 * @param outWriter the writer of the compiler messages.
+	 * @param logger the logger to use for debugging messages.
+	 * @param progress monitor of the progress of the compilation.
+	 * @return the success status. Replies <code>false</code> if the activity is canceled.
+	 */
+	public boolean compileSources(Iterable<File> classPathEntries, List<File> bootClassPathEntries,
+			String javaVersion, boolean isCompilerMoreVerbose, Writer outWriter, Logger logger,
+			IProgressMonitor progress) {
+		final List<JavaFileObject> units = new ArrayList<>(this.sources.size());
+		for (final Map.Entry<String, CharSequence> source : this.sources.entrySet()) {
+			units.add(new MemorySourceFile(source.getKey(), source.getValue()));
+		}
+		return compile(units, Collections.emptyList(), classPathEntries, bootClassPathEntries, javaVersion,
+				null, isCompilerMoreVerbose, outWriter, logger, progress);
+	}
+
+	/** Compile the Java files that are located into the given folders. The classes that are already compiled in memory
+	 * are on the class path.
+	 *
+	 * @param sourcePathDirectories the source directories.
+	 * @param classPathEntries the class path entries.
+	 * @param bootClassPathEntries the boot class path entries.
+	 * @param javaVersion the version of Java that is the target, e.g. {@code 1.8}.
+	 * @param encoding the encoding of the files.
+	 * @param isCompilerMoreVerbose indicates if the Java compiler should be more verbose.
+	 * @param outWriter the writer of the compiler messages.
+	 * @param logger the logger to use for debugging messages.
+	 * @param progress monitor of the progress of the compilation.
+	 * @return the success status. Replies <code>false</code> if the activity is canceled.
+	 */
+	@SuppressWarnings("checkstyle:parameternumber")
+	public boolean compileFiles(Iterable<File> sourcePathDirectories, Iterable<File> classPathEntries,
+			List<File> bootClassPathEntries, String javaVersion, String encoding, boolean isCompilerMoreVerbose,
+			Writer outWriter, Logger logger, IProgressMonitor progress) {
+		final List<String> files = new ArrayList<>();
+		for (final File sourceFolder : sourcePathDirectories) {
+			if (progress.isCanceled()) {
+				return false;
+			}
+			JavacBatchCompiler.addJavaFilesDeeply(files, sourceFolder.getAbsoluteFile());
+		}
+		return compile(Collections.emptyList(), files, classPathEntries, bootClassPathEntries, javaVersion,
+				encoding, isCompilerMoreVerbose, outWriter, logger, progress);
+	}
+
+	@SuppressWarnings({"checkstyle:parameternumber", "checkstyle:npathcomplexity"})
+	private boolean compile(List<JavaFileObject> memoryUnits, List<String> files, Iterable<File> classPathEntries,
+			List<File> bootClassPathEntries, String javaVersion, String encoding, boolean isCompilerMoreVerbose,
+			Writer outWriter, Logger logger, IProgressMonitor progress) {
+		if ((memoryUnits.isEmpty() && files.isEmpty()) || progress.isCanceled()) {
+			return false;
+		}
+		final JavaCompiler systemCompiler = ToolProvider.getSystemJavaCompiler();
+		if (systemCompiler == null) {
+			return false;
+		}
+		final List<String> options = new ArrayList<>();
+		options.add("-nowarn"); //$NON-NLS-1$
+		if (isCompilerMoreVerbose) {
+			options.add("-verbose"); //$NON-NLS-1$
+		}
+		if (!Strings.isEmpty(javaVersion)) {
+			options.add("-source"); //$NON-NLS-1$
+			options.add(javaVersion);
+			options.add("-target"); //$NON-NLS-1$
+			options.add(javaVersion);
+			if (!bootClassPathEntries.isEmpty() && !JavaVersion.fromQualifier(javaVersion).isAtLeast(JavaVersion.JAVA9)) {
+				options.add("-bootclasspath"); //$NON-NLS-1$
+				options.add(toPath(bootClassPathEntries));
+			}
+		}
+		final String classPath = toPath(classPathEntries);
+		if (!classPath.isEmpty()) {
+			options.add("-cp"); //$NON-NLS-1$
+			options.add(classPath);
+		}
+		if (!Strings.isEmpty(encoding)) {
+			options.add("-encoding"); //$NON-NLS-1$
+			options.add(encoding);
+		}
+		if (logger != null && logger.isLoggable(Level.FINEST)) {
+			logger.finest(MessageFormat.format(Messages.JavacBatchCompiler_0, Strings.concat(" ", options))); //$NON-NLS-1$
+		}
+		final Charset charset = Strings.isEmpty(encoding) ? null : Charset.forName(encoding);
+		try (StandardJavaFileManager standardFileManager = systemCompiler.getStandardFileManager(null, null, charset);
+				MemoryFileManager fileManager = new MemoryFileManager(standardFileManager, this.classes)) {
+			final List<JavaFileObject> units = new ArrayList<>(memoryUnits);
+			Iterables.addAll(units, standardFileManager.getJavaFileObjectsFromStrings(files));
+			if (progress.isCanceled()) {
+				return false;
+			}
+			final Boolean result = systemCompiler.getTask(outWriter, fileManager, null, options, null, units).call();
+			return result != null && result.booleanValue() && !progress.isCanceled();
+		} catch (IOException exception) {
+			if (logger != null) {
+				logger.log(Level.FINEST, exception.getLocalizedMessage(), exception);
+			}
+			return false;
+		}
+	}
+
+	private static String toPath(Iterable<File> entries) {
+		final StringBuilder path = new StringBuilder();
+		for (final File entry : entries) {
+			if (entry.exists()) {
+				if (path.length() > 0) {
+					path.append(File.pathSeparator);
+				}
+				path.append(entry.getAbsolutePath());
+			}
+		}
+		return path.toString();
+	}
+
+	/** Create a class loader that is loading the classes compiled in memory before the classes of the given class path.
+	 *
+	 * @param classPathEntries the class path entries.
+	 * @param parent the parent class loader.
+	 * @return the class loader.
+	 */
+	public ClassLoader createClassLoader(Iterable<File> classPathEntries, ClassLoader parent) {
+		return new MemoryClassLoader(Iterables.toArray(Iterables.transform(classPathEntries, from -> {
+			try {
+				final URL url = from.toURI().toURL();
+				assert url != null;
+				return url;
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		}), URL.class), parent, this.classes);
+	}
+
+	private static String toBinaryName(String path) {
+		String name = path;
+		final int index = name.lastIndexOf('.');
+		if (index > 0) {
+			name = name.substring(0, index);
+		}
+		return name.replace('/', '.');
+	}
+
+	/** Source file in memory.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 0.12
+	 */
+	private static class MemorySourceFile extends SimpleJavaFileObject {
+
+		private final CharSequence content;
+
+		MemorySourceFile(String path, CharSequence content) {
+			super(URI.create(MEMORY_SCHEME + path), Kind.SOURCE);
+			this.content = content;
+		}
+
+		@Override
+		public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+			return this.content;
+		}
+
+	}
+
+	/** Class file in memory.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 0.12
+	 */
+	private static class MemoryClassFile extends SimpleJavaFileObject {
+
+		private final String binaryName;
+
+		private final Map<String, byte[]> classes;
+
+		MemoryClassFile(String binaryName, Map<String, byte[]> classes) {
+			super(URI.create(MEMORY_SCHEME + binaryName.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+			this.binaryName = binaryName;
+			this.classes = classes;
+		}
+
+		String getBinaryName() {
+			return this.binaryName;
+		}
+
+		@Override
+		public InputStream openInputStream() throws IOException {
+			final byte[] bytes = this.classes.get(this.binaryName);
+			if (bytes == null) {
+				throw new IOException(this.binaryName);
+			}
+			return new ByteArrayInputStream(bytes);
+		}
+
+		@Override
+		public OutputStream openOutputStream() {
+			return new ByteArrayOutputStream() {
+				@Override
+				public void close() throws IOException {
+					super.close();
+					MemoryClassFile.this.classes.put(MemoryClassFile.this.binaryName, toByteArray());
+				}
+			};
+		}
+
+	}
+
+	/** File manager that is writing the class files in memory, and that is adding the classes in memory
+	 * to the class path.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 0.12
+	 */
+	private static class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+		private final Map<String, byte[]> classes;
+
+		MemoryFileManager(StandardJavaFileManager fileManager, Map<String, byte[]> classes) {
+			super(fileManager);
+			this.classes = classes;
+		}
+
+		@Override
+		public JavaFileObject getJavaFileForOutput(Location location, String className, Kind kind,
+				FileObject sibling) throws IOException {
+			if (kind == Kind.CLASS) {
+				return new MemoryClassFile(className, this.classes);
+			}
+			return super.getJavaFileForOutput(location, className, kind, sibling);
+		}
+
+		@Override
+		public Iterable<JavaFileObject> list(Location location, String packageName, Set<Kind> kinds,
+				boolean recurse) throws IOException {
+			final Iterable<JavaFileObject> files = super.list(location, packageName, kinds, recurse);
+			if (location != StandardLocation.CLASS_PATH || !kinds.contains(Kind.CLASS)) {
+				return files;
+			}
+			final String prefix = packageName.isEmpty() ? "" : packageName + "."; //$NON-NLS-1$ //$NON-NLS-2$
+			final List<JavaFileObject> memoryFiles = new ArrayList<>();
+			for (final String name : this.classes.keySet()) {
+				if (name.startsWith(prefix) && (recurse || name.indexOf('.', prefix.length()) < 0)) {
+					memoryFiles.add(new MemoryClassFile(name, this.classes));
+				}
+			}
+			if (memoryFiles.isEmpty()) {
+				return files;
+			}
+			return Iterables.concat(memoryFiles, files);
+		}
+
+		@Override
+		public String inferBinaryName(Location location, JavaFileObject file) {
+			if (file instanceof MemoryClassFile) {
+				return ((MemoryClassFile) file).getBinaryName();
+			}
+			if (file instanceof MemorySourceFile) {
+				return toBinaryName(file.toUri().getPath().substring(1));
+			}
+			return super.inferBinaryName(location, file);
+		}
+
+	}
+
+	/** Class loader that is defining the classes in memory before the classes of its class path.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 0.12
+	 */
+	private static class MemoryClassLoader extends URLClassLoader {
+
+		private final Map<String, byte[]> classes;
+
+		MemoryClassLoader(URL[] urls, ClassLoader parent, Map<String, byte[]> classes) {
+			super(urls, parent);
+			this.classes = classes;
+		}
+
+		@Override
+		protected Class<?> findClass(String name) throws ClassNotFoundException {
+			final byte[] bytes = this.classes.get(name);
+			if (bytes != null) {
+				return defineClass(name, bytes, 0, bytes.length);
+			}
+			return super.findClass(name);
+		}
+
+	}
+
+}
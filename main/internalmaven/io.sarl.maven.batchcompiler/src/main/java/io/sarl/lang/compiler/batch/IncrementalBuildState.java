@@ -0,0 +1,437 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.compiler.batch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.common.types.JvmAnnotationReference;
+import org.eclipse.xtext.common.types.JvmDeclaredType;
+import org.eclipse.xtext.common.types.JvmExecutable;
+import org.eclipse.xtext.common.types.JvmField;
+import org.eclipse.xtext.common.types.JvmFormalParameter;
+import org.eclipse.xtext.common.types.JvmMember;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.common.types.JvmTypeReference;
+import org.eclipse.xtext.common.types.JvmVisibility;
+
+/** State of a SARL project that is saved between two runs of the batch compiler in incremental mode.
+ *
+ * <p>For each SARL file, the state contains the hash of the file content, the hash of the
+ * signatures of the types that are inferred from the file, the names that are exported and
+ * imported by the file according to its resource description, the names of the generated types,
+ * and a flag that indicates if the Java code was successfully generated for the file.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ */
+public class IncrementalBuildState {
+
+	/** Version of the file format. The state files with another version are ignored.
+	 */
+	private static final int FORMAT_VERSION = 1;
+
+	private static final String HASH_ALGORITHM = "SHA-256"; //$NON-NLS-1$
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray(); //$NON-NLS-1$
+
+	private final String configurationHash;
+
+	private final Map<String, ResourceState> resources = new TreeMap<>();
+
+	/** Constructor.
+	 *
+	 * @param configurationHash the hash of the compiler configuration.
+	 */
+	public IncrementalBuildState(String configurationHash) {
+		this.configurationHash = configurationHash;
+	}
+
+	/** Replies the hash of the compiler configuration for which this state was built.
+	 *
+	 * @return the hash.
+	 */
+	public String getConfigurationHash() {
+		return this.configurationHash;
+	}
+
+	/** Replies the states of the resources, indexed by the resource URIs.
+	 *
+	 * @return the resource states.
+	 */
+	public Map<String, ResourceState> getResources() {
+		return Collections.unmodifiableMap(this.resources);
+	}
+
+	/** Replies the state of the given resource.
+	 *
+	 * @param uri the URI of the resource.
+	 * @return the state, or {@code null} if the resource is unknown.
+	 */
+	public ResourceState getResource(String uri) {
+		return this.resources.get(uri);
+	}
+
+	/** Add the state of a resource.
+	 *
+	 * @param uri the URI of the resource.
+	 * @param state the state.
+	 */
+	public void addResource(String uri, ResourceState state) {
+		this.resources.put(uri, state);
+	}
+
+	/** Replies if the given files have the same content as the ones that are described in this state,
+	 * and if all of them were successfully compiled.
+	 *
+	 * @param configurationHash the hash of the current configuration of the compiler.
+	 * @param contentHashes the hashes of the file contents, indexed by the resource URIs.
+	 * @return {@code true} if nothing has changed since the build that produced this state.
+	 */
+	public boolean isUpToDate(String configurationHash, Map<String, String> contentHashes) {
+		if (!this.configurationHash.equals(configurationHash)
+				|| !this.resources.keySet().equals(contentHashes.keySet())) {
+			return false;
+		}
+		for (final Map.Entry<String, ResourceState> entry : this.resources.entrySet()) {
+			final ResourceState state = entry.getValue();
+			if (!state.isValid() || !state.getContentHash().equals(contentHashes.get(entry.getKey()))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** Read the state from the given file.
+	 *
+	 * @param file the file to read.
+	 * @return the state, or {@code null} if the file does not exist or has not the expected format.
+	 */
+	public static IncrementalBuildState read(File file) {
+		if (file == null || !file.isFile()) {
+			return null;
+		}
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (input.readInt() != FORMAT_VERSION) {
+				return null;
+			}
+			final IncrementalBuildState state = new IncrementalBuildState(input.readUTF());
+			final int count = input.readInt();
+			for (int i = 0; i < count; ++i) {
+				final String uri = input.readUTF();
+				final ResourceState resource = new ResourceState(input.readUTF(), input.readUTF(), input.readBoolean());
+				readNames(input, resource.exportedNames);
+				readNames(input, resource.importedNames);
+				readNames(input, resource.generatedTypes);
+				state.addResource(uri, resource);
+			}
+			return state;
+		} catch (IOException exception) {
+			return null;
+		}
+	}
+
+	private static void readNames(DataInputStream input, Set<String> names) throws IOException {
+		final int count = input.readInt();
+		for (int i = 0; i < count; ++i) {
+			names.add(input.readUTF());
+		}
+	}
+
+	/** Write the state into the given file.
+	 *
+	 * @param file the file to write.
+	 * @throws IOException if the file cannot be written.
+	 */
+	public void write(File file) throws IOException {
+		final File parent = file.getParentFile();
+		if (parent != null) {
+			parent.mkdirs();
+		}
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			output.writeInt(FORMAT_VERSION);
+			output.writeUTF(this.configurationHash);
+			output.writeInt(this.resources.size());
+			for (final Map.Entry<String, ResourceState> entry : this.resources.entrySet()) {
+				final ResourceState resource = entry.getValue();
+				output.writeUTF(entry.getKey());
+				output.writeUTF(resource.getContentHash());
+				output.writeUTF(resource.getSignatureHash());
+				output.writeBoolean(resource.isValid());
+				writeNames(output, resource.exportedNames);
+				writeNames(output, resource.importedNames);
+				writeNames(output, resource.generatedTypes);
+			}
+		}
+	}
+
+	private static void writeNames(DataOutputStream output, Set<String> names) throws IOException {
+		output.writeInt(names.size());
+		for (final String name : names) {
+			output.writeUTF(name);
+		}
+	}
+
+	/** Create a message digest that is used for computing the hashes of the build state.
+	 *
+	 * @return the message digest.
+	 */
+	public static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance(HASH_ALGORITHM);
+		} catch (NoSuchAlgorithmException exception) {
+			throw new IllegalStateException(exception);
+		}
+	}
+
+	/** Replies the hexadecimal representation of the hash of the given digest.
+	 *
+	 * @param digest the digest.
+	 * @return the hexadecimal representation of the hash.
+	 */
+	public static String toHexString(MessageDigest digest) {
+		final byte[] hash = digest.digest();
+		final char[] result = new char[hash.length * 2];
+		for (int i = 0; i < hash.length; ++i) {
+			result[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xf];
+			result[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xf];
+		}
+		return new String(result);
+	}
+
+	/** Compute the hash of the content of the given file.
+	 *
+	 * @param file the file.
+	 * @return the hexadecimal representation of the hash.
+	 * @throws IOException if the file cannot be read.
+	 */
+	public static String computeContentHash(File file) throws IOException {
+		final MessageDigest digest = newDigest();
+		digest.update(java.nio.file.Files.readAllBytes(file.toPath()));
+		return toHexString(digest);
+	}
+
+	/** Compute the hash of the non-private signatures of the JVM types that are inferred from the given resource.
+	 * This hash changes when a change in the resource may have an impact on the resources that are using it;
+	 * and it does not change when only the bodies of the functions are changed.
+	 *
+	 * @param resource the resource with the inferred JVM types.
+	 * @return the hexadecimal representation of the hash.
+	 */
+	public static String computeSignatureHash(Resource resource) {
+		final MessageDigest digest = newDigest();
+		for (final EObject content : resource.getContents()) {
+			if (content instanceof JvmDeclaredType) {
+				updateSignature(digest, (JvmDeclaredType) content);
+			}
+		}
+		return toHexString(digest);
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		if (value != null) {
+			digest.update(value.getBytes(StandardCharsets.UTF_8));
+		}
+		digest.update((byte) 0);
+	}
+
+	private static void update(MessageDigest digest, JvmTypeReference type) {
+		update(digest, type == null ? null : type.getIdentifier());
+	}
+
+	private static void updateModifiers(MessageDigest digest, JvmMember member) {
+		update(digest, member.getVisibility().getLiteral());
+		for (final JvmAnnotationReference annotation : member.getAnnotations()) {
+			update(digest, annotation.getAnnotation() == null ? null : annotation.getAnnotation().getIdentifier());
+		}
+		digest.update((byte) (member.isDeprecated() ? 1 : 0));
+	}
+
+	@SuppressWarnings("checkstyle:cyclomaticcomplexity")
+	private static void updateSignature(MessageDigest digest, JvmDeclaredType type) {
+		update(digest, type.eClass().getName());
+		update(digest, type.getIdentifier());
+		updateModifiers(digest, type);
+		digest.update((byte) ((type.isAbstract() ? 1 : 0) | (type.isFinal() ? 2 : 0) | (type.isStatic() ? 4 : 0)));
+		for (final JvmTypeReference superType : type.getSuperTypes()) {
+			update(digest, superType);
+		}
+		for (final JvmMember member : type.getMembers()) {
+			if (member.getVisibility() == JvmVisibility.PRIVATE) {
+				continue;
+			}
+			if (member instanceof JvmDeclaredType) {
+				updateSignature(digest, (JvmDeclaredType) member);
+			} else {
+				update(digest, member.eClass().getName());
+				update(digest, member.getSimpleName());
+				updateModifiers(digest, member);
+				if (member instanceof JvmField) {
+					final JvmField field = (JvmField) member;
+					digest.update((byte) ((field.isStatic() ? 1 : 0) | (field.isFinal() ? 2 : 0)));
+					update(digest, field.getType());
+				} else if (member instanceof JvmExecutable) {
+					final JvmExecutable executable = (JvmExecutable) member;
+					digest.update((byte) (executable.isVarArgs() ? 1 : 0));
+					for (final JvmFormalParameter parameter : executable.getParameters()) {
+						update(digest, parameter.getParameterType());
+					}
+					for (final JvmTypeReference exception : executable.getExceptions()) {
+						update(digest, exception);
+					}
+					if (member instanceof JvmOperation) {
+						final JvmOperation operation = (JvmOperation) member;
+						digest.update((byte) ((operation.isStatic() ? 1 : 0) | (operation.isFinal() ? 2 : 0)
+								| (operation.isAbstract() ? 4 : 0) | (operation.isDefault() ? 8 : 0)));
+						update(digest, operation.getReturnType());
+					}
+				}
+			}
+		}
+	}
+
+	/** State of a single resource.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 0.12
+	 */
+	public static class ResourceState {
+
+		private final String contentHash;
+
+		private final String signatureHash;
+
+		private boolean valid;
+
+		private final Set<String> exportedNames = new TreeSet<>();
+
+		private final Set<String> importedNames = new TreeSet<>();
+
+		private final Set<String> generatedTypes = new TreeSet<>();
+
+		/** Constructor.
+		 *
+		 * @param contentHash the hash of the file content.
+		 * @param signatureHash the hash of the signatures of the inferred types.
+		 * @param valid indicates if the Java code was successfully generated for the resource.
+		 */
+		public ResourceState(String contentHash, String signatureHash, boolean valid) {
+			this.contentHash = contentHash;
+			this.signatureHash = signatureHash;
+			this.valid = valid;
+		}
+
+		/** Replies the hash of the file content.
+		 *
+		 * @return the hash.
+		 */
+		public String getContentHash() {
+			return this.contentHash;
+		}
+
+		/** Replies the hash of the signatures of the inferred types.
+		 *
+		 * @return the hash.
+		 */
+		public String getSignatureHash() {
+			return this.signatureHash;
+		}
+
+		/** Replies if the Java code was successfully generated for the resource.
+		 *
+		 * @return {@code true} if the Java code was generated.
+		 */
+		public boolean isValid() {
+			return this.valid;
+		}
+
+		/** Change the flag that indicates if the Java code was successfully generated for the resource.
+		 *
+		 * @param valid {@code true} if the Java code was generated.
+		 */
+		public void setValid(boolean valid) {
+			this.valid = valid;
+		}
+
+		/** Replies the lower-case qualified names that are exported by the resource.
+		 *
+		 * @return the exported names.
+		 */
+		public Set<String> getExportedNames() {
+			return this.exportedNames;
+		}
+
+		/** Replies the lower-case qualified names that are imported by the resource.
+		 *
+		 * @return the imported names.
+		 */
+		public Set<String> getImportedNames() {
+			return this.importedNames;
+		}
+
+		/** Replies the qualified names of the top-level types that are generated for the resource.
+		 *
+		 * @return the type names.
+		 */
+		public Set<String> getGeneratedTypes() {
+			return this.generatedTypes;
+		}
+
+		/** Replies if the resource is importing one of the given names.
+		 *
+		 * @param names the lower-case qualified names.
+		 * @return {@code true} if one of the names is imported.
+		 */
+		public boolean isImportingOneOf(Collection<String> names) {
+			for (final String name : names) {
+				if (this.importedNames.contains(name)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+	}
+
+}
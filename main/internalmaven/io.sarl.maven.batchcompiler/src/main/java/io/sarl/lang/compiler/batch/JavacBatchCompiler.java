@@ -189,7 +189,13 @@ public class JavacBatchCompiler implements IJavaBatchCompiler {
 		return retcode == 0;
 	}
 
-	private static boolean addJavaFilesDeeply(List<String> list, File root) {
+	/** Add the Java files that are inside the given folder, or the given file if it is not a folder.
+	 *
+	 * @param list the list to fill up with the absolute paths of the Java files.
+	 * @param root the root folder or file.
+	 * @return {@code true} if a Java file was added.
+	 */
+	static boolean addJavaFilesDeeply(List<String> list, File root) {
 		final Deque<File> folders = new LinkedList<>();
 		if (root.exists()) {
 			if (root.isDirectory()) {
@@ -0,0 +1,220 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sarl.lang.compiler.batch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.common.types.JvmDeclaredType;
+
+import io.sarl.lang.SARLVersion;
+
+/** On-disk cache of the JVM type descriptions that are extracted from the jar files of the class path.
+ *
+ * <p>The cache is content-addressed: the descriptions of the types of a jar file are stored into a folder
+ * whose name is the SHA-256 hash of the content of the jar file. Consequently, the descriptions are
+ * shared by all the compilations that are using the same jar file, e.g. the modules of a multi-module
+ * Maven build, and the successive runs of {@code sarlc}. They are not reused when the jar file has changed.
+ * The descriptions are serialized with the EMF binary format; the references to the other types are
+ * stored as proxies.
+ *
+ * <p>The cache folder is specific to the version of SARL, in order to avoid incompatibilities between the
+ * serialized descriptions and the JVM type model.
+ *
+ * <p>This class is thread-safe.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ */
+public class JvmTypeCache {
+
+	private static final String FILE_EXTENSION = ".jvmtype"; //$NON-NLS-1$
+
+	private static final String HASH_ALGORITHM = "SHA-256"; //$NON-NLS-1$
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private static final int HEX = 16;
+
+	private final File directory;
+
+	private final Map<String, Optional<File>> jarFolders = new ConcurrentHashMap<>();
+
+	/** Constructor.
+	 *
+	 * @param directory the root folder of the cache.
+	 */
+	public JvmTypeCache(File directory) {
+		this.directory = new File(directory, SARLVersion.SARL_RELEASE_VERSION);
+	}
+
+	/** Replies the folder in which the descriptions are stored.
+	 *
+	 * @return the folder.
+	 */
+	public File getDirectory() {
+		return this.directory;
+	}
+
+	/** Replies the folder that contains the descriptions of the types of the given jar file.
+	 * The hash of the jar file is computed once for each version of the file.
+	 *
+	 * @param jar the jar file.
+	 * @return the folder, or {@code null} if the jar file cannot be read.
+	 */
+	protected File getJarFolder(File jar) {
+		final String key = jar.getAbsolutePath() + '@' + jar.lastModified() + '#' + jar.length();
+		return this.jarFolders.computeIfAbsent(key, it -> {
+			try {
+				return Optional.of(new File(this.directory, hash(jar)));
+			} catch (IOException | NoSuchAlgorithmException exception) {
+				return Optional.empty();
+			}
+		}).orElse(null);
+	}
+
+	private static String hash(File jar) throws IOException, NoSuchAlgorithmException {
+		final MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+		final byte[] buffer = new byte[BUFFER_SIZE];
+		try (InputStream stream = new FileInputStream(jar)) {
+			int len = stream.read(buffer);
+			while (len > 0) {
+				digest.update(buffer, 0, len);
+				len = stream.read(buffer);
+			}
+		}
+		final StringBuilder result = new StringBuilder();
+		for (final byte value : digest.digest()) {
+			result.append(Character.forDigit((value >> 4) & 0xF, HEX));
+			result.append(Character.forDigit(value & 0xF, HEX));
+		}
+		return result.toString();
+	}
+
+	private File getTypeFile(File jar, String typeName) {
+		final File folder = getJarFolder(jar);
+		if (folder == null) {
+			return null;
+		}
+		return new File(folder, typeName + FILE_EXTENSION);
+	}
+
+	/** Replies if the description of the given type is in the cache.
+	 *
+	 * @param jar the jar file that contains the type.
+	 * @param typeName the binary name of the type.
+	 * @return {@code true} if the description is in the cache.
+	 */
+	public boolean contains(File jar, String typeName) {
+		final File file = getTypeFile(jar, typeName);
+		return file != null && file.isFile();
+	}
+
+	/** Load the description of the given type from the cache.
+	 *
+	 * @param jar the jar file that contains the type.
+	 * @param typeName the binary name of the type.
+	 * @param resourceURI the URI of the resource that will contain the type.
+	 * @return the description, or {@code null} if it is not in the cache or cannot be read.
+	 */
+	public JvmDeclaredType load(File jar, String typeName, URI resourceURI) {
+		final File file = getTypeFile(jar, typeName);
+		if (file == null || !file.isFile()) {
+			return null;
+		}
+		final Resource resource = new BinaryResourceImpl(resourceURI);
+		try (InputStream stream = new BufferedInputStream(new FileInputStream(file))) {
+			resource.load(stream, null);
+		} catch (IOException | RuntimeException exception) {
+			// The cached description is corrupted; it will be replaced.
+			file.delete();
+			return null;
+		}
+		if (!resource.getContents().isEmpty()) {
+			final EObject root = resource.getContents().get(0);
+			if (root instanceof JvmDeclaredType) {
+				resource.getContents().clear();
+				return (JvmDeclaredType) root;
+			}
+		}
+		return null;
+	}
+
+	/** Save the description of the given type into the cache.
+	 * The given type is not changed; a copy of it is serialized. The proxies are not resolved.
+	 *
+	 * @param jar the jar file that contains the type.
+	 * @param typeName the binary name of the type.
+	 * @param resourceURI the URI of the resource that contains the type.
+	 * @param type the description of the type.
+	 */
+	public void store(File jar, String typeName, URI resourceURI, JvmDeclaredType type) {
+		final File file = getTypeFile(jar, typeName);
+		if (file == null) {
+			return;
+		}
+		final EcoreUtil.Copier copier = new EcoreUtil.Copier(false);
+		final EObject copy = copier.copy(type);
+		copier.copyReferences();
+		final Resource resource = new BinaryResourceImpl(resourceURI);
+		resource.getContents().add(copy);
+		try {
+			final File folder = file.getParentFile();
+			folder.mkdirs();
+			// Write into a temporary file, and move it, in order to never expose a partial description
+			// to the other compilers that are sharing the cache.
+			final File tmpFile = File.createTempFile("jvmtype", null, folder); //$NON-NLS-1$
+			try {
+				try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(tmpFile))) {
+					resource.save(stream, null);
+				}
+				Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			} finally {
+				tmpFile.delete();
+			}
+		} catch (IOException | RuntimeException exception) {
+			// The cache is an optimization; the type is extracted again at the next compilation.
+		}
+	}
+
+}
@@ -33,13 +33,18 @@ import java.lang.reflect.Modifier;
 import java.net.URI;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -47,6 +52,15 @@ import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -58,17 +72,20 @@ import com.google.common.base.CharMatcher;
 import com.google.common.base.Joiner;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Sets;
 import com.google.inject.ImplementedBy;
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.xtend.core.macro.ProcessorInstanceForJvmTypeProvider;
 import org.eclipse.xtext.Constants;
 import org.eclipse.xtext.EcoreUtil2;
+import org.eclipse.xtext.common.types.JvmDeclaredType;
 import org.eclipse.xtext.common.types.access.impl.ClasspathTypeProvider;
 import org.eclipse.xtext.common.types.access.impl.IndexedJvmTypeAccess;
 import org.eclipse.xtext.common.types.descriptions.IStubGenerator;
@@ -76,18 +93,25 @@ import org.eclipse.xtext.diagnostics.Severity;
 import org.eclipse.xtext.generator.GeneratorContext;
 import org.eclipse.xtext.generator.GeneratorDelegate;
 import org.eclipse.xtext.generator.IFileSystemAccess;
+import org.eclipse.xtext.generator.InMemoryFileSystemAccess;
 import org.eclipse.xtext.generator.IOutputConfigurationProvider;
 import org.eclipse.xtext.generator.JavaIoFileSystemAccess;
 import org.eclipse.xtext.generator.OutputConfiguration;
 import org.eclipse.xtext.generator.OutputConfigurationAdapter;
 import org.eclipse.xtext.mwe.NameBasedFilter;
 import org.eclipse.xtext.mwe.PathTraverser;
+import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.parser.IEncodingProvider;
 import org.eclipse.xtext.resource.CompilerPhases;
 import org.eclipse.xtext.resource.FileExtensionProvider;
+import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.SynchronizedXtextResourceSet;
 import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
+import org.eclipse.xtext.resource.persistence.SourceLevelURIsAdapter;
 import org.eclipse.xtext.resource.persistence.StorageAwareResource;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.Files;
@@ -109,9 +133,12 @@ import org.eclipse.xtext.xbase.resource.BatchLinkableResource;
 import org.eclipse.xtext.xbase.resource.BatchLinkableResourceStorageWritable;
 
 import io.sarl.lang.SARLConfig;
+import io.sarl.lang.SARLVersion;
 import io.sarl.lang.compiler.GeneratorConfig2;
 import io.sarl.lang.compiler.GeneratorConfigProvider2;
 import io.sarl.lang.compiler.IGeneratorConfigProvider2;
+import io.sarl.lang.compiler.LanguageProfiler;
+import io.sarl.lang.compiler.batch.IncrementalBuildState.ResourceState;
 import io.sarl.lang.compiler.batch.InternalXtextLogger.InternalXtextLoggerFactory;
 import io.sarl.lang.extralanguage.IExtraLanguageContribution;
 import io.sarl.lang.extralanguage.IExtraLanguageContributions;
@@ -135,6 +162,18 @@ public class SarlBatchCompiler {
 
 	private static final String STUB_FOLDER_PREFIX = "stubs"; //$NON-NLS-1$
 
+	private static final String WORKER_THREAD_PREFIX = "sarlc-worker-"; //$NON-NLS-1$
+
+	private static final int PROFILING_REPORT_SIZE = 20;
+
+	private static final String BUILD_STATE_FILENAME = ".sarlc.state"; //$NON-NLS-1$
+
+	private static final String JAVA_FILE_EXTENSION = ".java"; //$NON-NLS-1$
+
+	private static final String CLASS_FILE_EXTENSION = ".class"; //$NON-NLS-1$
+
+	private static final String TRACE_FILE_EXTENSION = "._trace"; //$NON-NLS-1$
+
 	private static final String INTERNAL_ERROR_CODE = SarlBatchCompiler.class.getName() + ".internal_error"; //$NON-NLS-1$
 
 	private static final Predicate<IExtraLanguageContribution> DISABLER = it -> false;
@@ -226,6 +265,9 @@ public class SarlBatchCompiler {
 	@Named(Constants.LANGUAGE_NAME)
 	private String languageName;
 
+	@Inject
+	private LanguageProfiler languageProfiler;
+
 	private IJavaBatchCompiler javaCompiler;
 
 	private Logger logger;
@@ -236,6 +278,8 @@ public class SarlBatchCompiler {
 
 	private Collection<ICompilatedResourceReceiver> resourceReceivers = new LinkedList<>();
 
+	private Collection<ICompilationStageListener> stageListeners = new LinkedList<>();
+
 	private final List<File> tempFolders = new ArrayList<>();
 
 	private Comparator<Issue> issueComparator = new DefaultIssueComparator();
@@ -250,6 +294,50 @@ public class SarlBatchCompiler {
 
 	private OptimizationLevel optimizationLevel;
 
+	private boolean incrementalCompilation;
+
+	private File buildStateFile;
+
+	private final StringBuilder severityConfiguration = new StringBuilder();
+
+	private Set<String> incrementalResources;
+
+	private List<File> incrementalJavaFiles;
+
+	private int parallelism = 1;
+
+	private boolean inMemoryCompilation;
+
+	private boolean streamingCompilation;
+
+	private int maxErrorCount;
+
+	private int reportedErrorCount;
+
+	private int clusterSize;
+
+	private ResourceDescriptionsData clusterIndex;
+
+	private Set<org.eclipse.emf.common.util.URI> currentCluster;
+
+	private Set<File> clusterGeneratedFiles;
+
+	private InMemoryJavaCompiler inMemoryCompiler;
+
+	private boolean classPathClassLoaderReused;
+
+	private ClassLoader classPathClassLoader;
+
+	private String classPathClassLoaderKey;
+
+	private File jvmTypeCacheDirectory;
+
+	private JvmTypeCache jvmTypeCache;
+
+	private File profilingReportFile;
+
+	private CompilationProfiler profiler;
+
 	/** Constructor the batch compiler.
 	 */
 	public SarlBatchCompiler() {
@@ -398,6 +486,267 @@ public class SarlBatchCompiler {
 		this.enableJavaPostCompilation = enable;
 	}
 
+	/** Replies if the incremental compilation is enabled.
+	 *
+	 * <p>In incremental mode, a build state is saved between two runs of the compiler.
+	 * Only the SARL files that have changed since the previous run, and the files that are using
+	 * types with a changed signature, are validated, generated and compiled again.
+	 *
+	 * @return {@code true} if the incremental compilation is enabled.
+	 * @since 0.12
+	 * @see #getBuildStateFile()
+	 */
+	public boolean isIncrementalCompilation() {
+		return this.incrementalCompilation;
+	}
+
+	/** Change the flag that indicates if the incremental compilation is enabled.
+	 *
+	 * @param enable {@code true} if the incremental compilation is enabled.
+	 * @since 0.12
+	 */
+	public void setIncrementalCompilation(boolean enable) {
+		this.incrementalCompilation = enable;
+	}
+
+	/** Replies the number of threads that are used for resolving the links, validating the resources
+	 * and generating the Java files.
+	 *
+	 * <p>The parallel mode is used only when the number of threads is greater than {@code 1}, and when the
+	 * resource set that is provided by {@link #setResourceSetProvider(Provider)} is thread-safe,
+	 * i.e. a {@link SynchronizedXtextResourceSet}.
+	 *
+	 * @return the number of threads, or {@code 1} if the stages are sequential.
+	 * @since 0.12
+	 */
+	public int getParallelism() {
+		if (this.parallelism <= 0) {
+			return Runtime.getRuntime().availableProcessors();
+		}
+		return this.parallelism;
+	}
+
+	/** Change the number of threads that are used for resolving the links, validating the resources
+	 * and generating the Java files.
+	 *
+	 * @param threads the number of threads; {@code 1} for sequential stages; or a negative
+	 *     value or zero for using the number of available processors.
+	 * @since 0.12
+	 */
+	public void setParallelism(int threads) {
+		this.parallelism = threads;
+	}
+
+	/** Replies if the stubs and the Java files of the source folders are compiled in memory.
+	 *
+	 * <p>In this mode, the stubs are not written into the temporary folder, and their byte codes are
+	 * not written on the disk. The byte codes are directly provided to the JVM type provider.
+	 * The in-memory compilation is based on the Java compiler of the Java platform. If it is not available,
+	 * the stubs are compiled on the disk.
+	 *
+	 * @return {@code true} if the in-memory compilation is enabled.
+	 * @since 0.12
+	 */
+	public boolean isInMemoryCompilation() {
+		return this.inMemoryCompilation;
+	}
+
+	/** Change the flag that indicates if the stubs and the Java files of the source folders are compiled in memory.
+	 *
+	 * @param enable {@code true} if the in-memory compilation is enabled.
+	 * @since 0.12
+	 */
+	public void setInMemoryCompilation(boolean enable) {
+		this.inMemoryCompilation = enable;
+	}
+
+	/** Replies if the Java files of each valid SARL file are generated just after the validation of the SARL file.
+	 *
+	 * <p>In this mode, the Java files of a SARL file are generated while the next SARL files are validated.
+	 * The generation is stopped as soon as an error is reported. Consequently, the Java files of the SARL files
+	 * that were validated before the first error may be generated even if the compilation fails.
+	 * If this mode is disabled, the Java files are generated only if none of the SARL files has an error.
+	 *
+	 * @return {@code true} if the streaming compilation is enabled.
+	 * @since 0.12
+	 */
+	public boolean isStreamingCompilation() {
+		return this.streamingCompilation;
+	}
+
+	/** Change the flag that indicates if the Java files of each valid SARL file are generated just after
+	 * the validation of the SARL file.
+	 *
+	 * @param enable {@code true} if the streaming compilation is enabled.
+	 * @since 0.12
+	 */
+	public void setStreamingCompilation(boolean enable) {
+		this.streamingCompilation = enable;
+	}
+
+	/** Replies the maximal number of errors that are reported before the compilation is stopped.
+	 *
+	 * @return the maximal number of errors; zero or a negative value if all the errors are reported.
+	 * @since 0.12
+	 */
+	public int getMaxErrorCount() {
+		return this.maxErrorCount;
+	}
+
+	/** Change the maximal number of errors that are reported before the compilation is stopped.
+	 *
+	 * @param count the maximal number of errors; zero or a negative value if all the errors are reported.
+	 * @since 0.12
+	 */
+	public void setMaxErrorCount(int count) {
+		this.maxErrorCount = count;
+	}
+
+	/** Replies the maximal number of SARL files that are compiled together when the clustered compilation is enabled.
+	 *
+	 * <p>In clustered mode, the SARL files are first indexed, and the descriptions of the files are kept in memory.
+	 * Then, the files are compiled by clusters of the given size; the clusters are ordered according to the
+	 * dependencies between the files. The resources of a cluster are released before the next cluster is compiled.
+	 * The files outside the current cluster are loaded from their storage files when they are available,
+	 * or from the SARL files otherwise. Consequently, the memory that is used by the compiler depends on the size
+	 * of the clusters, not on the number of SARL files. As soon as an error is reported, the Java files of
+	 * the next clusters are not generated. The clustered compilation is not available in incremental mode.
+	 *
+	 * @return the number of SARL files in a cluster; zero or a negative value if the clustered compilation is disabled.
+	 * @since 0.12
+	 * @see #isWriteStorageFiles()
+	 */
+	public int getClusterSize() {
+		return this.clusterSize;
+	}
+
+	/** Change the maximal number of SARL files that are compiled together when the clustered compilation is enabled.
+	 *
+	 * @param size the number of SARL files in a cluster; zero or a negative value for disabling the clustered compilation.
+	 * @since 0.12
+	 */
+	public void setClusterSize(int size) {
+		this.clusterSize = size;
+	}
+
+	/** Replies if the class loader on the jar files of the class path is kept between two runs of the compiler.
+	 *
+	 * <p>When this flag is enabled, the classes of the jar files are loaded once, and they are reused by the
+	 * next runs of this compiler as long as the jar files, and the boot class path, are unchanged. The folders
+	 * of the class path are always read again. This flag is useful when the same compiler instance is
+	 * run many times, e.g. by a compilation daemon.
+	 *
+	 * @return {@code true} if the class loader is reused.
+	 * @since 0.12
+	 * @see #releaseClassPathClassLoader()
+	 */
+	public boolean isClassPathClassLoaderReused() {
+		return this.classPathClassLoaderReused;
+	}
+
+	/** Change the flag that indicates if the class loader on the jar files of the class path is kept between two
+	 * runs of the compiler.
+	 *
+	 * @param reuse {@code true} if the class loader is reused.
+	 * @since 0.12
+	 */
+	public void setClassPathClassLoaderReused(boolean reuse) {
+		this.classPathClassLoaderReused = reuse;
+		if (!reuse) {
+			releaseClassPathClassLoader();
+		}
+	}
+
+	/** Release the class loader on the jar files of the class path that is kept between two runs of the compiler.
+	 *
+	 * @since 0.12
+	 * @see #isClassPathClassLoaderReused()
+	 */
+	public void releaseClassPathClassLoader() {
+		destroyClassLoader(this.classPathClassLoader);
+		this.classPathClassLoader = null;
+		this.classPathClassLoaderKey = null;
+	}
+
+	/** Replies the folder of the on-disk cache of the JVM types that are defined into the jar files of the class path.
+	 *
+	 * <p>When this folder is defined, the descriptions of the JVM types that are extracted from the jar files
+	 * are saved into it, and they are reused by the next compilations, including the compilations that
+	 * are done by other compilers, as long as the jar files are unchanged.
+	 *
+	 * @return the folder of the cache, or {@code null} if the cache is disabled.
+	 * @since 0.12
+	 * @see JvmTypeCache
+	 */
+	public File getJvmTypeCacheDirectory() {
+		return this.jvmTypeCacheDirectory;
+	}
+
+	/** Change the folder of the on-disk cache of the JVM types that are defined into the jar files of the class path.
+	 *
+	 * @param directory the folder of the cache, or {@code null} for disabling the cache.
+	 * @since 0.12
+	 */
+	public void setJvmTypeCacheDirectory(File directory) {
+		this.jvmTypeCacheDirectory = directory;
+		this.jvmTypeCache = null;
+	}
+
+	/** Replies the file in which the profiling measures are written with the JSON format.
+	 * When this file is specified, the compiler measures the duration and the allocated memory
+	 * of each compilation stage, of each resource and of each validation check, and it logs a report
+	 * of the measures at the end of the compilation.
+	 *
+	 * @return the file, or {@code null} if the profiling is disabled.
+	 * @since 0.12
+	 * @see CompilationProfiler
+	 */
+	public File getProfilingReportFile() {
+		return this.profilingReportFile;
+	}
+
+	/** Change the file in which the profiling measures are written with the JSON format.
+	 *
+	 * @param file the file, or {@code null} for disabling the profiling.
+	 * @since 0.12
+	 */
+	public void setProfilingReportFile(File file) {
+		this.profilingReportFile = file;
+	}
+
+	/** Replies the on-disk cache of the JVM types.
+	 *
+	 * @return the cache, or {@code null} if the cache is disabled.
+	 */
+	private JvmTypeCache getJvmTypeCache() {
+		if (this.jvmTypeCache == null && this.jvmTypeCacheDirectory != null) {
+			this.jvmTypeCache = new JvmTypeCache(this.jvmTypeCacheDirectory);
+		}
+		return this.jvmTypeCache;
+	}
+
+	/** Replies the file in which the build state is saved when the incremental compilation is enabled.
+	 * By default, the build state is saved into the output folder, in order to be removed with the generated files.
+	 *
+	 * @return the build state file.
+	 * @since 0.12
+	 */
+	public File getBuildStateFile() {
+		if (this.buildStateFile == null) {
+			return new File(getOutputPath(), BUILD_STATE_FILENAME);
+		}
+		return this.buildStateFile;
+	}
+
+	/** Change the file in which the build state is saved when the incremental compilation is enabled.
+	 *
+	 * @param file the build state file, or {@code null} for using the default file.
+	 * @since 0.12
+	 */
+	public void setBuildStateFile(File file) {
+		this.buildStateFile = file;
+	}
+
 	/** Replies the formatter of the issue messages.
 	 *
 	 * @return the formatter.
@@ -474,6 +823,46 @@ public class SarlBatchCompiler {
 		}
 	}
 
+	/** Add a listener on the compilation stages.
+	 *
+	 * @param listener the listener.
+	 * @since 0.12
+	 */
+	public void addCompilationStageListener(ICompilationStageListener listener) {
+		this.stageListeners.add(listener);
+	}
+
+	/** Remove a listener on the compilation stages.
+	 *
+	 * @param listener the listener.
+	 * @since 0.12
+	 */
+	public void removeCompilationStageListener(ICompilationStageListener listener) {
+		this.stageListeners.remove(listener);
+	}
+
+	/** Notifies the listeners that the given compilation stage is starting.
+	 *
+	 * @param stage the stage.
+	 * @since 0.12
+	 */
+	private void notifiesStageStarted(CompilationStage stage) {
+		for (final ICompilationStageListener listener : this.stageListeners) {
+			listener.stageStarted(stage);
+		}
+	}
+
+	/** Notifies the listeners that the given compilation stage is finished.
+	 *
+	 * @param stage the stage.
+	 * @since 0.12
+	 */
+	private void notifiesStageFinished(CompilationStage stage) {
+		for (final ICompilationStageListener listener : this.stageListeners) {
+			listener.stageFinished(stage);
+		}
+	}
+
 	/** Replies the logger.
 	 *
 	 * @return the logger.
@@ -1249,16 +1638,25 @@ public class SarlBatchCompiler {
 	 * @since 0.8
 	 */
 	@SuppressWarnings({"checkstyle:npathcomplexity", "checkstyle:cyclomaticcomplexity",
-		"checkstyle:returncount", "checkstyle:magicnumber"})
+		"checkstyle:returncount", "checkstyle:magicnumber", "checkstyle:methodlength"})
 	public boolean compile(IProgressMonitor progress) {
 		final IProgressMonitor monitor = progress == null ? new NullProgressMonitor() : progress;
+		startProfiling();
+		this.reportedErrorCount = 0;
 		try {
 			monitor.beginTask(Messages.SarlBatchCompiler_42, 18);
 			if (!checkConfiguration(monitor)) {
 				return false;
 			}
+			final boolean clustered = getClusterSize() > 0 && !isIncrementalCompilation();
+			if (getClusterSize() > 0 && isIncrementalCompilation()) {
+				reportInternalWarning(Messages.SarlBatchCompiler_75);
+			}
 			monitor.worked(1);
 			final ResourceSet resourceSet = this.resourceSetProvider.get();
+			if (getParallelism() > 1 && getParallelism(resourceSet) <= 1) {
+				getLogger().warning(MessageFormat.format(Messages.SarlBatchCompiler_68, resourceSet.getClass().getName()));
+			}
 			configureExtraLanguageGenerators();
 			if (!configureWorkspace(resourceSet, monitor)) {
 				return false;
@@ -1284,12 +1682,42 @@ public class SarlBatchCompiler {
 				return false;
 			}
 			monitor.worked(3);
+			final IncrementalBuildState previousBuildState;
+			final Map<String, String> sourceHashes;
+			final String configurationHash;
+			if (isIncrementalCompilation()) {
+				sourceHashes = computeSourceHashes(monitor);
+				configurationHash = computeConfigurationHash();
+				previousBuildState = IncrementalBuildState.read(getBuildStateFile());
+				if (previousBuildState != null && previousBuildState.isUpToDate(configurationHash, sourceHashes)
+						&& isGeneratedFilesAvailable(previousBuildState.getResources().values())) {
+					getLogger().info(Messages.SarlBatchCompiler_64);
+					return true;
+				}
+				if (monitor.isCanceled()) {
+					return false;
+				}
+			} else {
+				previousBuildState = null;
+				sourceHashes = null;
+				configurationHash = null;
+			}
 			monitor.subTask(Messages.SarlBatchCompiler_44);
-			final File stubClassDirectory = createTempDir(BINCLASS_FOLDER_PREFIX);
+			final File stubClassDirectory;
+			if (isInMemoryCompilation() && InMemoryJavaCompiler.isAvailable()) {
+				this.inMemoryCompiler = new InMemoryJavaCompiler();
+				stubClassDirectory = null;
+			} else {
+				if (isInMemoryCompilation()) {
+					reportInternalWarning(Messages.SarlBatchCompiler_69);
+				}
+				stubClassDirectory = createTempDir(BINCLASS_FOLDER_PREFIX);
+			}
 			if (monitor.isCanceled()) {
 				return false;
 			}
 			monitor.worked(4);
+			List<List<org.eclipse.emf.common.util.URI>> clusters = null;
 			try {
 				monitor.subTask(Messages.SarlBatchCompiler_45);
 				this.compilerPhases.setIndexing(resourceSet, true);
@@ -1303,24 +1731,66 @@ public class SarlBatchCompiler {
 					return false;
 				}
 				monitor.worked(6);
-				loadSARLFiles(resourceSet, monitor);
+				notifiesStageStarted(CompilationStage.LOAD_SARL_FILES);
+				try {
+					if (clustered) {
+						clusters = indexSARLFiles(resourceSet, monitor);
+					} else {
+						loadSARLFiles(resourceSet, monitor);
+					}
+				} finally {
+					notifiesStageFinished(CompilationStage.LOAD_SARL_FILES);
+				}
 				if (monitor.isCanceled()) {
 					return false;
 				}
 				monitor.worked(7);
-				final File stubSourceDirectory = createStubs(resourceSet, monitor);
+				final File stubSourceDirectory;
+				notifiesStageStarted(CompilationStage.STUB_GENERATION);
+				try {
+					if (this.inMemoryCompiler != null) {
+						createInMemoryStubs(resourceSet, this.inMemoryCompiler, monitor);
+						stubSourceDirectory = null;
+					} else {
+						stubSourceDirectory = createStubs(resourceSet, monitor);
+					}
+				} finally {
+					notifiesStageFinished(CompilationStage.STUB_GENERATION);
+				}
 				if (monitor.isCanceled()) {
 					return false;
 				}
 				monitor.worked(8);
-				if (!preCompileStubs(stubSourceDirectory, stubClassDirectory, monitor)) {
+				final boolean stubsCompiled;
+				notifiesStageStarted(CompilationStage.STUB_COMPILATION);
+				try {
+					if (this.inMemoryCompiler != null) {
+						stubsCompiled = preCompileInMemoryStubs(this.inMemoryCompiler, monitor);
+					} else {
+						stubsCompiled = preCompileStubs(stubSourceDirectory, stubClassDirectory, monitor);
+					}
+				} finally {
+					notifiesStageFinished(CompilationStage.STUB_COMPILATION);
+				}
+				if (!stubsCompiled) {
 					if (monitor.isCanceled()) {
 						return false;
 					}
 					reportInternalWarning(Messages.SarlBatchCompiler_2);
 				}
 				monitor.worked(9);
-				if (!preCompileJava(stubSourceDirectory, stubClassDirectory, monitor)) {
+				final boolean javaCompiled;
+				notifiesStageStarted(CompilationStage.JAVA_PRE_COMPILATION);
+				try {
+					if (this.inMemoryCompiler != null) {
+						javaCompiled = preCompileInMemoryJava(this.inMemoryCompiler, monitor);
+					} else {
+						javaCompiled = preCompileJava(stubSourceDirectory, stubClassDirectory, monitor);
+					}
+				} finally {
+					notifiesStageFinished(CompilationStage.JAVA_PRE_COMPILATION);
+				}
+				if (!javaCompiled) {
 					if (monitor.isCanceled()) {
 						return false;
 					}
@@ -1343,87 +1813,336 @@ public class SarlBatchCompiler {
 				return false;
 			}
 			monitor.worked(12);
-			generateJvmElements(resourceSet, monitor);
-			if (monitor.isCanceled()) {
-				return false;
-			}
-			monitor.worked(13);
 			final List<Resource> validatedResources = new ArrayList<>();
-			final List<Issue> issues = validate(resourceSet, validatedResources, monitor);
-			if (monitor.isCanceled()) {
-				return false;
-			}
-			if (!issues.isEmpty()) {
-				if (reportCompilationIssues(issues)) {
+			final IncrementalBuildState buildState;
+			if (clusters != null) {
+				buildState = null;
+				final boolean success = compileClusters(resourceSet, clusters, monitor);
+				if (monitor.isCanceled() || !success) {
 					return false;
 				}
-			}
-			monitor.worked(14);
-			overrideXtextInternalLoggers();
-			generateJavaFiles(validatedResources, monitor);
-			if (monitor.isCanceled()) {
-				return false;
+			} else {
+				notifiesStageStarted(CompilationStage.JVM_ELEMENT_GENERATION);
+				try {
+					generateJvmElements(resourceSet, monitor);
+				} finally {
+					notifiesStageFinished(CompilationStage.JVM_ELEMENT_GENERATION);
+				}
+				if (monitor.isCanceled()) {
+					return false;
+				}
+				if (isIncrementalCompilation()) {
+					buildState = createBuildState(resourceSet, configurationHash, sourceHashes);
+					if (previousBuildState != null && previousBuildState.getConfigurationHash().equals(configurationHash)) {
+						prepareIncrementalCompilation(previousBuildState, buildState);
+					}
+					if (monitor.isCanceled()) {
+						return false;
+					}
+				} else {
+					buildState = null;
+				}
+				monitor.worked(13);
+				final boolean success = validateAndGenerate(resourceSet, validatedResources, monitor);
+				if (monitor.isCanceled()) {
+					return false;
+				}
+				if (!success) {
+					if (buildState != null) {
+						saveBuildState(buildState);
+					}
+					return false;
+				}
+				monitor.worked(14);
 			}
 			monitor.worked(15);
+			boolean javaCompiled = true;
 			if (isJavaPostCompilationEnable()) {
-				postCompileJava(monitor);
+				if (buildState != null && this.incrementalJavaFiles != null) {
+					this.incrementalJavaFiles.clear();
+					for (final Resource resource : validatedResources) {
+						final ResourceState state = buildState.getResource(resource.getURI().toString());
+						if (state != null) {
+							for (final String typeName : state.getGeneratedTypes()) {
+								this.incrementalJavaFiles.add(getGeneratedFile(getOutputPath(), typeName, JAVA_FILE_EXTENSION));
+							}
+						}
+					}
+				}
+				notifiesStageStarted(CompilationStage.JAVA_POST_COMPILATION);
+				try {
+					javaCompiled = postCompileJava(monitor);
+				} finally {
+					notifiesStageFinished(CompilationStage.JAVA_POST_COMPILATION);
+				}
 				if (monitor.isCanceled()) {
 					return false;
 				}
 			}
+			if (buildState != null) {
+				if (javaCompiled) {
+					for (final Resource resource : validatedResources) {
+						final ResourceState state = buildState.getResource(resource.getURI().toString());
+						if (state != null) {
+							state.setValid(true);
+						}
+					}
+					saveBuildState(buildState);
+				} else {
+					// Force a full compilation at the next run
+					getBuildStateFile().delete();
+				}
+			}
 			monitor.worked(16);
 		} finally {
 			finalizationStage(monitor);
+			stopProfiling();
 			monitor.done();
 		}
 		return true;
 	}
 
-	private void finalizationStage(IProgressMonitor monitor) {
-		monitor.subTask(Messages.SarlBatchCompiler_47);
-		destroyClassLoader(this.jvmTypesClassLoader);
-		destroyClassLoader(this.annotationProcessingClassLoader);
-		switch (getCleaningPolicy()) {
-		case FULL_CLEANING:
-			if (this.tempPath != null) {
-				cleanFolder(this.tempPath, null);
-			}
-			break;
-		case NO_CLEANING:
-			// Do nothing
-			break;
-		case INTERNAL_CLEANING:
-			monitor.subTask(Messages.SarlBatchCompiler_48);
-			for (final File file : this.tempFolders) {
-				cleanFolder(file, null);
+	/** Start the profiling of the compilation if a profiling report file is specified.
+	 */
+	private void startProfiling() {
+		if (getProfilingReportFile() != null) {
+			this.profiler = new CompilationProfiler(this.languageProfiler);
+			addCompilationStageListener(this.profiler);
+			this.profiler.startLanguageProfiling();
+		}
+	}
+
+	/** Stop the profiling of the compilation, and output the report of the measures.
+	 */
+	private void stopProfiling() {
+		final CompilationProfiler prof = this.profiler;
+		if (prof != null) {
+			this.profiler = null;
+			prof.stopLanguageProfiling();
+			removeCompilationStageListener(prof);
+			getLogger().info(MessageFormat.format(Messages.SarlBatchCompiler_70, prof.toReport(PROFILING_REPORT_SIZE)));
+			final File reportFile = getProfilingReportFile();
+			try {
+				prof.writeJson(reportFile);
+				getLogger().info(MessageFormat.format(Messages.SarlBatchCompiler_71, reportFile));
+			} catch (IOException exception) {
+				reportInternalWarning(MessageFormat.format(Messages.SarlBatchCompiler_72, reportFile), exception);
 			}
-			break;
-		default:
-			// This case should never occur
-			throw new IllegalStateException();
 		}
-		this.tempPath = null;
-		this.tempFolders.clear();
-		//
-		unconfigureExtraLanguageGenerators();
 	}
 
-	/** Change the loggers that are internally used by Xtext.
+	/** Wrap the given task on a resource in order to be measured by the profiler, if the profiling is enabled.
+	 *
+	 * @param <T> the type of the result of the task.
+	 * @param stage the compilation stage in which the task is run.
+	 * @param task the task.
+	 * @return the task to run.
 	 */
-	protected void overrideXtextInternalLoggers() {
-		final Logger logger = getLogger();
-		final org.apache.log4j.spi.LoggerFactory factory = new InternalXtextLoggerFactory(logger);
-		final org.apache.log4j.Logger internalLogger = org.apache.log4j.Logger.getLogger(
-				MessageFormat.format(Messages.SarlBatchCompiler_40, logger.getName()), factory);
-		setStaticField(BatchLinkableResourceStorageWritable.class, "LOG", internalLogger); //$NON-NLS-1$
-		setStaticField(BatchLinkableResource.class, "log", internalLogger); //$NON-NLS-1$
-		setStaticField(ProcessorInstanceForJvmTypeProvider.class, "logger", internalLogger); //$NON-NLS-1$
+	private <T> Function<Resource, T> profiled(CompilationStage stage, Function<Resource, T> task) {
+		final CompilationProfiler prof = this.profiler;
+		if (prof != null) {
+			return prof.wrap(stage, task);
+		}
+		return task;
 	}
 
-	private void setStaticField(Class<?> type, String name, org.apache.log4j.Logger logger) {
-		try {
-			final Field field = type.getDeclaredField(name);
-			field.setAccessible(true);
+	/** Validate the SARL files, and generate the Java files of the valid SARL files if no error was reported
+	 * since the start of the compilation.
+	 *
+	 * @param resourceSet the container of the scripts.
+	 * @param validatedResources will be filled by this function with the collection of resources that was successfully validated.
+	 * @param progress monitor of the progress of the compilation.
+	 * @return {@code true} if no error was reported by the validation.
+	 */
+	private boolean validateAndGenerate(ResourceSet resourceSet, Collection<Resource> validatedResources,
+			IProgressMonitor progress) {
+		final boolean streaming = isStreamingCompilation();
+		final boolean hasError;
+		notifiesStageStarted(CompilationStage.VALIDATION);
+		if (streaming) {
+			overrideXtextInternalLoggers();
+			notifiesStageStarted(CompilationStage.JAVA_GENERATION);
+		}
+		try {
+			hasError = validateAndReport(resourceSet, validatedResources, streaming, progress);
+		} finally {
+			if (streaming) {
+				notifiesStageFinished(CompilationStage.JAVA_GENERATION);
+			}
+			notifiesStageFinished(CompilationStage.VALIDATION);
+		}
+		if (progress.isCanceled()) {
+			return false;
+		}
+		if (!streaming && this.reportedErrorCount == 0) {
+			overrideXtextInternalLoggers();
+			notifiesStageStarted(CompilationStage.JAVA_GENERATION);
+			try {
+				generateJavaFiles(validatedResources, progress);
+			} finally {
+				notifiesStageFinished(CompilationStage.JAVA_GENERATION);
+			}
+		}
+		return !hasError;
+	}
+
+	/** Compile the SARL files cluster by cluster.
+	 *
+	 * <p>The descriptions of all the SARL files must be indexed by {@link #indexSARLFiles(ResourceSet, IProgressMonitor)}.
+	 * For each cluster, the resource set is emptied, the SARL files of the cluster are loaded, validated and
+	 * generated. The resources of the cluster are released before the next cluster is compiled.
+	 * The other SARL files are loaded on demand, from their storage files if they are available.
+	 *
+	 * <p>If an error is reported for a cluster, the files that were generated for the previous clusters are
+	 * removed. In this way, the output is the same as the output of the compilation of all the SARL files together.
+	 *
+	 * @param resourceSet the container of the scripts.
+	 * @param clusters the URIs of the SARL files in each cluster.
+	 * @param progress monitor of the progress of the compilation.
+	 * @return {@code true} if no error was reported by the validation.
+	 * @since 0.12
+	 * @see #getClusterSize()
+	 */
+	protected boolean compileClusters(ResourceSet resourceSet, List<List<org.eclipse.emf.common.util.URI>> clusters,
+			IProgressMonitor progress) {
+		assert progress != null;
+		ResourceDescriptionsData.ResourceSetAdapter.installResourceDescriptionsData(resourceSet, this.clusterIndex);
+		boolean success = true;
+		int clusterNumber = 0;
+		this.clusterGeneratedFiles = ConcurrentHashMap.newKeySet();
+		try {
+			for (final List<org.eclipse.emf.common.util.URI> cluster : clusters) {
+				if (progress.isCanceled()) {
+					return false;
+				}
+				++clusterNumber;
+				getLogger().info(MessageFormat.format(Messages.SarlBatchCompiler_74, Integer.valueOf(clusterNumber),
+						Integer.valueOf(clusters.size()), Integer.valueOf(cluster.size())));
+				clearResourceSet(resourceSet);
+				SourceLevelURIsAdapter.setSourceLevelUris(resourceSet, cluster);
+				this.currentCluster = new HashSet<>(cluster);
+				for (final org.eclipse.emf.common.util.URI uri : cluster) {
+					if (progress.isCanceled()) {
+						return false;
+					}
+					resourceSet.getResource(uri, true);
+				}
+				notifiesStageStarted(CompilationStage.JVM_ELEMENT_GENERATION);
+				try {
+					generateJvmElements(resourceSet, progress);
+				} finally {
+					notifiesStageFinished(CompilationStage.JVM_ELEMENT_GENERATION);
+				}
+				if (progress.isCanceled()) {
+					return false;
+				}
+				// The validated resources are not kept in order to release them with the cluster
+				if (!validateAndGenerate(resourceSet, new ArrayList<>(), progress)) {
+					success = false;
+				}
+				if (isErrorLimitReached()) {
+					break;
+				}
+			}
+		} finally {
+			this.currentCluster = null;
+			clearResourceSet(resourceSet);
+			final Set<File> generatedFiles = this.clusterGeneratedFiles;
+			this.clusterGeneratedFiles = null;
+			if (!success || this.reportedErrorCount > 0) {
+				removeGeneratedFiles(generatedFiles);
+			}
+		}
+		return success;
+	}
+
+	/** Remove the files that were generated by the clustered compilation.
+	 *
+	 * @param generatedFiles the generated files.
+	 */
+	private void removeGeneratedFiles(Set<File> generatedFiles) {
+		if (!generatedFiles.isEmpty()) {
+			getLogger().info(MessageFormat.format(Messages.SarlBatchCompiler_76, Integer.valueOf(generatedFiles.size())));
+			for (final File file : generatedFiles) {
+				if (file.exists() && !file.delete()) {
+					getLogger().warning(MessageFormat.format(Messages.SarlBatchCompiler_77, file.getAbsolutePath()));
+				}
+			}
+		}
+	}
+
+	/** Remove all the resources from the given resource set.
+	 * The adapters of the resource set, e.g. the JVM type provider, are kept.
+	 *
+	 * @param resourceSet the resource set.
+	 */
+	private static void clearResourceSet(ResourceSet resourceSet) {
+		resourceSet.getResources().clear();
+	}
+
+	/** Replies if the given resource must be processed with the current cluster.
+	 *
+	 * @param resource the resource.
+	 * @return {@code true} if the clustered compilation is disabled, or if the resource is inside the current cluster.
+	 */
+	private boolean isInCurrentCluster(Resource resource) {
+		return this.currentCluster == null || this.currentCluster.contains(resource.getURI());
+	}
+
+	private boolean isErrorLimitReached() {
+		final int maxErrors = getMaxErrorCount();
+		return maxErrors > 0 && this.reportedErrorCount >= maxErrors;
+	}
+
+	private void finalizationStage(IProgressMonitor monitor) {
+		monitor.subTask(Messages.SarlBatchCompiler_47);
+		this.clusterIndex = null;
+		destroyClassLoader(this.jvmTypesClassLoader);
+		destroyClassLoader(this.annotationProcessingClassLoader);
+		this.inMemoryCompiler = null;
+		switch (getCleaningPolicy()) {
+		case FULL_CLEANING:
+			if (this.tempPath != null) {
+				cleanFolder(this.tempPath, null);
+			}
+			break;
+		case NO_CLEANING:
+			// Do nothing
+			break;
+		case INTERNAL_CLEANING:
+			monitor.subTask(Messages.SarlBatchCompiler_48);
+			for (final File file : this.tempFolders) {
+				cleanFolder(file, null);
+			}
+			break;
+		default:
+			// This case should never occur
+			throw new IllegalStateException();
+		}
+		this.tempPath = null;
+		this.tempFolders.clear();
+		this.incrementalResources = null;
+		this.incrementalJavaFiles = null;
+		//
+		unconfigureExtraLanguageGenerators();
+	}
+
+	/** Change the loggers that are internally used by Xtext.
+	 */
+	protected void overrideXtextInternalLoggers() {
+		final Logger logger = getLogger();
+		final org.apache.log4j.spi.LoggerFactory factory = new InternalXtextLoggerFactory(logger);
+		final org.apache.log4j.Logger internalLogger = org.apache.log4j.Logger.getLogger(
+				MessageFormat.format(Messages.SarlBatchCompiler_40, logger.getName()), factory);
+		setStaticField(BatchLinkableResourceStorageWritable.class, "LOG", internalLogger); //$NON-NLS-1$
+		setStaticField(BatchLinkableResource.class, "log", internalLogger); //$NON-NLS-1$
+		setStaticField(ProcessorInstanceForJvmTypeProvider.class, "logger", internalLogger); //$NON-NLS-1$
+	}
+
+	private void setStaticField(Class<?> type, String name, org.apache.log4j.Logger logger) {
+		try {
+			final Field field = type.getDeclaredField(name);
+			field.setAccessible(true);
 			if ((field.getModifiers() & Modifier.FINAL) == Modifier.FINAL) {
 				final Field modifiersField = Field.class.getDeclaredField("modifiers"); //$NON-NLS-1$
 				modifiersField.setAccessible(true);
@@ -1574,34 +2293,78 @@ public class SarlBatchCompiler {
 		assert progress != null;
 		progress.subTask(Messages.SarlBatchCompiler_49);
 		getLogger().info(MessageFormat.format(Messages.SarlBatchCompiler_28, getOutputPath()));
+		final List<Resource> resources = new ArrayList<>();
+		Iterables.addAll(resources, validatedResources);
+		if (progress.isCanceled() || resources.isEmpty()) {
+			return;
+		}
+		final int threads = getParallelism(resources.get(0).getResourceSet());
+		final ThreadLocal<JavaIoFileSystemAccess> fileSystemAccess = ThreadLocal.withInitial(this::createJavaIoFileSystemAccess);
+		final GeneratorContext context = new GeneratorContext();
+		context.setCancelIndicator(() -> progress.isCanceled());
+		final List<Resource> generatedResources = runTasks(resources, threads, progress,
+				profiled(CompilationStage.JAVA_GENERATION,
+					resource -> generateJavaFile(resource, fileSystemAccess.get(), context, progress)));
+		// The receivers are notified from the current thread, and in the order of the resources.
+		for (final Resource resource : generatedResources) {
+			if (resource != null) {
+				notifiesCompiledResourceReceiver(resource);
+			}
+		}
+	}
+
+	/** Generate the Java files for the given resource.
+	 *
+	 * @param resource the resource.
+	 * @param javaIoFileSystemAccess the accessor to the file system.
+	 * @param context the context of the generator.
+	 * @param progress monitor of the progress of the compilation.
+	 * @return the resource, or {@code null} if the generation was canceled.
+	 */
+	private Resource generateJavaFile(Resource resource, JavaIoFileSystemAccess javaIoFileSystemAccess,
+			GeneratorContext context, IProgressMonitor progress) {
+		if (getLogger().isLoggable(Level.FINEST)) {
+			getLogger().finest(MessageFormat.format(Messages.SarlBatchCompiler_23, resource.getURI().lastSegment()));
+		}
+		if (isWriteStorageFiles() && resource instanceof StorageAwareResource) {
+			final StorageAwareResource storageAwareResource = (StorageAwareResource) resource;
+			storageAwareResource.getResourceStorageFacade().saveResource(storageAwareResource, javaIoFileSystemAccess);
+		}
+		if (progress.isCanceled()) {
+			return null;
+		}
+		this.generator.generate(resource, javaIoFileSystemAccess, context);
+		return resource;
+	}
+
+	private JavaIoFileSystemAccess createJavaIoFileSystemAccess() {
 		final JavaIoFileSystemAccess javaIoFileSystemAccess = this.javaIoFileSystemAccessProvider.get();
 		javaIoFileSystemAccess.setOutputConfigurations(this.outputConfigurations);
 		// The function configureWorkspace should set the output paths with absolute paths.
 		//javaIoFileSystemAccess.setOutputPath(getOutputPath().getAbsolutePath());
 		javaIoFileSystemAccess.setWriteTrace(isWriteTraceFiles());
-		if (progress.isCanceled()) {
-			return;
-		}
+		final Set<File> generatedFiles = this.clusterGeneratedFiles;
+		if (generatedFiles != null) {
+			// Record the created files in order to remove them if a following cluster has errors.
+			// The updated files were generated by a previous compilation; they are not removed.
+			javaIoFileSystemAccess.setCallBack(new JavaIoFileSystemAccess.IFileCallback() {
+				@Override
+				public boolean beforeFileDeletion(File file) {
+					return true;
+				}
 
-		final GeneratorContext context = new GeneratorContext();
-		context.setCancelIndicator(() -> progress.isCanceled());
-		for (final Resource resource : validatedResources) {
-			if (progress.isCanceled()) {
-				return;
-			}
-			if (getLogger().isLoggable(Level.FINEST)) {
-				getLogger().finest(MessageFormat.format(Messages.SarlBatchCompiler_23, resource.getURI().lastSegment()));
-			}
-			if (isWriteStorageFiles() && resource instanceof StorageAwareResource) {
-				final StorageAwareResource storageAwareResource = (StorageAwareResource) resource;
-				storageAwareResource.getResourceStorageFacade().saveResource(storageAwareResource, javaIoFileSystemAccess);
-			}
-			if (progress.isCanceled()) {
-				return;
-			}
-			this.generator.generate(resource, javaIoFileSystemAccess, context);
-			notifiesCompiledResourceReceiver(resource);
+				@Override
+				public void afterFileUpdate(File file) {
+					//
+				}
+
+				@Override
+				public void afterFileCreation(File file) {
+					generatedFiles.add(file);
+				}
+			});
 		}
+		return javaIoFileSystemAccess;
 	}
 
 	/** Generate the JVM model elements.
@@ -1620,20 +2383,29 @@ public class SarlBatchCompiler {
 			if (progress.isCanceled()) {
 				return;
 			}
-			if (isSourceFile(resource)) {
+			if (isSourceFile(resource) && isInCurrentCluster(resource)) {
 				toBeResolved.add(resource);
 			}
 		}
-		for (final Resource resource : toBeResolved) {
-			if (progress.isCanceled()) {
-				return;
+		final int threads = getParallelism(resourceSet);
+		if (threads > 1) {
+			// The derived state, i.e. the inferred JVM elements, is installed sequentially because it is
+			// modifying the contents of the resources that are shared by the linking tasks.
+			for (final Resource resource : toBeResolved) {
+				if (progress.isCanceled()) {
+					return;
+				}
+				resource.getContents();
 			}
+		}
+		runTasks(toBeResolved, threads, progress, profiled(CompilationStage.JVM_ELEMENT_GENERATION, resource -> {
 			if (getLogger().isLoggable(Level.FINEST)) {
 				getLogger().finest(MessageFormat.format(Messages.SarlBatchCompiler_26, resource.getURI().lastSegment()));
 			}
 			EcoreUtil.resolveAll(resource);
 			EcoreUtil2.resolveLazyCrossReferences(resource, CancelIndicator.NullImpl);
-		}
+			return resource;
+		}));
 	}
 
 	/** Generate the JVM model elements, and validate generated elements.
@@ -1648,55 +2420,269 @@ public class SarlBatchCompiler {
 		assert progress != null;
 		progress.subTask(Messages.SarlBatchCompiler_38);
 		getLogger().info(Messages.SarlBatchCompiler_38);
-		final List<Resource> resources = new LinkedList<>(resourceSet.getResources());
+		final List<Resource> resources = getResourcesToValidate(resourceSet);
 		final List<Issue> issuesToReturn = new ArrayList<>();
-		for (final Resource resource : resources) {
+		if (progress.isCanceled()) {
+			return issuesToReturn;
+		}
+		final List<SortedSet<Issue>> results = runTasks(resources, getParallelism(resourceSet), progress,
+				profiled(CompilationStage.VALIDATION, this::validateResource));
+		// The issues are merged in the order of the resources in order to have a deterministic output.
+		final Iterator<Resource> resourceIterator = resources.iterator();
+		for (final SortedSet<Issue> issues : results) {
+			final Resource resource = resourceIterator.next();
 			if (progress.isCanceled()) {
 				return issuesToReturn;
 			}
-			if (isSourceFile(resource)) {
-				if (getLogger().isLoggable(Level.FINEST)) {
-					getLogger().finest(MessageFormat.format(Messages.SarlBatchCompiler_22, resource.getURI().lastSegment()));
-				}
-				final IResourceServiceProvider resourceServiceProvider = IResourceServiceProvider.Registry.INSTANCE
-						.getResourceServiceProvider(resource.getURI());
-				if (resourceServiceProvider != null) {
-					final IResourceValidator resourceValidator = resourceServiceProvider.getResourceValidator();
-					final List<Issue> result = resourceValidator.validate(resource, CheckMode.ALL, null);
-					if (progress.isCanceled()) {
-						return issuesToReturn;
-					}
-					final SortedSet<Issue> issues = new TreeSet<>(getIssueComparator());
-					boolean hasValidationError = false;
-					for (final Issue issue : result) {
-						if (progress.isCanceled()) {
-							return issuesToReturn;
-						}
-						if (issue.isSyntaxError() || issue.getSeverity() == Severity.ERROR) {
-							hasValidationError = true;
-						}
-						issues.add(issue);
-					}
-					if (!hasValidationError) {
-						if (!issues.isEmpty()) {
-							if (getLogger().isLoggable(Level.FINEST)) {
-								getLogger().finest(MessageFormat.format(Messages.SarlBatchCompiler_39, resource.getURI().lastSegment()));
-							}
-							issuesToReturn.addAll(issues);
-						}
-						validResources.add(resource);
-					} else {
+			if (issues != null) {
+				if (!hasError(issues)) {
+					if (!issues.isEmpty()) {
 						if (getLogger().isLoggable(Level.FINEST)) {
 							getLogger().finest(MessageFormat.format(Messages.SarlBatchCompiler_39, resource.getURI().lastSegment()));
 						}
 						issuesToReturn.addAll(issues);
 					}
+					validResources.add(resource);
+				} else {
+					if (getLogger().isLoggable(Level.FINEST)) {
+						getLogger().finest(MessageFormat.format(Messages.SarlBatchCompiler_39, resource.getURI().lastSegment()));
+					}
+					issuesToReturn.addAll(issues);
 				}
 			}
 		}
 		return issuesToReturn;
 	}
 
+	/** Validate the SARL files, and report the issues of each SARL file as soon as it is validated.
+	 *
+	 * <p>The issues are reported in the order of the SARL files, whatever the number of threads that are used
+	 * for validating the files. The validation is stopped when the maximal number of errors is reported.
+	 * When the Java generation is enabled, the Java files of each valid SARL file are generated just after
+	 * its validation, in parallel with the validation of the next SARL files, as long as no error was reported
+	 * since the start of the compilation.
+	 *
+	 * @param resourceSet the container of the scripts.
+	 * @param validResources will be filled by this function with the collection of resources that was successfully validated.
+	 * @param generateJavaFiles indicates if the Java files of the valid resources are generated.
+	 * @param progress monitor of the progress of the compilation.
+	 * @return {@code true} if at least one error was reported by this function.
+	 * @since 0.12
+	 * @see #getMaxErrorCount()
+	 * @see #isStreamingCompilation()
+	 */
+	protected boolean validateAndReport(ResourceSet resourceSet, Collection<Resource> validResources,
+			boolean generateJavaFiles, IProgressMonitor progress) {
+		assert progress != null;
+		progress.subTask(Messages.SarlBatchCompiler_38);
+		getLogger().info(Messages.SarlBatchCompiler_38);
+		final List<Resource> resources = getResourcesToValidate(resourceSet);
+		if (progress.isCanceled()) {
+			return false;
+		}
+		final Function<Resource, Resource> generation;
+		if (generateJavaFiles) {
+			getLogger().info(MessageFormat.format(Messages.SarlBatchCompiler_28, getOutputPath()));
+			final JavaIoFileSystemAccess fileSystemAccess = createJavaIoFileSystemAccess();
+			final GeneratorContext context = new GeneratorContext();
+			context.setCancelIndicator(() -> progress.isCanceled());
+			generation = profiled(CompilationStage.JAVA_GENERATION,
+				resource -> generateJavaFile(resource, fileSystemAccess, context, progress));
+		} else {
+			generation = null;
+		}
+		// The consumer of the validation results is always invoked from the current thread.
+		final int initialErrorCount = this.reportedErrorCount;
+		runTasks(resources, getParallelism(resourceSet), progress, profiled(CompilationStage.VALIDATION, this::validateResource),
+			(resource, issues) -> {
+				if (progress.isCanceled()) {
+					return false;
+				}
+				if (issues == null) {
+					return true;
+				}
+				final boolean noPreviousError = this.reportedErrorCount == 0;
+				final boolean hasValidationError = hasError(issues);
+				boolean stop = false;
+				if (!issues.isEmpty()) {
+					if (getLogger().isLoggable(Level.FINEST)) {
+						getLogger().finest(MessageFormat.format(Messages.SarlBatchCompiler_39, resource.getURI().lastSegment()));
+					}
+					final List<Issue> reportedIssues = new ArrayList<>(issues.size());
+					for (final Issue issue : issues) {
+						reportedIssues.add(issue);
+						if (isError(issue)) {
+							++this.reportedErrorCount;
+							if (isErrorLimitReached()) {
+								stop = true;
+								break;
+							}
+						}
+					}
+					reportCompilationIssues(reportedIssues);
+				}
+				if (!hasValidationError) {
+					validResources.add(resource);
+					if (generation != null && noPreviousError && generation.apply(resource) != null) {
+						notifiesCompiledResourceReceiver(resource);
+					}
+				}
+				if (stop) {
+					getLogger().info(MessageFormat.format(Messages.SarlBatchCompiler_73, Integer.valueOf(this.reportedErrorCount)));
+					return false;
+				}
+				return true;
+			});
+		return this.reportedErrorCount > initialErrorCount;
+	}
+
+	/** Replies the SARL files that must be validated.
+	 *
+	 * @param resourceSet the container of the scripts.
+	 * @return the resources to validate.
+	 */
+	private List<Resource> getResourcesToValidate(ResourceSet resourceSet) {
+		final List<Resource> resources = new ArrayList<>();
+		for (final Resource resource : new ArrayList<>(resourceSet.getResources())) {
+			if (isSourceFile(resource) && isIncrementallyProcessed(resource)) {
+				resources.add(resource);
+			}
+		}
+		return resources;
+	}
+
+	/** Validate the given resource.
+	 *
+	 * @param resource the resource to validate.
+	 * @return the issues, sorted with the issue comparator, or {@code null} if the resource cannot be validated.
+	 */
+	private SortedSet<Issue> validateResource(Resource resource) {
+		if (getLogger().isLoggable(Level.FINEST)) {
+			getLogger().finest(MessageFormat.format(Messages.SarlBatchCompiler_22, resource.getURI().lastSegment()));
+		}
+		final IResourceServiceProvider resourceServiceProvider = IResourceServiceProvider.Registry.INSTANCE
+				.getResourceServiceProvider(resource.getURI());
+		if (resourceServiceProvider != null) {
+			final IResourceValidator resourceValidator = resourceServiceProvider.getResourceValidator();
+			final List<Issue> result = resourceValidator.validate(resource, CheckMode.ALL, null);
+			final SortedSet<Issue> issues = new TreeSet<>(getIssueComparator());
+			issues.addAll(result);
+			return issues;
+		}
+		return null;
+	}
+
+	private static boolean isError(Issue issue) {
+		return issue.isSyntaxError() || issue.getSeverity() == Severity.ERROR;
+	}
+
+	private static boolean hasError(Iterable<Issue> issues) {
+		for (final Issue issue : issues) {
+			if (isError(issue)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** Replies the number of threads that could be used for processing the resources of the given resource set.
+	 *
+	 * @param resourceSet the resource set.
+	 * @return the number of threads; {@code 1} if the resources must be processed sequentially.
+	 * @since 0.12
+	 * @see #getParallelism()
+	 */
+	protected int getParallelism(ResourceSet resourceSet) {
+		final int threads = getParallelism();
+		if (threads > 1 && resourceSet instanceof SynchronizedXtextResourceSet) {
+			return threads;
+		}
+		return 1;
+	}
+
+	/** Run the given task on each resource, and reply the results in the order of the resources.
+	 * If the number of threads is greater than {@code 1}, the resources are dispatched to a pool of worker threads.
+	 * When the compilation is canceled, the remaining resources are not processed and their results are {@code null}.
+	 *
+	 * @param <T> the type of the results.
+	 * @param resources the resources to process.
+	 * @param threads the number of threads.
+	 * @param progress monitor of the progress of the compilation.
+	 * @param task the task to run on each resource.
+	 * @return the results of the task, in the order of the resources.
+	 */
+	private static <T> List<T> runTasks(List<Resource> resources, int threads, IProgressMonitor progress,
+			Function<Resource, T> task) {
+		final List<T> results = new ArrayList<>(resources.size());
+		runTasks(resources, threads, progress, task, (resource, result) -> {
+			results.add(result);
+			return true;
+		});
+		return results;
+	}
+
+	/** Run the given task on each resource, and pass the results to the given consumer in the order of the resources.
+	 * If the number of threads is greater than {@code 1}, the resources are dispatched to a pool of worker threads,
+	 * and the result of each resource is passed to the consumer as soon as it and the results of the previous
+	 * resources are available. The consumer is always invoked from the current thread.
+	 * When the compilation is canceled, the remaining resources are not processed and their results are {@code null}.
+	 *
+	 * @param <T> the type of the results.
+	 * @param resources the resources to process.
+	 * @param threads the number of threads.
+	 * @param progress monitor of the progress of the compilation.
+	 * @param task the task to run on each resource.
+	 * @param consumer the consumer of the results. It replies {@code false} for stopping the processing of the
+	 *     remaining resources.
+	 */
+	private static <T> void runTasks(List<Resource> resources, int threads, IProgressMonitor progress,
+			Function<Resource, T> task, BiPredicate<Resource, T> consumer) {
+		if (threads <= 1 || resources.size() <= 1) {
+			for (final Resource resource : resources) {
+				if (!consumer.test(resource, progress.isCanceled() ? null : task.apply(resource))) {
+					return;
+				}
+			}
+			return;
+		}
+		final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		final AtomicInteger threadCount = new AtomicInteger();
+		final AtomicBoolean stopped = new AtomicBoolean();
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, resources.size()), runnable -> {
+			final Thread thread = new Thread(runnable, WORKER_THREAD_PREFIX + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			thread.setContextClassLoader(contextClassLoader);
+			return thread;
+		});
+		try {
+			final List<Future<T>> futures = new ArrayList<>(resources.size());
+			for (final Resource resource : resources) {
+				futures.add(executor.submit(() -> progress.isCanceled() || stopped.get() ? null : task.apply(resource)));
+			}
+			final Iterator<Resource> resourceIterator = resources.iterator();
+			for (final Future<T> future : futures) {
+				if (!consumer.test(resourceIterator.next(), future.get())) {
+					stopped.set(true);
+					return;
+				}
+			}
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(exception);
+		} catch (ExecutionException exception) {
+			final Throwable cause = exception.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new RuntimeException(cause);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	/** Replies if the given resource is a script.
 	 *
 	 * @param resource the resource to test.
@@ -1710,6 +2696,259 @@ public class SarlBatchCompiler {
 		return false;
 	}
 
+	/** Replies if the given resource must be validated and generated.
+	 * When the compilation is neither incremental nor clustered, all the resources are processed.
+	 *
+	 * @param resource the resource to test.
+	 * @return <code>true</code> if the given resource must be processed.
+	 * @since 0.12
+	 */
+	protected boolean isIncrementallyProcessed(Resource resource) {
+		return isInCurrentCluster(resource)
+			&& (this.incrementalResources == null || this.incrementalResources.contains(resource.getURI().toString()));
+	}
+
+	/** Compute the hashes of the contents of the SARL files.
+	 *
+	 * @param progress monitor of the progress of the compilation.
+	 * @return the hashes, indexed by the URIs of the files.
+	 * @since 0.12
+	 */
+	protected Map<String, String> computeSourceHashes(IProgressMonitor progress) {
+		final Map<String, String> hashes = new TreeMap<>();
+		final Multimap<String, org.eclipse.emf.common.util.URI> pathes = findSARLFiles();
+		for (final org.eclipse.emf.common.util.URI uri : pathes.values()) {
+			if (progress.isCanceled()) {
+				break;
+			}
+			final String hash = computeContentHash(uri);
+			if (hash != null) {
+				hashes.put(uri.toString(), hash);
+			}
+		}
+		return hashes;
+	}
+
+	private String computeContentHash(org.eclipse.emf.common.util.URI uri) {
+		try {
+			return IncrementalBuildState.computeContentHash(new File(uri.toFileString()));
+		} catch (IOException exception) {
+			reportInternalWarning(MessageFormat.format(Messages.SarlBatchCompiler_67, uri), exception);
+			return null;
+		}
+	}
+
+	/** Compute the hash of the configuration of the compiler, and of its environment.
+	 * A change in this hash forces the full compilation of the SARL files.
+	 *
+	 * <p>The hash covers the generation options, the output folders, the entries of the class paths,
+	 * and the Java files in the source folders.
+	 *
+	 * @return the hash of the configuration.
+	 * @since 0.12
+	 */
+	protected String computeConfigurationHash() {
+		final MessageDigest digest = IncrementalBuildState.newDigest();
+		final StringBuilder config = new StringBuilder();
+		config.append(SARLVersion.SARL_RELEASE_VERSION).append('\n');
+		config.append(Utils.dump(getGeneratorConfig(), false)).append('\n');
+		config.append(Utils.dump(getGeneratorConfig2(), false)).append('\n');
+		config.append(getOutputPath()).append('\n');
+		config.append(getClassOutputPath()).append('\n');
+		config.append(getJavaSourceVersion()).append('\n');
+		config.append(getFileEncoding()).append('\n');
+		config.append(getExtraLanguageGenerators()).append('\n');
+		config.append(getOptimizationLevel()).append('\n');
+		config.append(isJavaPostCompilationEnable()).append(isWriteTraceFiles()).append(isWriteStorageFiles()).append('\n');
+		config.append(this.severityConfiguration).append('\n');
+		digest.update(config.toString().getBytes(StandardCharsets.UTF_8));
+		final File classOutputPath = getClassOutputPath();
+		for (final File entry : Iterables.concat(getBootClassPath(), getClassPath())) {
+			if (classOutputPath == null || !classOutputPath.equals(entry)) {
+				updateFileStamps(digest, entry, CLASS_FILE_EXTENSION);
+			}
+		}
+		for (final File entry : getSourcePaths()) {
+			updateFileStamps(digest, entry, JAVA_FILE_EXTENSION);
+		}
+		return IncrementalBuildState.toHexString(digest);
+	}
+
+	private static void updateFileStamps(MessageDigest digest, File root, String extension) {
+		final Deque<File> files = new LinkedList<>();
+		files.add(root);
+		while (!files.isEmpty()) {
+			final File file = files.removeFirst();
+			if (file.isDirectory()) {
+				final File[] children = file.listFiles();
+				if (children != null) {
+					Arrays.sort(children);
+					files.addAll(Arrays.asList(children));
+				}
+			} else if (file == root || file.getName().endsWith(extension)) {
+				digest.update(file.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+				digest.update(Long.toString(file.lastModified()).getBytes(StandardCharsets.UTF_8));
+				digest.update(Long.toString(file.length()).getBytes(StandardCharsets.UTF_8));
+			}
+		}
+	}
+
+	/** Create the build state for the SARL files that are loaded into the given resource set.
+	 * The JVM elements must be already generated.
+	 *
+	 * @param resourceSet the container of the scripts.
+	 * @param configurationHash the hash of the configuration of the compiler.
+	 * @param sourceHashes the hashes of the contents of the SARL files.
+	 * @return the build state. All the resources are marked as not compiled.
+	 * @since 0.12
+	 */
+	protected IncrementalBuildState createBuildState(ResourceSet resourceSet, String configurationHash,
+			Map<String, String> sourceHashes) {
+		final IncrementalBuildState state = new IncrementalBuildState(configurationHash);
+		for (final Resource resource : new ArrayList<>(resourceSet.getResources())) {
+			if (isSourceFile(resource)) {
+				final String uri = resource.getURI().toString();
+				String contentHash = sourceHashes.get(uri);
+				if (contentHash == null) {
+					contentHash = computeContentHash(resource.getURI());
+				}
+				if (contentHash != null) {
+					final ResourceState resourceState = new ResourceState(contentHash,
+							IncrementalBuildState.computeSignatureHash(resource), false);
+					final IResourceDescription description = this.resourceDescriptionManager.getResourceDescription(resource);
+					for (final IEObjectDescription exportedObject : description.getExportedObjects()) {
+						resourceState.getExportedNames().add(exportedObject.getName().toLowerCase().toString());
+					}
+					for (final QualifiedName importedName : description.getImportedNames()) {
+						resourceState.getImportedNames().add(importedName.toLowerCase().toString());
+					}
+					for (final EObject content : resource.getContents()) {
+						if (content instanceof JvmDeclaredType) {
+							resourceState.getGeneratedTypes().add(((JvmDeclaredType) content).getIdentifier());
+						}
+					}
+					state.addResource(uri, resourceState);
+				}
+			}
+		}
+		return state;
+	}
+
+	/** Determine the resources to be validated and generated, and remove the generated files that
+	 * are no more needed.
+	 *
+	 * <p>A resource is processed if its content has changed, if it was not successfully compiled
+	 * at the previous run, if its generated files are missing, or if it is importing a name that is
+	 * exported by a resource with a changed signature, a new resource or a removed resource.
+	 *
+	 * @param previousState the build state of the previous run.
+	 * @param currentState the build state of the current run.
+	 * @since 0.12
+	 */
+	protected void prepareIncrementalCompilation(IncrementalBuildState previousState, IncrementalBuildState currentState) {
+		final Set<String> affected = new TreeSet<>();
+		final Set<String> changedNames = new TreeSet<>();
+		for (final Map.Entry<String, ResourceState> entry : currentState.getResources().entrySet()) {
+			final ResourceState current = entry.getValue();
+			final ResourceState previous = previousState.getResource(entry.getKey());
+			if (previous == null) {
+				affected.add(entry.getKey());
+				changedNames.addAll(current.getExportedNames());
+			} else {
+				if (!previous.isValid() || !previous.getContentHash().equals(current.getContentHash())
+						|| !isGeneratedFilesAvailable(Collections.singleton(previous))) {
+					affected.add(entry.getKey());
+				}
+				if (!previous.getSignatureHash().equals(current.getSignatureHash())) {
+					changedNames.addAll(previous.getExportedNames());
+					changedNames.addAll(current.getExportedNames());
+				}
+				if (affected.contains(entry.getKey())) {
+					removeGeneratedFiles(Sets.difference(previous.getGeneratedTypes(), current.getGeneratedTypes()));
+				}
+			}
+		}
+		for (final Map.Entry<String, ResourceState> entry : previousState.getResources().entrySet()) {
+			if (currentState.getResource(entry.getKey()) == null) {
+				changedNames.addAll(entry.getValue().getExportedNames());
+				removeGeneratedFiles(entry.getValue().getGeneratedTypes());
+			}
+		}
+		if (!changedNames.isEmpty()) {
+			for (final Map.Entry<String, ResourceState> entry : currentState.getResources().entrySet()) {
+				if (entry.getValue().isImportingOneOf(changedNames)) {
+					affected.add(entry.getKey());
+				}
+			}
+		}
+		for (final Map.Entry<String, ResourceState> entry : currentState.getResources().entrySet()) {
+			if (!affected.contains(entry.getKey())) {
+				entry.getValue().setValid(true);
+			}
+		}
+		getLogger().info(MessageFormat.format(Messages.SarlBatchCompiler_65,
+				Integer.toString(affected.size()), Integer.toString(currentState.getResources().size())));
+		this.incrementalResources = affected;
+		this.incrementalJavaFiles = new ArrayList<>();
+	}
+
+	private boolean isGeneratedFilesAvailable(Iterable<ResourceState> states) {
+		final File outputPath = getOutputPath();
+		for (final ResourceState state : states) {
+			for (final String typeName : state.getGeneratedTypes()) {
+				if (!getGeneratedFile(outputPath, typeName, JAVA_FILE_EXTENSION).isFile()) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private static File getGeneratedFile(File root, String typeName, String extension) {
+		return new File(root, typeName.replace('.', File.separatorChar) + extension);
+	}
+
+	/** Remove the Java files, the trace files and the class files that were generated for the given types.
+	 *
+	 * @param typeNames the qualified names of the top-level types.
+	 * @since 0.12
+	 */
+	protected void removeGeneratedFiles(Iterable<String> typeNames) {
+		final File classOutputPath = getClassOutputPath();
+		for (final String typeName : typeNames) {
+			final File javaFile = getGeneratedFile(getOutputPath(), typeName, JAVA_FILE_EXTENSION);
+			javaFile.delete();
+			new File(javaFile.getParentFile(), "." + javaFile.getName() + TRACE_FILE_EXTENSION).delete(); //$NON-NLS-1$
+			if (classOutputPath != null) {
+				final File classFile = getGeneratedFile(classOutputPath, typeName, CLASS_FILE_EXTENSION);
+				final String innerPrefix = typeName.substring(typeName.lastIndexOf('.') + 1) + "$"; //$NON-NLS-1$
+				final File[] innerClassFiles = classFile.getParentFile().listFiles(
+					it -> it.getName().startsWith(innerPrefix) && it.getName().endsWith(CLASS_FILE_EXTENSION));
+				classFile.delete();
+				if (innerClassFiles != null) {
+					for (final File innerClassFile : innerClassFiles) {
+						innerClassFile.delete();
+					}
+				}
+			}
+		}
+	}
+
+	/** Save the given build state into the {@link #getBuildStateFile() build state file}.
+	 *
+	 * @param state the state to save.
+	 * @since 0.12
+	 */
+	protected void saveBuildState(IncrementalBuildState state) {
+		final File file = getBuildStateFile();
+		try {
+			state.write(file);
+		} catch (IOException exception) {
+			reportInternalWarning(MessageFormat.format(Messages.SarlBatchCompiler_66, file), exception);
+			file.delete();
+		}
+	}
+
 	/** Compile the stub files before the compilation of the project's files.
 	 *
 	 * @param sourceDirectory the source directory where stubs are stored.
@@ -1739,6 +2978,39 @@ public class SarlBatchCompiler {
 				false, true, progress);
 	}
 
+	/** Compile in memory the stubs before the compilation of the project's files.
+	 *
+	 * @param compiler the in-memory compiler that contains the stubs, and that will contain the stub binaries.
+	 * @param progress monitor of the progress of the compilation.
+	 * @return the success status. Replies <code>false</code> if the activity is canceled.
+	 * @since 0.12
+	 */
+	protected boolean preCompileInMemoryStubs(InMemoryJavaCompiler compiler, IProgressMonitor progress) {
+		assert progress != null;
+		progress.subTask(Messages.SarlBatchCompiler_50);
+		return compiler.compileSources(getClassPath(), getBootClassPath(), getJavaSourceVersion(),
+				isJavaCompilerVerbose(), getStubCompilerOutputWriter(), getLogger(), progress);
+	}
+
+	/** Compile in memory the java files before the compilation of the project's files.
+	 * The stub binaries that are stored into the in-memory compiler are on the class path.
+	 *
+	 * @param compiler the in-memory compiler that contains the stub binaries.
+	 * @param progress monitor of the progress of the compilation.
+	 * @return the success status. Replies <code>false</code> if the activity is canceled.
+	 * @since 0.12
+	 */
+	protected boolean preCompileInMemoryJava(InMemoryJavaCompiler compiler, IProgressMonitor progress) {
+		assert progress != null;
+		progress.subTask(Messages.SarlBatchCompiler_51);
+		String encoding = this.encodingProvider.getDefaultEncoding();
+		if (Strings.isEmpty(encoding)) {
+			encoding = null;
+		}
+		return compiler.compileFiles(getSourcePaths(), getClassPath(), getBootClassPath(), getJavaSourceVersion(),
+				encoding, isJavaCompilerVerbose(), getStubCompilerOutputWriter(), getLogger(), progress);
+	}
+
 	/** Compile the java files after the compilation of the project's files.
 	 *
 	 * @param progress monitor of the progress of the compilation.
@@ -1753,11 +3025,24 @@ public class SarlBatchCompiler {
 			return true;
 		}
 		getLogger().info(Messages.SarlBatchCompiler_25);
-		final Iterable<File> sources = Iterables.concat(getSourcePaths(), Collections.singleton(getOutputPath()));
+		final Iterable<File> sources;
+		final List<File> classpath;
+		if (this.incrementalJavaFiles != null) {
+			if (this.incrementalJavaFiles.isEmpty()) {
+				return true;
+			}
+			// Only the regenerated files are compiled; the other types are found in the class output folder
+			sources = Iterables.concat(getSourcePaths(), this.incrementalJavaFiles);
+			classpath = new ArrayList<>();
+			classpath.add(classOutputPath);
+			classpath.addAll(getClassPath());
+		} else {
+			sources = Iterables.concat(getSourcePaths(), Collections.singleton(getOutputPath()));
+			classpath = getClassPath();
+		}
 		if (getLogger().isLoggable(Level.FINEST)) {
 			getLogger().finest(MessageFormat.format(Messages.SarlBatchCompiler_29, toPathString(sources)));
 		}
-		final List<File> classpath = getClassPath();
 		if (getLogger().isLoggable(Level.FINEST)) {
 			getLogger().finest(MessageFormat.format(Messages.SarlBatchCompiler_30, toPathString(classpath)));
 		}
@@ -1887,20 +3172,108 @@ public class SarlBatchCompiler {
 			return null;
 		}
 		fileSystemAccess.setOutputPath(outputDirectory.toString());
-		final List<Resource> resources = new ArrayList<>(resourceSet.getResources());
-		for (final Resource resource : resources) {
+		for (final IResourceDescription description : getStubDescriptions(resourceSet)) {
 			if (progress.isCanceled()) {
 				return null;
 			}
 			if (getLogger().isLoggable(Level.FINEST)) {
-				getLogger().finest(MessageFormat.format(Messages.SarlBatchCompiler_20, resource.getURI()));
+				getLogger().finest(MessageFormat.format(Messages.SarlBatchCompiler_20, description.getURI()));
 			}
-			final IResourceDescription description = this.resourceDescriptionManager.getResourceDescription(resource);
 			this.stubGenerator.doGenerateStubs(fileSystemAccess, description);
 		}
 		return outputDirectory;
 	}
 
+	/** Create the stubs in memory.
+	 *
+	 * @param resourceSet the input resource set.
+	 * @param compiler the in-memory compiler that will receive the stubs.
+	 * @param progress monitor of the progress of the compilation.
+	 * @since 0.12
+	 */
+	protected void createInMemoryStubs(ResourceSet resourceSet, InMemoryJavaCompiler compiler, IProgressMonitor progress) {
+		assert progress != null;
+		progress.subTask(Messages.SarlBatchCompiler_53);
+		final InMemoryFileSystemAccess fileSystemAccess = new InMemoryFileSystemAccess();
+		for (final IResourceDescription description : getStubDescriptions(resourceSet)) {
+			if (progress.isCanceled()) {
+				return;
+			}
+			if (getLogger().isLoggable(Level.FINEST)) {
+				getLogger().finest(MessageFormat.format(Messages.SarlBatchCompiler_20, description.getURI()));
+			}
+			this.stubGenerator.doGenerateStubs(fileSystemAccess, description);
+		}
+		for (final Map.Entry<String, CharSequence> stub : fileSystemAccess.getTextFiles().entrySet()) {
+			String path = stub.getKey();
+			if (path.startsWith(IFileSystemAccess.DEFAULT_OUTPUT)) {
+				path = path.substring(IFileSystemAccess.DEFAULT_OUTPUT.length());
+			}
+			compiler.addSource(path, stub.getValue());
+		}
+	}
+
+	/** Replies the descriptions of the resources for which the stubs must be generated.
+	 *
+	 * @param resourceSet the input resource set.
+	 * @return the descriptions.
+	 */
+	private Iterable<IResourceDescription> getStubDescriptions(ResourceSet resourceSet) {
+		if (this.clusterIndex != null) {
+			return this.clusterIndex.getAllResourceDescriptions();
+		}
+		return Iterables.transform(new ArrayList<>(resourceSet.getResources()),
+			this.resourceDescriptionManager::getResourceDescription);
+	}
+
+	/** Index the SARL files, and split them into clusters for the clustered compilation.
+	 *
+	 * <p>The SARL files are loaded by groups of the size of the clusters. The descriptions of the files are
+	 * copied into an index, and the resource set is emptied before loading the next group.
+	 *
+	 * @param resourceSet the resource set to load from.
+	 * @param progress monitor of the progress of the compilation.
+	 * @return the URIs of the SARL files in each cluster, in the order of compilation.
+	 * @since 0.12
+	 * @see #getClusterSize()
+	 */
+	protected List<List<org.eclipse.emf.common.util.URI>> indexSARLFiles(ResourceSet resourceSet, IProgressMonitor progress) {
+		assert progress != null;
+		progress.subTask(Messages.SarlBatchCompiler_54);
+		this.encodingProvider.setDefaultEncoding(getFileEncoding());
+		final ResourceDescriptionsData index = new ResourceDescriptionsData(Collections.emptyList());
+		this.clusterIndex = index;
+		if (progress.isCanceled()) {
+			return Collections.emptyList();
+		}
+		final List<org.eclipse.emf.common.util.URI> uris = new ArrayList<>(findSARLFiles().values());
+		final Map<org.eclipse.emf.common.util.URI, Set<String>> referencedNames = new HashMap<>();
+		final int size = getClusterSize();
+		int count = 0;
+		try {
+			for (final org.eclipse.emf.common.util.URI uri : uris) {
+				if (progress.isCanceled()) {
+					return Collections.emptyList();
+				}
+				if (getLogger().isLoggable(Level.FINEST)) {
+					getLogger().finest(MessageFormat.format(Messages.SarlBatchCompiler_7, uri));
+				}
+				final Resource resource = resourceSet.getResource(uri, true);
+				final IResourceDescription description = this.resourceDescriptionManager.getResourceDescription(resource);
+				index.addDescription(uri, SerializableResourceDescription.createCopy(description));
+				referencedNames.put(uri, CompilationClusters.getReferencedNames(resource));
+				++count;
+				if (count % size == 0) {
+					clearResourceSet(resourceSet);
+				}
+			}
+		} finally {
+			clearResourceSet(resourceSet);
+		}
+		return CompilationClusters.createClusters(uris,
+				CompilationClusters.computeDependencies(index.getAllResourceDescriptions(), referencedNames), size);
+	}
+
 	/** Load the SARL files in the given resource set.
 	 *
 	 * @param progress monitor of the progress of the compilation.
@@ -1910,15 +3283,10 @@ public class SarlBatchCompiler {
 		assert progress != null;
 		progress.subTask(Messages.SarlBatchCompiler_54);
 		this.encodingProvider.setDefaultEncoding(getFileEncoding());
-		final NameBasedFilter nameBasedFilter = new NameBasedFilter();
-		nameBasedFilter.setExtension(this.fileExtensionProvider.getPrimaryFileExtension());
-		final PathTraverser pathTraverser = new PathTraverser();
-		final List<String> sourcePathDirectories = getSourcePathStrings();
 		if (progress.isCanceled()) {
 			return;
 		}
-		final Multimap<String, org.eclipse.emf.common.util.URI> pathes = pathTraverser.resolvePathes(sourcePathDirectories,
-				input -> nameBasedFilter.matches(input));
+		final Multimap<String, org.eclipse.emf.common.util.URI> pathes = findSARLFiles();
 		if (progress.isCanceled()) {
 			return;
 		}
@@ -1935,6 +3303,18 @@ public class SarlBatchCompiler {
 		}
 	}
 
+	/** Find the SARL files in the source folders.
+	 *
+	 * @return the URIs of the SARL files, indexed by source folder.
+	 */
+	private Multimap<String, org.eclipse.emf.common.util.URI> findSARLFiles() {
+		final NameBasedFilter nameBasedFilter = new NameBasedFilter();
+		nameBasedFilter.setExtension(this.fileExtensionProvider.getPrimaryFileExtension());
+		final PathTraverser pathTraverser = new PathTraverser();
+		final List<String> sourcePathDirectories = getSourcePathStrings();
+		return pathTraverser.resolvePathes(sourcePathDirectories, input -> nameBasedFilter.matches(input));
+	}
+
 	/** Create a temporary subdirectory inside the root temp directory.
 	 *
 	 * @param namePrefix the prefix for the folder name.
@@ -2239,11 +3619,40 @@ public class SarlBatchCompiler {
 		if (progress.isCanceled()) {
 			return;
 		}
-		this.jvmTypesClassLoader = createClassLoader(classpath, parentClassLoader);
+		final ClassLoader typeParentClassLoader;
+		final Iterable<File> typeClasspath;
+		if (isClassPathClassLoaderReused()) {
+			// The jar files are loaded by the shared class loader; the folders may change between two runs.
+			final List<File> jars = new ArrayList<>();
+			final List<File> folders = new ArrayList<>();
+			for (final File entry : classpath) {
+				if (entry.isFile()) {
+					jars.add(entry);
+				} else {
+					folders.add(entry);
+				}
+			}
+			typeParentClassLoader = getClassPathClassLoader(jars, parentClassLoader);
+			typeClasspath = folders;
+		} else {
+			typeParentClassLoader = parentClassLoader;
+			typeClasspath = classpath;
+		}
+		if (this.inMemoryCompiler != null) {
+			this.jvmTypesClassLoader = this.inMemoryCompiler.createClassLoader(typeClasspath, typeParentClassLoader);
+		} else {
+			this.jvmTypesClassLoader = createClassLoader(typeClasspath, typeParentClassLoader);
+		}
 		if (progress.isCanceled()) {
 			return;
 		}
-		new ClasspathTypeProvider(this.jvmTypesClassLoader, resourceSet, skipIndexLookup ? null : this.indexedJvmTypeAccess, null);
+		final JvmTypeCache typeCache = getJvmTypeCache();
+		if (typeCache != null) {
+			new CachingClasspathTypeProvider(typeCache, this.jvmTypesClassLoader, resourceSet,
+					skipIndexLookup ? null : this.indexedJvmTypeAccess, null);
+		} else {
+			new ClasspathTypeProvider(this.jvmTypesClassLoader, resourceSet, skipIndexLookup ? null : this.indexedJvmTypeAccess, null);
+		}
 		if (progress.isCanceled()) {
 			return;
 		}
@@ -2254,13 +3663,40 @@ public class SarlBatchCompiler {
 
 		// for annotation processing we need to have the compiler's classpath as a parent.
 		progress.subTask(Messages.SarlBatchCompiler_59);
-		this.annotationProcessingClassLoader = createClassLoader(classpath, getCurrentClassLoader());
+		if (this.inMemoryCompiler != null) {
+			this.annotationProcessingClassLoader = this.inMemoryCompiler.createClassLoader(classpath, getCurrentClassLoader());
+		} else {
+			this.annotationProcessingClassLoader = createClassLoader(classpath, getCurrentClassLoader());
+		}
 		if (progress.isCanceled()) {
 			return;
 		}
 		resourceSet.eAdapters().add(new ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter(this.annotationProcessingClassLoader));
 	}
 
+	/** Replies the class loader on the given jar files that is shared between the runs of this compiler.
+	 * The class loader is created again if the jar files or the boot class path have changed.
+	 *
+	 * @param jars the jar files.
+	 * @param parentClassLoader the parent class loader to use if a class loader must be created.
+	 * @return the class loader.
+	 */
+	private ClassLoader getClassPathClassLoader(List<File> jars, ClassLoader parentClassLoader) {
+		final StringBuilder key = new StringBuilder();
+		key.append(isUseCurrentClassLoaderAsParent()).append(File.pathSeparator);
+		for (final File entry : Iterables.concat(getBootClassPath(), jars)) {
+			key.append(entry.getAbsolutePath()).append('@').append(entry.lastModified())
+				.append('#').append(entry.length()).append(File.pathSeparator);
+		}
+		final String newKey = key.toString();
+		if (this.classPathClassLoader == null || !newKey.equals(this.classPathClassLoaderKey)) {
+			releaseClassPathClassLoader();
+			this.classPathClassLoader = createClassLoader(jars, parentClassLoader);
+			this.classPathClassLoaderKey = newKey;
+		}
+		return this.classPathClassLoader;
+	}
+
 	/** Create the project class loader.
 	 *
 	 * @param jarsAndFolders the project class path.
@@ -2303,6 +3739,7 @@ public class SarlBatchCompiler {
 	public void setWarningSeverity(String warningId, Severity severity) {
 		if (!Strings.isEmpty(warningId) && severity != null) {
 			this.issueSeverityProvider.setSeverity(warningId, severity);
+			this.severityConfiguration.append(warningId).append('=').append(severity.name()).append(';');
 		}
 	}
 
@@ -2314,6 +3751,7 @@ public class SarlBatchCompiler {
 	public void setAllWarningSeverities(Severity severity) {
 		if (severity != null) {
 			this.issueSeverityProvider.setAllSeverities(severity);
+			this.severityConfiguration.append('*').append('=').append(severity.name()).append(';');
 		}
 	}
 
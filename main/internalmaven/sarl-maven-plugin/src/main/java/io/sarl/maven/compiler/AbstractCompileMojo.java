@@ -150,6 +150,72 @@ public abstract class AbstractCompileMojo extends AbstractSarlBatchCompilerMojo
 
 	private OptimizationLevel optimizationInstance;
 
+	/** Indicates if the compilation is incremental. In this case, only the SARL files that have changed
+	 * since the previous compilation, and the SARL files that depend on them, are compiled.
+	 *
+	 * @since 0.12
+	 */
+	@Parameter(defaultValue = "false", required = false)
+	private boolean incremental;
+
+	/** Number of threads that are used for resolving the links, validating the SARL files and generating
+	 * the Java files. If it is {@code 1}, the compilation stages are sequential. If it is zero or negative,
+	 * the number of available processors is used.
+	 *
+	 * @since 0.12
+	 */
+	@Parameter(defaultValue = "1", required = false)
+	private int threads;
+
+	/** Indicates if the stubs and the Java files of the source folders are compiled in memory, instead of
+	 * into the temporary folder.
+	 *
+	 * @since 0.12
+	 */
+	@Parameter(defaultValue = "false", required = false)
+	private boolean inMemory;
+
+	/** Folder of the on-disk cache of the JVM types that are defined into the jar files of the class path.
+	 * The cache is shared by the modules of a multi-module build. If it is not specified, there is no cache.
+	 *
+	 * @since 0.12
+	 */
+	@Parameter(required = false)
+	private File jvmTypeCache;
+
+	/** File in which the profiling measures of the compilation are written with the JSON format.
+	 * If it is specified, the durations and the allocated memory of the compilation stages, of the resources
+	 * and of the validation checks are measured and logged. If it is not specified, there is no profiling.
+	 *
+	 * @since 0.12
+	 */
+	@Parameter(required = false)
+	private File profilingReport;
+
+	/** Indicates if the Java files of each SARL file are generated just after its validation,
+	 * while the next SARL files are validated. The generation stops at the first error.
+	 *
+	 * @since 0.12
+	 */
+	@Parameter(defaultValue = "false", required = false)
+	private boolean streaming;
+
+	/** Maximal number of errors that are reported before the compilation is stopped.
+	 * Zero or a negative value means that all the errors are reported.
+	 *
+	 * @since 0.12
+	 */
+	@Parameter(defaultValue = "0", required = false)
+	private int maxErrors;
+
+	/** Maximal number of SARL files that are compiled together, in order to bound the used memory.
+	 * Zero or a negative value means that all the SARL files are compiled together.
+	 *
+	 * @since 0.12
+	 */
+	@Parameter(defaultValue = "0", required = false)
+	private int clusterSize;
+
 	@Override
 	protected String[] getExtraGenerators() {
 		if (this.extraGenerators == null) {
@@ -259,6 +325,46 @@ public abstract class AbstractCompileMojo extends AbstractSarlBatchCompilerMojo
 		return this.generatePures;
 	}
 
+	@Override
+	protected boolean getIncremental() {
+		return this.incremental;
+	}
+
+	@Override
+	protected int getThreads() {
+		return this.threads;
+	}
+
+	@Override
+	protected boolean getInMemory() {
+		return this.inMemory;
+	}
+
+	@Override
+	protected File getJvmTypeCache() {
+		return this.jvmTypeCache;
+	}
+
+	@Override
+	protected File getProfilingReport() {
+		return this.profilingReport;
+	}
+
+	@Override
+	protected boolean getStreaming() {
+		return this.streaming;
+	}
+
+	@Override
+	protected int getMaxErrors() {
+		return this.maxErrors;
+	}
+
+	@Override
+	protected int getClusterSize() {
+		return this.clusterSize;
+	}
+
 	@Override
 	protected boolean getGenerateTraceFiles() {
 		return this.generateTraceFiles;
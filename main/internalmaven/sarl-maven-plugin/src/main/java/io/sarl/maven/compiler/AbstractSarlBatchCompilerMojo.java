@@ -77,6 +77,10 @@ import io.sarl.lang.compiler.batch.SarlBatchCompiler;
  */
 public abstract class AbstractSarlBatchCompilerMojo extends AbstractSarlMojo {
 
+	private static final String BUILD_STATE_FILE = "sarl-main.state"; //$NON-NLS-1$
+
+	private static final String TEST_BUILD_STATE_FILE = "sarl-test.state"; //$NON-NLS-1$
+
 	private Injector injector;
 
 	private Provider<SarlBatchCompiler> sarlBatchCompilerProvider;
@@ -209,6 +213,63 @@ public abstract class AbstractSarlBatchCompilerMojo extends AbstractSarlMojo {
 	 */
 	protected abstract OptimizationLevel getOptimization();
 
+	/** Replies if the compilation is incremental.
+	 *
+	 * @return {@code true} if the compilation is incremental.
+	 * @since 0.12
+	 */
+	protected abstract boolean getIncremental();
+
+	/** Replies the number of threads that are used by the compilation stages.
+	 *
+	 * @return the number of threads; {@code 1} for sequential stages; zero or a negative value
+	 *     for using the number of available processors.
+	 * @since 0.12
+	 */
+	protected abstract int getThreads();
+
+	/** Replies if the stubs and the Java files of the source folders are compiled in memory.
+	 *
+	 * @return {@code true} if the compilation is in memory.
+	 * @since 0.12
+	 */
+	protected abstract boolean getInMemory();
+
+	/** Replies the folder of the on-disk cache of the JVM types that are defined into the jar files of the class path.
+	 *
+	 * @return the folder, or {@code null} if there is no cache.
+	 * @since 0.12
+	 */
+	protected abstract File getJvmTypeCache();
+
+	/** Replies the file in which the profiling measures of the compilation are written.
+	 *
+	 * @return the file, or {@code null} if there is no profiling.
+	 * @since 0.12
+	 */
+	protected abstract File getProfilingReport();
+
+	/** Replies if the Java files of each SARL file are generated just after its validation.
+	 *
+	 * @return {@code true} if the streaming compilation is enabled.
+	 * @since 0.12
+	 */
+	protected abstract boolean getStreaming();
+
+	/** Replies the maximal number of errors that are reported before the compilation is stopped.
+	 *
+	 * @return the maximal number of errors; zero or a negative value if all the errors are reported.
+	 * @since 0.12
+	 */
+	protected abstract int getMaxErrors();
+
+	/** Replies the maximal number of SARL files that are compiled together.
+	 *
+	 * @return the size of the clusters; zero or a negative value if all the SARL files are compiled together.
+	 * @since 0.12
+	 */
+	protected abstract int getClusterSize();
+
 	/** Replies if the mojo is used within a test code compilation context.
 	 *
 	 * @return {@code true} if this mojo is used within a test phase.
@@ -247,7 +308,8 @@ public abstract class AbstractSarlBatchCompilerMojo extends AbstractSarlMojo {
 			File classOutputPath) throws MojoExecutionException, MojoFailureException {
 		final SarlBatchCompiler compiler = getBatchCompiler();
 		final MavenProject project = getProject();
-		compiler.setResourceSetProvider(new MavenProjectResourceSetProvider(project));
+		compiler.setParallelism(getThreads());
+		compiler.setResourceSetProvider(new MavenProjectResourceSetProvider(project, compiler.getParallelism() > 1));
 		final Iterable<File> filtered = Iterables.filter(sourcePaths, input -> input.isDirectory());
 		if (Iterables.isEmpty(filtered)) {
 			final String dir = Iterables.toString(sourcePaths);
@@ -263,6 +325,14 @@ public abstract class AbstractSarlBatchCompilerMojo extends AbstractSarlMojo {
 		compiler.setBasePath(baseDir);
 		compiler.setTempDirectory(getTempDirectory());
 		compiler.setCleaningPolicy(CleaningPolicy.NO_CLEANING);
+		compiler.setIncrementalCompilation(getIncremental());
+		compiler.setInMemoryCompilation(getInMemory());
+		compiler.setJvmTypeCacheDirectory(getJvmTypeCache());
+		compiler.setProfilingReportFile(getProfilingReport());
+		compiler.setStreamingCompilation(getStreaming());
+		compiler.setMaxErrorCount(getMaxErrors());
+		compiler.setClusterSize(getClusterSize());
+		compiler.setBuildStateFile(new File(getTempDirectory(), isTestContext() ? TEST_BUILD_STATE_FILE : BUILD_STATE_FILE));
 		compiler.setClassPath(classPath);
 		final String bootClassPath = getBootClassPath();
 		compiler.setBootClassPath(bootClassPath);
@@ -25,6 +25,7 @@ import javax.inject.Provider;
 
 import org.apache.maven.project.MavenProject;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.xtext.resource.SynchronizedXtextResourceSet;
 import org.eclipse.xtext.resource.XtextResourceSet;
 
 /** provider of resource sets when comilig with Maven.
@@ -38,23 +39,27 @@ class MavenProjectResourceSetProvider implements Provider<ResourceSet> {
 
 	private final MavenProject project;
 
+	private final boolean threadSafe;
+
 	private ResourceSet resourceSet;
 
 	/** Constructor.
 	 *
 	 * @param project the compiled project.
+	 * @param threadSafe indicates if the provided resource set must be thread-safe.
 	 */
-	MavenProjectResourceSetProvider(MavenProject project) {
+	MavenProjectResourceSetProvider(MavenProject project, boolean threadSafe) {
 		super();
 		assert project != null;
 		this.project = project;
+		this.threadSafe = threadSafe;
 	}
 
 	@Override
 	public ResourceSet get() {
 		ResourceSet rs = this.resourceSet;
 		if (rs == null) {
-			rs = new XtextResourceSet();
+			rs = this.threadSafe ? new SynchronizedXtextResourceSet() : new XtextResourceSet();
 			MavenProjectAdapter.install(rs, this.project);
 			this.resourceSet = rs;
 		}
@@ -21,6 +21,15 @@
 
 package io.sarl.lang.sarlc;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalInt;
+
+import io.sarl.lang.sarlc.commands.DaemonCommand;
+import io.sarl.lang.sarlc.daemon.DaemonDescriptor;
+import io.sarl.lang.sarlc.daemon.SarlcDaemonClient;
 import io.sarl.lang.sarlc.modules.general.SarlcApplicationModuleProvider;
 import io.sarl.maven.bootiqueapp.BootiqueMain;
 import io.sarl.maven.bootiqueapp.batchcompiler.BootiqueBatchCompilerMain;
@@ -59,6 +68,17 @@ public final class Main {
 	 * @see #main(String[])
 	 */
 	public static int run(String... args) {
+		final String useDaemonOption = "--" + DaemonCommand.USE_DAEMON_OPTION_NAME; //$NON-NLS-1$
+		final List<String> arguments = new ArrayList<>(Arrays.asList(args));
+		if (arguments.remove(useDaemonOption)) {
+			final OptionalInt exitCode = SarlcDaemonClient.submit(DaemonDescriptor.getDefaultFile(),
+					new File("").getAbsoluteFile(), arguments, System.out); //$NON-NLS-1$
+			if (exitCode.isPresent()) {
+				return exitCode.getAsInt();
+			}
+			// No daemon is available, the compilation is done locally.
+			return createMainObject().runCommand(arguments.toArray(new String[arguments.size()]));
+		}
 		return createMainObject().runCommand(args);
 	}
 
@@ -23,6 +23,7 @@ package io.sarl.lang.sarlc.commands;
 
 import java.io.IOException;
 import java.text.MessageFormat;
+import java.util.Collections;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.base.Strings;
@@ -37,7 +38,9 @@ import me.tongfei.progressbar.ProgressBarStyle;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.xtext.diagnostics.Severity;
 
+import io.sarl.lang.compiler.batch.ICompilatedResourceReceiver;
 import io.sarl.lang.compiler.batch.SarlBatchCompiler;
+import io.sarl.lang.compiler.batch.SarlBatchCompiler.IssueMessageListener;
 import io.sarl.lang.sarlc.configs.ProgressBarConfig;
 import io.sarl.lang.sarlc.configs.SarlcConfig;
 import io.sarl.lang.sarlc.tools.PathDetector;
@@ -119,6 +122,8 @@ public class CompilerCommand extends CommandWithMetadata {
 		comp.setClassOutputPath(paths.getClassOutputPath());
 		comp.setTempDirectory(paths.getTempDirectory());
 
+		// The compiler may be run several times, e.g. by the daemon; the source path is reset.
+		comp.setSourcePath(Collections.emptyList());
 		for (final String cliArg : cli.standaloneArguments()) {
 			comp.addSourcePath(cliArg);
 		}
@@ -126,7 +131,7 @@ public class CompilerCommand extends CommandWithMetadata {
 		final OutParameter<String> firstErrorMessage = new OutParameter<>();
 		final AtomicInteger nbErrors = new AtomicInteger(0);
 		final AtomicInteger nbWarnings = new AtomicInteger(0);
-		comp.addIssueMessageListener((issue, uri, message) -> {
+		final IssueMessageListener issueListener = (issue, uri, message) -> {
 			if (firstErrorMessage.get() == null) {
 				firstErrorMessage.set(message);
 			}
@@ -135,10 +140,12 @@ public class CompilerCommand extends CommandWithMetadata {
 			} else if (issue.getSeverity() == Severity.WARNING) {
 				nbWarnings.incrementAndGet();
 			}
-		});
+		};
+		comp.addIssueMessageListener(issueListener);
 
 		final AtomicInteger nbFiles = new AtomicInteger(0);
-		comp.addCompiledResourceReceiver(it -> nbFiles.incrementAndGet());
+		final ICompilatedResourceReceiver resourceReceiver = it -> nbFiles.incrementAndGet();
+		comp.addCompiledResourceReceiver(resourceReceiver);
 
 		// Configuration of the extra-language generators
 		final String extraGenerators = config.getExtraGenerators();
@@ -146,7 +153,12 @@ public class CompilerCommand extends CommandWithMetadata {
 			comp.setExtraLanguageGenerators(extraGenerators);
 		}
 
-		return runCompiler(comp, firstErrorMessage, nbErrors, nbWarnings, nbFiles);
+		try {
+			return runCompiler(comp, firstErrorMessage, nbErrors, nbWarnings, nbFiles);
+		} finally {
+			comp.removeIssueMessageListener(issueListener);
+			comp.removeCompiledResourceReceiver(resourceReceiver);
+		}
 	}
 
 	private CommandOutcome runCompiler(SarlBatchCompiler comp, OutParameter<String> firstErrorMessage,
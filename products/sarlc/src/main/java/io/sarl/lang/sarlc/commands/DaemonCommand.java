@@ -0,0 +1,94 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sarl.lang.sarlc.commands;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.logging.Logger;
+
+import com.google.inject.Provider;
+import io.bootique.cli.Cli;
+import io.bootique.command.CommandOutcome;
+import io.bootique.command.CommandWithMetadata;
+import io.bootique.meta.application.CommandMetadata;
+
+import io.sarl.lang.sarlc.configs.DaemonConfig;
+import io.sarl.lang.sarlc.daemon.DaemonDescriptor;
+import io.sarl.lang.sarlc.daemon.SarlcDaemon;
+import io.sarl.lang.sarlc.daemon.SarlcDaemonClient;
+import io.sarl.maven.bootiqueapp.BootiqueMain;
+
+/**
+ * Command for starting the compilation daemon of sarlc.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ */
+public class DaemonCommand extends CommandWithMetadata {
+
+	/** Name of the option for starting the daemon.
+	 */
+	public static final String DAEMON_OPTION_NAME = "daemon"; //$NON-NLS-1$
+
+	/** Name of the option for submitting the compilation to the daemon.
+	 */
+	public static final String USE_DAEMON_OPTION_NAME = "use-daemon"; //$NON-NLS-1$
+
+	private final Provider<DaemonConfig> config;
+
+	private final Provider<Logger> logger;
+
+	/** Constructor.
+	 *
+	 * @param config the provider of the daemon configuration.
+	 * @param logger the provider of the logger.
+	 */
+	public DaemonCommand(Provider<DaemonConfig> config, Provider<Logger> logger) {
+		super(CommandMetadata
+				.builder(DaemonCommand.class)
+				.description(Messages.DaemonCommand_0)
+				.name(DAEMON_OPTION_NAME));
+		this.config = config;
+		this.logger = logger;
+	}
+
+	@Override
+	public CommandOutcome run(Cli cli) {
+		final File descriptorFile = DaemonDescriptor.getDefaultFile();
+		if (SarlcDaemonClient.isRunning(descriptorFile)) {
+			return CommandOutcome.failed(BootiqueMain.ERROR_CODE,
+					MessageFormat.format(Messages.DaemonCommand_1, descriptorFile.getAbsolutePath()));
+		}
+		final SarlcDaemon daemon = new SarlcDaemon(this.config.get(), descriptorFile, this.logger.get());
+		try {
+			daemon.run();
+		} catch (IOException exception) {
+			return CommandOutcome.failed(BootiqueMain.ERROR_CODE, exception);
+		}
+		return CommandOutcome.succeeded();
+	}
+
+}
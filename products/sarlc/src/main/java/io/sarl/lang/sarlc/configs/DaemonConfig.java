@@ -0,0 +1,164 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sarl.lang.sarlc.configs;
+
+import io.bootique.annotation.BQConfig;
+import io.bootique.annotation.BQConfigProperty;
+import io.bootique.config.ConfigurationFactory;
+
+/**
+ * Configuration for the compilation daemon.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ */
+@BQConfig("Configuration of the SARLC compilation daemon")
+public class DaemonConfig {
+
+	/**
+	 * Prefix for the configuration entries of the daemon.
+	 */
+	public static final String PREFIX = "daemon"; //$NON-NLS-1$
+
+	/**
+	 * Name of the property that contains the port of the daemon.
+	 */
+	public static final String PORT = PREFIX + ".port"; //$NON-NLS-1$
+
+	/**
+	 * Name of the property that contains the idle timeout of the daemon.
+	 */
+	public static final String IDLE_TIMEOUT = PREFIX + ".idleTimeout"; //$NON-NLS-1$
+
+	/**
+	 * Name of the property that contains the memory cap of the daemon.
+	 */
+	public static final String MAX_MEMORY = PREFIX + ".maxMemory"; //$NON-NLS-1$
+
+	/**
+	 * Name of the property that contains the maximum number of compiler instances kept by the daemon.
+	 */
+	public static final String MAX_COMPILERS = PREFIX + ".maxCompilers"; //$NON-NLS-1$
+
+	/**
+	 * Default idle timeout in seconds.
+	 */
+	public static final int DEFAULT_IDLE_TIMEOUT = 10800;
+
+	/**
+	 * Default maximum number of compiler instances kept by the daemon.
+	 */
+	public static final int DEFAULT_MAX_COMPILERS = 4;
+
+	private int port;
+
+	private int idleTimeout = DEFAULT_IDLE_TIMEOUT;
+
+	private int maxMemory;
+
+	private int maxCompilers = DEFAULT_MAX_COMPILERS;
+
+	/** Replies the configuration factory for the daemon.
+	 *
+	 * @param configFactory the general configuration factory.
+	 * @return the daemon configuration.
+	 */
+	public static DaemonConfig getConfiguration(ConfigurationFactory configFactory) {
+		assert configFactory != null;
+		return configFactory.config(DaemonConfig.class, PREFIX);
+	}
+
+	/** Replies the port on which the daemon is listening.
+	 *
+	 * @return the port, or {@code 0} if the port is selected by the operating system.
+	 */
+	public int getPort() {
+		return this.port;
+	}
+
+	/** Set the port on which the daemon is listening.
+	 *
+	 * @param port the port, or {@code 0} if the port is selected by the operating system.
+	 */
+	@BQConfigProperty("Specify the loopback port on which the daemon is listening. Default is a free port.")
+	public void setPort(int port) {
+		this.port = Math.max(0, port);
+	}
+
+	/** Replies the number of seconds without request after which the daemon stops.
+	 *
+	 * @return the idle timeout in seconds, or {@code 0} if the daemon never stops.
+	 */
+	public int getIdleTimeout() {
+		return this.idleTimeout;
+	}
+
+	/** Set the number of seconds without request after which the daemon stops.
+	 *
+	 * @param timeout the idle timeout in seconds, or {@code 0} if the daemon never stops.
+	 */
+	@BQConfigProperty("Specify the number of seconds without request after which the daemon stops. Default is 10800.")
+	public void setIdleTimeout(int timeout) {
+		this.idleTimeout = Math.max(0, timeout);
+	}
+
+	/** Replies the maximum amount of memory that could be used by the daemon.
+	 *
+	 * @return the maximum amount of memory in megabytes, or {@code 0} for three quarters of the maximum heap size.
+	 */
+	public int getMaxMemory() {
+		return this.maxMemory;
+	}
+
+	/** Set the maximum amount of memory that could be used by the daemon. When the used memory is greater than
+	 * this cap after a compilation, the daemon releases the compilers that it keeps. If it is not enough, the daemon stops.
+	 *
+	 * @param memory the maximum amount of memory in megabytes, or {@code 0} for three quarters of the maximum heap size.
+	 */
+	@BQConfigProperty("Specify the maximum amount of memory, in megabytes, that could be used by the daemon. "
+			+ "Default is three quarters of the maximum heap size.")
+	public void setMaxMemory(int memory) {
+		this.maxMemory = Math.max(0, memory);
+	}
+
+	/** Replies the maximum number of compilers that are kept by the daemon.
+	 *
+	 * @return the maximum number of compilers.
+	 */
+	public int getMaxCompilers() {
+		return this.maxCompilers;
+	}
+
+	/** Set the maximum number of compilers that are kept by the daemon. A compiler is created for each
+	 * different set of command line arguments.
+	 *
+	 * @param max the maximum number of compilers.
+	 */
+	@BQConfigProperty("Specify the maximum number of compilers that are kept by the daemon. Default is 4.")
+	public void setMaxCompilers(int max) {
+		this.maxCompilers = Math.max(1, max);
+	}
+
+}
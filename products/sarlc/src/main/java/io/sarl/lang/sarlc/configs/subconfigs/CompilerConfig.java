@@ -21,6 +21,7 @@
 
 package io.sarl.lang.sarlc.configs.subconfigs;
 
+import java.io.File;
 import java.nio.charset.Charset;
 
 import io.bootique.annotation.BQConfig;
@@ -115,6 +116,55 @@ public class CompilerConfig {
 	 */
 	public static final String COMPRESS_INLINE_EXPRESSIONS_NAME = PREFIX + ".compressInlineExpressions"; //$NON-NLS-1$
 
+	/**
+	 * Name of the property that indicates if the compilation is incremental.
+	 *
+	 * @since 0.12
+	 */
+	public static final String INCREMENTAL_NAME = PREFIX + ".incremental"; //$NON-NLS-1$
+
+	/**
+	 * Name of the property that contains the number of threads used by the compilation stages.
+	 *
+	 * @since 0.12
+	 */
+	public static final String THREADS_NAME = PREFIX + ".threads"; //$NON-NLS-1$
+
+	/**
+	 * Name of the property that indicates if the stubs are compiled in memory.
+	 *
+	 * @since 0.12
+	 */
+	public static final String IN_MEMORY_NAME = PREFIX + ".inMemory"; //$NON-NLS-1$
+
+	/**
+	 * Name of the property that contains the folder of the cache of the JVM types.
+	 *
+	 * @since 0.12
+	 */
+	public static final String JVM_TYPE_CACHE_NAME = PREFIX + ".jvmTypeCache"; //$NON-NLS-1$
+
+	/**
+	 * Name of the property that contains the file in which the profiling measures are written.
+	 *
+	 * @since 0.12
+	 */
+	public static final String PROFILING_REPORT_NAME = PREFIX + ".profilingReport"; //$NON-NLS-1$
+
+	/**
+	 * Name of the property that indicates if the Java files are generated just after the validation of each SARL file.
+	 *
+	 * @since 0.12
+	 */
+	public static final String STREAMING_NAME = PREFIX + ".streaming"; //$NON-NLS-1$
+
+	/**
+	 * Name of the property that contains the maximal number of SARL files that are compiled together.
+	 *
+	 * @since 0.12
+	 */
+	public static final String CLUSTER_SIZE_NAME = PREFIX + ".clusterSize"; //$NON-NLS-1$
+
 	private String fileEncoding;
 
 	private String javaVersion = SARLVersion.MINIMAL_JDK_VERSION_IN_SARL_PROJECT_CLASSPATH;
@@ -141,6 +191,159 @@ public class CompilerConfig {
 
 	private boolean compressInlineExpressions = GeneratorConfig2.DEFAULT_USE_EXPRESSION_INTERPRETER_FOR_INLINE_ANNOTATION;
 
+	private boolean incremental;
+
+	private int threads = 1;
+
+	private boolean inMemory;
+
+	private File jvmTypeCache;
+
+	private File profilingReport;
+
+	private boolean streaming;
+
+	private int clusterSize;
+
+	/** Replies if the compilation is incremental.
+	 *
+	 * @return {@code true} if the compilation is incremental.
+	 * @since 0.12
+	 */
+	public boolean getIncremental() {
+		return this.incremental;
+	}
+
+	/** Change the flag that indicates if the compilation is incremental.
+	 *
+	 * @param enable {@code true} if the compilation is incremental.
+	 * @since 0.12
+	 */
+	@BQConfigProperty("Enable or disable the incremental compilation")
+	public void setIncremental(boolean enable) {
+		this.incremental = enable;
+	}
+
+	/** Replies the number of threads that are used for resolving the links, validating the files
+	 * and generating the Java code.
+	 *
+	 * @return the number of threads; {@code 1} for sequential stages; zero or a negative value
+	 *     for using the number of available processors.
+	 * @since 0.12
+	 */
+	public int getThreads() {
+		return this.threads;
+	}
+
+	/** Change the number of threads that are used for resolving the links, validating the files
+	 * and generating the Java code.
+	 *
+	 * @param threads the number of threads; {@code 1} for sequential stages; zero or a negative value
+	 *     for using the number of available processors.
+	 * @since 0.12
+	 */
+	@BQConfigProperty("Number of threads used by the compilation stages. Zero or a negative value means "
+			+ "the number of available processors.")
+	public void setThreads(int threads) {
+		this.threads = threads;
+	}
+
+	/** Replies if the stubs and the Java files of the source folders are compiled in memory.
+	 *
+	 * @return {@code true} if the compilation is in memory.
+	 * @since 0.12
+	 */
+	public boolean getInMemory() {
+		return this.inMemory;
+	}
+
+	/** Change the flag that indicates if the stubs and the Java files of the source folders are compiled in memory.
+	 *
+	 * @param enable {@code true} if the compilation is in memory.
+	 * @since 0.12
+	 */
+	@BQConfigProperty("Enable or disable the in-memory compilation of the stubs")
+	public void setInMemory(boolean enable) {
+		this.inMemory = enable;
+	}
+
+	/** Replies the folder of the on-disk cache of the JVM types that are defined into the jar files of the class path.
+	 *
+	 * @return the folder, or {@code null} if the cache is disabled.
+	 * @since 0.12
+	 */
+	public File getJvmTypeCache() {
+		return this.jvmTypeCache;
+	}
+
+	/** Change the folder of the on-disk cache of the JVM types that are defined into the jar files of the class path.
+	 *
+	 * @param folder the folder, or {@code null} if the cache is disabled.
+	 * @since 0.12
+	 */
+	@BQConfigProperty("Folder of the cache of the JVM types that are defined into the jar files of the class path")
+	public void setJvmTypeCache(File folder) {
+		this.jvmTypeCache = folder;
+	}
+
+	/** Replies the file in which the profiling measures of the compilation are written with the JSON format.
+	 *
+	 * @return the file, or {@code null} if the profiling is disabled.
+	 * @since 0.12
+	 */
+	public File getProfilingReport() {
+		return this.profilingReport;
+	}
+
+	/** Change the file in which the profiling measures of the compilation are written with the JSON format.
+	 *
+	 * @param file the file, or {@code null} if the profiling is disabled.
+	 * @since 0.12
+	 */
+	@BQConfigProperty("File in which the profiling measures of the compilation are written with the JSON format")
+	public void setProfilingReport(File file) {
+		this.profilingReport = file;
+	}
+
+	/** Replies if the Java files are generated just after the validation of each SARL file.
+	 *
+	 * @return {@code true} if the streaming compilation is enabled.
+	 * @since 0.12
+	 */
+	public boolean getStreaming() {
+		return this.streaming;
+	}
+
+	/** Change the flag that indicates if the Java files are generated just after the validation of each SARL file.
+	 *
+	 * @param enable {@code true} if the streaming compilation is enabled.
+	 * @since 0.12
+	 */
+	@BQConfigProperty("Generate the Java files of each SARL file just after its validation")
+	public void setStreaming(boolean enable) {
+		this.streaming = enable;
+	}
+
+	/** Replies the maximal number of SARL files that are compiled together.
+	 *
+	 * @return the size of the clusters; zero or a negative value if all the SARL files are compiled together.
+	 * @since 0.12
+	 */
+	public int getClusterSize() {
+		return this.clusterSize;
+	}
+
+	/** Change the maximal number of SARL files that are compiled together.
+	 *
+	 * @param size the size of the clusters; zero or a negative value if all the SARL files are compiled together.
+	 * @since 0.12
+	 */
+	@BQConfigProperty("Maximal number of SARL files that are compiled together. Zero or a negative value means "
+			+ "that all the SARL files are compiled together.")
+	public void setClusterSize(int size) {
+		this.clusterSize = size;
+	}
+
 	/** Replies if the inline expressions should be compressed on the fly.
 	 *
 	 * @return {@code true} if the expressions are compressed.
@@ -67,6 +67,13 @@ public class ValidatorConfig {
 	 */
 	public static final String WARNING_LEVELS_NAME = PREFIX + ".warningLevels"; //$NON-NLS-1$
 
+	/**
+	 * Name of the property that indicates the maximal number of errors before the compilation is stopped.
+	 *
+	 * @since 0.12
+	 */
+	public static final String MAX_ERRORS_NAME = PREFIX + ".maxErrors"; //$NON-NLS-1$
+
 	private boolean ignoreWarnings;
 
 	private boolean allErrors;
@@ -75,6 +82,8 @@ public class ValidatorConfig {
 
 	private Map<String, Severity> warningLevels = new HashMap<>();
 
+	private int maxErrors;
+
 	/** Replies if the specific warnings levels.
 	 *
 	 * @return the specific warning levels.
@@ -147,4 +156,23 @@ public class ValidatorConfig {
 		this.ignoreWarnings = ignore;
 	}
 
+	/** Replies the maximal number of errors that are reported before the compilation is stopped.
+	 *
+	 * @return the maximal number of errors; zero or a negative value if all the errors are reported.
+	 * @since 0.12
+	 */
+	public int getMaxErrors() {
+		return this.maxErrors;
+	}
+
+	/** Change the maximal number of errors that are reported before the compilation is stopped.
+	 *
+	 * @param count the maximal number of errors; zero or a negative value if all the errors are reported.
+	 * @since 0.12
+	 */
+	@BQConfigProperty("Maximal number of errors before the compilation is stopped")
+	public void setMaxErrors(int count) {
+		this.maxErrors = count;
+	}
+
 }
@@ -0,0 +1,248 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sarl.lang.sarlc.daemon;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.SecureRandom;
+import java.util.Properties;
+
+/** Description of a running compilation daemon. The descriptor is stored into a file of the user's home folder,
+ * that is readable only by the user. It contains the port on which the daemon is listening, and a secret token
+ * that must be provided by the clients.
+ *
+ * <p>This class provides also the primitives of the protocol between the daemon and its clients.
+ * A request is composed by the token, the working directory of the client, and the command line arguments.
+ * The reply is a sequence of output lines, followed by the exit code of the compiler.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ */
+public final class DaemonDescriptor {
+
+	/** Tag of an output line in the reply of the daemon.
+	 */
+	static final byte OUTPUT_TAG = 'O';
+
+	/** Tag of the exit code in the reply of the daemon.
+	 */
+	static final byte EXIT_TAG = 'X';
+
+	private static final String PORT_PROPERTY = "port"; //$NON-NLS-1$
+
+	private static final String TOKEN_PROPERTY = "token"; //$NON-NLS-1$
+
+	private static final int TOKEN_SIZE = 32;
+
+	private static final int HEX = 16;
+
+	/** Maximum number of bytes of the token in a request.
+	 */
+	static final int MAX_TOKEN_LENGTH = TOKEN_SIZE * 2;
+
+	/** Maximum number of bytes of the working directory in a request.
+	 */
+	static final int MAX_PATH_LENGTH = 32 * 1024;
+
+	/** Maximum number of bytes of a command line argument in a request.
+	 */
+	static final int MAX_ARGUMENT_LENGTH = 1024 * 1024;
+
+	/** Maximum number of command line arguments in a request.
+	 */
+	static final int MAX_ARGUMENTS = 4096;
+
+	/** Maximum number of bytes of all the command line arguments in a request.
+	 */
+	static final int MAX_ARGUMENTS_SIZE = 8 * 1024 * 1024;
+
+	private final int port;
+
+	private final String token;
+
+	/** Constructor.
+	 *
+	 * @param port the port on which the daemon is listening.
+	 * @param token the secret token.
+	 */
+	public DaemonDescriptor(int port, String token) {
+		this.port = port;
+		this.token = token;
+	}
+
+	/** Replies the default file in which the descriptor is stored.
+	 *
+	 * @return the file.
+	 */
+	public static File getDefaultFile() {
+		return new File(new File(System.getProperty("user.home"), ".sarl"), "sarlc-daemon.properties"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/** Create a secret token.
+	 *
+	 * @return the token.
+	 */
+	public static String newToken() {
+		final byte[] bytes = new byte[TOKEN_SIZE];
+		new SecureRandom().nextBytes(bytes);
+		final StringBuilder token = new StringBuilder();
+		for (final byte value : bytes) {
+			token.append(Character.forDigit((value >> 4) & 0xF, HEX));
+			token.append(Character.forDigit(value & 0xF, HEX));
+		}
+		return token.toString();
+	}
+
+	/** Replies the port on which the daemon is listening.
+	 *
+	 * @return the port.
+	 */
+	public int getPort() {
+		return this.port;
+	}
+
+	/** Replies the secret token.
+	 *
+	 * @return the token.
+	 */
+	public String getToken() {
+		return this.token;
+	}
+
+	/** Read the descriptor from the given file.
+	 *
+	 * @param file the file to read.
+	 * @return the descriptor, or {@code null} if the file does not exist or cannot be read.
+	 */
+	public static DaemonDescriptor read(File file) {
+		if (!file.isFile()) {
+			return null;
+		}
+		final Properties properties = new Properties();
+		try (InputStream stream = new FileInputStream(file)) {
+			properties.load(stream);
+			final String token = properties.getProperty(TOKEN_PROPERTY);
+			if (token == null) {
+				return null;
+			}
+			return new DaemonDescriptor(Integer.parseInt(properties.getProperty(PORT_PROPERTY)), token);
+		} catch (IOException | RuntimeException exception) {
+			return null;
+		}
+	}
+
+	/** Write the descriptor into the given file. The file is readable and writable only by its owner.
+	 *
+	 * @param file the file to write.
+	 * @throws IOException if the file cannot be written.
+	 */
+	public void write(File file) throws IOException {
+		final File folder = file.getAbsoluteFile().getParentFile();
+		folder.mkdirs();
+		final File tmpFile = new File(folder, file.getName() + ".tmp"); //$NON-NLS-1$
+		tmpFile.delete();
+		tmpFile.createNewFile();
+		tmpFile.setReadable(false, false);
+		tmpFile.setWritable(false, false);
+		tmpFile.setReadable(true, true);
+		tmpFile.setWritable(true, true);
+		final Properties properties = new Properties();
+		properties.setProperty(PORT_PROPERTY, Integer.toString(this.port));
+		properties.setProperty(TOKEN_PROPERTY, this.token);
+		try (OutputStream stream = new FileOutputStream(tmpFile)) {
+			properties.store(stream, null);
+		}
+		Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/** Write a string into the given stream.
+	 *
+	 * @param stream the stream.
+	 * @param value the value to write.
+	 * @throws IOException if the value cannot be written.
+	 */
+	static void writeString(DataOutputStream stream, String value) throws IOException {
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		stream.writeInt(bytes.length);
+		stream.write(bytes);
+	}
+
+	/** Read a string from the given stream.
+	 *
+	 * @param stream the stream.
+	 * @return the value.
+	 * @throws IOException if the value cannot be read.
+	 */
+	static String readString(DataInputStream stream) throws IOException {
+		return readString(stream, Integer.MAX_VALUE);
+	}
+
+	/** Read a string from the given stream. The bytes of the string are not read nor allocated
+	 * if their number is greater than the given maximum.
+	 *
+	 * @param stream the stream.
+	 * @param maxLength the maximum number of bytes of the string.
+	 * @return the value, or {@code null} if the string is too large.
+	 * @throws IOException if the value cannot be read.
+	 */
+	static String readString(DataInputStream stream, int maxLength) throws IOException {
+		final byte[] bytes = readBytes(stream, maxLength);
+		if (bytes == null) {
+			return null;
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/** Read the bytes of a string from the given stream. The bytes are not read nor allocated
+	 * if their number is greater than the given maximum.
+	 *
+	 * @param stream the stream.
+	 * @param maxLength the maximum number of bytes.
+	 * @return the bytes, or {@code null} if their number is greater than the given maximum.
+	 * @throws IOException if the bytes cannot be read.
+	 */
+	static byte[] readBytes(DataInputStream stream, int maxLength) throws IOException {
+		final int length = stream.readInt();
+		if (length < 0) {
+			throw new IOException();
+		}
+		if (length > maxLength) {
+			return null;
+		}
+		final byte[] bytes = new byte[length];
+		stream.readFully(bytes);
+		return bytes;
+	}
+
+}
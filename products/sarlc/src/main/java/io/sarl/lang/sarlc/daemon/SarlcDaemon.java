@@ -0,0 +1,498 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sarl.lang.sarlc.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import com.google.common.base.Strings;
+import com.google.inject.Injector;
+import io.bootique.BQRuntime;
+import io.bootique.command.CommandOutcome;
+
+import io.sarl.lang.SARLStandaloneSetup;
+import io.sarl.lang.compiler.batch.SarlBatchCompiler;
+import io.sarl.lang.sarlc.Constants;
+import io.sarl.lang.sarlc.configs.DaemonConfig;
+import io.sarl.lang.sarlc.modules.general.SarlcApplicationModuleProvider;
+import io.sarl.maven.bootiqueapp.BootiqueMain;
+import io.sarl.maven.bootiqueapp.batchcompiler.BootiqueBatchCompilerMain;
+import io.sarl.util.JulPatternFormatter;
+
+/** Compilation daemon for sarlc.
+ *
+ * <p>The daemon is a long-lived process that is listening on a loopback port for compilation requests
+ * from the {@link SarlcDaemonClient sarlc clients}. The requests are processed one after the other.
+ * A Bootique runtime, and the SARL compiler that it contains, is kept for each working directory and
+ * set of command line arguments. In this way, the Guice injector, the JVM type caches of the jar files
+ * of the classpath, and the state of the previous build are reused by the following compilations of the
+ * same project.
+ *
+ * <p>The daemon stops when it does not receive any request during the idle timeout, or when the
+ * memory that is used after the release of the kept compilers is still greater than the memory cap.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ */
+public class SarlcDaemon {
+
+	private static final int BACKLOG = 16;
+
+	private static final long MEGA = 1024 * 1024;
+
+	private static final long MEMORY_NUMERATOR = 3;
+
+	private static final long MEMORY_DENOMINATOR = 4;
+
+	private static final long MILLIS = 1000;
+
+	/** Maximum duration in milliseconds for receiving a request from a client.
+	 */
+	private static final int REQUEST_TIMEOUT = 10000;
+
+	private static final Set<String> PATH_OPTIONS = new HashSet<>(Arrays.asList(
+			Constants.SARL_OUTPUT_DIRECTORY_OPTION,
+			Constants.JAVA_OUTPUT_DIRECTORY_OPTION,
+			"tempdir", //$NON-NLS-1$
+			"classpath", //$NON-NLS-1$
+			"cp", //$NON-NLS-1$
+			"boot-classpath")); //$NON-NLS-1$
+
+	private final DaemonConfig config;
+
+	private final File descriptorFile;
+
+	private final Logger logger;
+
+	private final RuntimeFactory runtimeFactory = new RuntimeFactory();
+
+	private final Map<String, BQRuntime> runtimes;
+
+	/** Constructor.
+	 *
+	 * @param config the configuration of the daemon.
+	 * @param descriptorFile the file in which the descriptor of the daemon is written.
+	 * @param logger the logger of the daemon.
+	 */
+	public SarlcDaemon(DaemonConfig config, File descriptorFile, Logger logger) {
+		this.config = config;
+		this.descriptorFile = descriptorFile;
+		this.logger = logger;
+		this.runtimes = new LinkedHashMap<String, BQRuntime>(config.getMaxCompilers() + 1, 1f, true) {
+			private static final long serialVersionUID = -6095811436047718958L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, BQRuntime> eldest) {
+				if (size() > SarlcDaemon.this.config.getMaxCompilers()) {
+					shutdown(eldest.getValue());
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/** Replies the maximum amount of memory that could be used by the daemon.
+	 *
+	 * @return the amount of memory in bytes.
+	 */
+	protected long getMemoryCap() {
+		final long cap = this.config.getMaxMemory();
+		if (cap > 0) {
+			return cap * MEGA;
+		}
+		return (Runtime.getRuntime().maxMemory() / MEMORY_DENOMINATOR) * MEMORY_NUMERATOR;
+	}
+
+	/** Replies the maximum duration for receiving a request from a client.
+	 *
+	 * @return the duration in milliseconds.
+	 */
+	protected int getRequestTimeout() {
+		return REQUEST_TIMEOUT;
+	}
+
+	private static long getUsedMemory() {
+		final Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/** Run the daemon. This function returns when the daemon is stopped.
+	 *
+	 * @throws IOException if the daemon cannot listen on the loopback interface.
+	 */
+	public void run() throws IOException {
+		try (ServerSocket server = new ServerSocket(this.config.getPort(), BACKLOG, InetAddress.getLoopbackAddress())) {
+			server.setSoTimeout((int) (this.config.getIdleTimeout() * MILLIS));
+			final DaemonDescriptor descriptor = new DaemonDescriptor(server.getLocalPort(), DaemonDescriptor.newToken());
+			descriptor.write(this.descriptorFile);
+			this.descriptorFile.deleteOnExit();
+			this.logger.info(MessageFormat.format(Messages.SarlcDaemon_0, Integer.toString(server.getLocalPort())));
+			try {
+				boolean running = true;
+				while (running) {
+					try (Socket socket = server.accept()) {
+						running = serve(socket, descriptor.getToken());
+					} catch (SocketTimeoutException exception) {
+						this.logger.info(Messages.SarlcDaemon_1);
+						running = false;
+					}
+				}
+			} finally {
+				this.descriptorFile.delete();
+				releaseRuntimes();
+			}
+		}
+	}
+
+	/** Serve the request that is received on the given socket.
+	 *
+	 * @param socket the socket.
+	 * @param token the expected token.
+	 * @return {@code true} if the daemon should continue to accept requests.
+	 */
+	private boolean serve(Socket socket, String token) {
+		final String cwd;
+		final List<String> args;
+		final DataOutputStream output;
+		try {
+			// A client that does not send its request must not block the daemon
+			socket.setSoTimeout(getRequestTimeout());
+			final DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			// The token is read and checked before any other allocation for the request
+			final byte[] receivedToken = DaemonDescriptor.readBytes(input, DaemonDescriptor.MAX_TOKEN_LENGTH);
+			if (receivedToken == null || !MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), receivedToken)) {
+				this.logger.warning(Messages.SarlcDaemon_2);
+				return true;
+			}
+			output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			cwd = DaemonDescriptor.readString(input, DaemonDescriptor.MAX_PATH_LENGTH);
+			if (cwd == null) {
+				rejectRequest(output);
+				return true;
+			}
+			final int argc = input.readInt();
+			if (argc < 0 || argc > DaemonDescriptor.MAX_ARGUMENTS) {
+				rejectRequest(output);
+				return true;
+			}
+			args = new ArrayList<>(argc);
+			int remaining = DaemonDescriptor.MAX_ARGUMENTS_SIZE;
+			for (int i = 0; i < argc; ++i) {
+				final byte[] arg = DaemonDescriptor.readBytes(input, Math.min(DaemonDescriptor.MAX_ARGUMENT_LENGTH, remaining));
+				if (arg == null) {
+					rejectRequest(output);
+					return true;
+				}
+				remaining -= arg.length;
+				args.add(new String(arg, StandardCharsets.UTF_8));
+			}
+		} catch (EOFException | SocketTimeoutException exception) {
+			// The connection was opened only for checking that the daemon is alive,
+			// or the client has not sent its request in time.
+			return true;
+		} catch (IOException exception) {
+			this.logger.warning(exception.getLocalizedMessage());
+			return true;
+		}
+
+		final Object lock = new Object();
+		final Consumer<String> sink = line -> {
+			synchronized (lock) {
+				try {
+					output.writeByte(DaemonDescriptor.OUTPUT_TAG);
+					DaemonDescriptor.writeString(output, line);
+				} catch (IOException exception) {
+					// The client has gone; the compilation is continuing for keeping the daemon state consistent.
+				}
+			}
+		};
+
+		final int exitCode = compile(new File(cwd), args, sink);
+
+		synchronized (lock) {
+			try {
+				output.writeByte(DaemonDescriptor.EXIT_TAG);
+				output.writeInt(exitCode);
+				output.flush();
+			} catch (IOException exception) {
+				//
+			}
+		}
+
+		return checkMemory();
+	}
+
+	/** Reply to the client that its request is rejected because it is too large.
+	 *
+	 * @param output the stream to the client.
+	 */
+	private void rejectRequest(DataOutputStream output) {
+		this.logger.warning(Messages.SarlcDaemon_5);
+		try {
+			output.writeByte(DaemonDescriptor.OUTPUT_TAG);
+			DaemonDescriptor.writeString(output, Messages.SarlcDaemon_5);
+			output.writeByte(DaemonDescriptor.EXIT_TAG);
+			output.writeInt(BootiqueMain.ERROR_CODE);
+			output.flush();
+		} catch (IOException exception) {
+			//
+		}
+	}
+
+	/** Run the compiler for the given request.
+	 *
+	 * @param cwd the working directory of the client.
+	 * @param args the command line arguments of the client.
+	 * @param output the receiver of the output lines.
+	 * @return the exit code.
+	 */
+	protected int compile(File cwd, List<String> args, Consumer<String> output) {
+		final List<String> arguments = absolutize(cwd, args);
+		final String key = cwd.getAbsolutePath() + File.pathSeparator + String.join(File.pathSeparator, arguments);
+		BQRuntime runtime = this.runtimes.get(key);
+		try {
+			if (runtime == null) {
+				runtime = this.runtimeFactory.createRuntime(arguments.toArray(new String[arguments.size()]));
+				this.runtimes.put(key, runtime);
+			} else {
+				// Another runtime may have replaced the SARL injector in the global EMF registries
+				SARLStandaloneSetup.doPostSetup(runtime.getInstance(Injector.class));
+			}
+		} catch (Throwable exception) {
+			output.accept(Strings.nullToEmpty(exception.getLocalizedMessage()));
+			return BootiqueMain.ERROR_CODE;
+		}
+
+		final Handler handler = new ForwardingHandler(output);
+		Logger compilerLogger = null;
+		try {
+			final SarlBatchCompiler compiler = runtime.getInstance(SarlBatchCompiler.class);
+			compiler.setClassPathClassLoaderReused(true);
+			compilerLogger = compiler.getLogger();
+			compilerLogger.addHandler(handler);
+			final CommandOutcome outcome = runtime.run();
+			if (!outcome.isSuccess() && !Strings.isNullOrEmpty(outcome.getMessage())) {
+				output.accept(outcome.getMessage());
+			}
+			return outcome.getExitCode();
+		} catch (Throwable exception) {
+			this.runtimes.remove(key);
+			shutdown(runtime);
+			output.accept(Strings.nullToEmpty(exception.getLocalizedMessage()));
+			return BootiqueMain.ERROR_CODE;
+		} finally {
+			if (compilerLogger != null) {
+				compilerLogger.removeHandler(handler);
+			}
+		}
+	}
+
+	/** Check if the memory cap is reached. If it is reached, the kept compilers are released.
+	 *
+	 * @return {@code true} if the daemon could continue to run.
+	 */
+	private boolean checkMemory() {
+		final long cap = getMemoryCap();
+		if (getUsedMemory() > cap) {
+			this.logger.info(Messages.SarlcDaemon_3);
+			releaseRuntimes();
+			System.gc();
+			if (getUsedMemory() > cap) {
+				this.logger.warning(Messages.SarlcDaemon_4);
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void releaseRuntimes() {
+		final Iterator<BQRuntime> iterator = this.runtimes.values().iterator();
+		while (iterator.hasNext()) {
+			final BQRuntime runtime = iterator.next();
+			iterator.remove();
+			shutdown(runtime);
+		}
+	}
+
+	private static void shutdown(BQRuntime runtime) {
+		try {
+			runtime.getInstance(SarlBatchCompiler.class).releaseClassPathClassLoader();
+		} catch (Throwable exception) {
+			//
+		}
+		runtime.shutdown();
+	}
+
+	/** Replace the relative paths in the given command line arguments by absolute paths.
+	 * The relative paths are the standalone arguments that are existing files relatively to the working
+	 * directory, and the values of the options that are paths or classpaths.
+	 *
+	 * @param cwd the working directory of the client.
+	 * @param args the command line arguments.
+	 * @return the command line arguments with absolute paths.
+	 */
+	public static List<String> absolutize(File cwd, List<String> args) {
+		if (args.isEmpty()) {
+			return Collections.emptyList();
+		}
+		final List<String> result = new ArrayList<>(args.size());
+		boolean pathValue = false;
+		for (final String arg : args) {
+			if (pathValue) {
+				result.add(absolutizePaths(cwd, arg));
+				pathValue = false;
+			} else if (arg.startsWith("-")) { //$NON-NLS-1$
+				final String option = arg.replaceFirst("^\\-+", ""); //$NON-NLS-1$ //$NON-NLS-2$
+				final int index = option.indexOf('=');
+				if (index >= 0) {
+					final String name = option.substring(0, index);
+					if (PATH_OPTIONS.contains(name)) {
+						result.add(arg.substring(0, arg.length() - option.length() + index + 1)
+								+ absolutizePaths(cwd, option.substring(index + 1)));
+					} else {
+						result.add(arg);
+					}
+				} else {
+					pathValue = PATH_OPTIONS.contains(option);
+					result.add(arg);
+				}
+			} else {
+				final File file = new File(arg);
+				if (!file.isAbsolute() && new File(cwd, arg).exists()) {
+					result.add(new File(cwd, arg).getAbsolutePath());
+				} else {
+					result.add(arg);
+				}
+			}
+		}
+		return result;
+	}
+
+	private static String absolutizePaths(File cwd, String paths) {
+		final StringBuilder result = new StringBuilder();
+		for (final String path : paths.split(File.pathSeparator)) {
+			if (result.length() > 0) {
+				result.append(File.pathSeparator);
+			}
+			if (Strings.isNullOrEmpty(path) || new File(path).isAbsolute()) {
+				result.append(path);
+			} else {
+				result.append(new File(cwd, path).getAbsolutePath());
+			}
+		}
+		return result.toString();
+	}
+
+	/** Factory of the Bootique runtimes that are running the compiler.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 0.12
+	 */
+	private static class RuntimeFactory extends BootiqueBatchCompilerMain {
+
+		/** Constructor.
+		 */
+		RuntimeFactory() {
+			super(new SarlcApplicationModuleProvider());
+		}
+
+		@Override
+		protected BQRuntime createRuntime(String... args) {
+			return super.createRuntime(args);
+		}
+
+	}
+
+	/** Handler of log records that forwards the messages to the client.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 0.12
+	 */
+	private static class ForwardingHandler extends Handler {
+
+		private final Consumer<String> output;
+
+		/** Constructor.
+		 *
+		 * @param output the receiver of the messages.
+		 */
+		ForwardingHandler(Consumer<String> output) {
+			this.output = output;
+			setFormatter(new JulPatternFormatter(BootiqueMain.DEFAULT_LOG_FORMAT));
+		}
+
+		@Override
+		public void publish(LogRecord record) {
+			if (isLoggable(record)) {
+				final String message = getFormatter().format(record);
+				this.output.accept(message.replaceFirst("[\\r\\n]+$", "")); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+
+		@Override
+		public void flush() {
+			//
+		}
+
+		@Override
+		public void close() {
+			//
+		}
+
+	}
+
+}
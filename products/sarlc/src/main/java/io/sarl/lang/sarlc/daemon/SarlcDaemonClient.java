@@ -0,0 +1,129 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sarl.lang.sarlc.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.OptionalInt;
+
+import io.sarl.maven.bootiqueapp.BootiqueMain;
+
+/** Thin client of the sarlc compilation daemon.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ * @see SarlcDaemon
+ */
+public final class SarlcDaemonClient {
+
+	private static final int CONNECTION_TIMEOUT = 1000;
+
+	private SarlcDaemonClient() {
+		//
+	}
+
+	private static Socket connect(DaemonDescriptor descriptor) throws IOException {
+		final Socket socket = new Socket();
+		try {
+			socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), descriptor.getPort()), CONNECTION_TIMEOUT);
+		} catch (IOException exception) {
+			socket.close();
+			throw exception;
+		}
+		return socket;
+	}
+
+	/** Replies if a daemon is listening for the given descriptor file.
+	 *
+	 * @param descriptorFile the file that contains the descriptor of the daemon.
+	 * @return {@code true} if a daemon is listening.
+	 */
+	public static boolean isRunning(File descriptorFile) {
+		final DaemonDescriptor descriptor = DaemonDescriptor.read(descriptorFile);
+		if (descriptor != null) {
+			try (Socket socket = connect(descriptor)) {
+				return true;
+			} catch (IOException exception) {
+				//
+			}
+		}
+		return false;
+	}
+
+	/** Submit a compilation request to the daemon.
+	 *
+	 * @param descriptorFile the file that contains the descriptor of the daemon.
+	 * @param cwd the working directory from which the relative paths in the arguments are resolved.
+	 * @param args the command line arguments of the compiler.
+	 * @param out the stream on which the output of the compiler is written.
+	 * @return the exit code of the compiler, or nothing if no daemon is available.
+	 */
+	public static OptionalInt submit(File descriptorFile, File cwd, List<String> args, PrintStream out) {
+		final DaemonDescriptor descriptor = DaemonDescriptor.read(descriptorFile);
+		if (descriptor == null) {
+			return OptionalInt.empty();
+		}
+		boolean replied = false;
+		try (Socket socket = connect(descriptor)) {
+			final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			DaemonDescriptor.writeString(output, descriptor.getToken());
+			DaemonDescriptor.writeString(output, cwd.getAbsolutePath());
+			output.writeInt(args.size());
+			for (final String arg : args) {
+				DaemonDescriptor.writeString(output, arg);
+			}
+			output.flush();
+
+			final DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			while (true) {
+				final byte tag = input.readByte();
+				replied = true;
+				if (tag == DaemonDescriptor.EXIT_TAG) {
+					return OptionalInt.of(input.readInt());
+				}
+				if (tag != DaemonDescriptor.OUTPUT_TAG) {
+					throw new IOException();
+				}
+				out.println(DaemonDescriptor.readString(input));
+			}
+		} catch (IOException exception) {
+			if (replied) {
+				// The daemon has started the compilation; it is not restarted locally.
+				return OptionalInt.of(BootiqueMain.ERROR_CODE);
+			}
+			return OptionalInt.empty();
+		}
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sarl.lang.sarlc.modules.commands;
+
+import static io.bootique.BQCoreModule.extend;
+
+import java.text.MessageFormat;
+import java.util.logging.Logger;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Injector;
+import com.google.inject.Provider;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+import io.bootique.config.ConfigurationFactory;
+import io.bootique.meta.application.OptionMetadata;
+
+import io.sarl.lang.sarlc.commands.DaemonCommand;
+import io.sarl.lang.sarlc.configs.DaemonConfig;
+
+/** Module for the command that starts the compilation daemon.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ */
+public class DaemonCommandModule extends AbstractModule {
+
+	private static final String PORT_OPTION = "daemon-port"; //$NON-NLS-1$
+
+	private static final String IDLE_TIMEOUT_OPTION = "daemon-idle-timeout"; //$NON-NLS-1$
+
+	private static final String MAX_MEMORY_OPTION = "daemon-max-memory"; //$NON-NLS-1$
+
+	@Override
+	protected void configure() {
+		extend(binder())
+			.addOption(OptionMetadata.builder(PORT_OPTION, Messages.DaemonCommandModule_0)
+				.valueRequired(Messages.DaemonCommandModule_4)
+				.build())
+			.mapConfigPath(PORT_OPTION, DaemonConfig.PORT);
+
+		extend(binder())
+			.addOption(OptionMetadata.builder(IDLE_TIMEOUT_OPTION,
+					MessageFormat.format(Messages.DaemonCommandModule_1, Integer.toString(DaemonConfig.DEFAULT_IDLE_TIMEOUT)))
+				.valueRequired(Messages.DaemonCommandModule_4)
+				.build())
+			.mapConfigPath(IDLE_TIMEOUT_OPTION, DaemonConfig.IDLE_TIMEOUT);
+
+		extend(binder())
+			.addOption(OptionMetadata.builder(MAX_MEMORY_OPTION, Messages.DaemonCommandModule_2)
+				.valueRequired(Messages.DaemonCommandModule_4)
+				.build())
+			.mapConfigPath(MAX_MEMORY_OPTION, DaemonConfig.MAX_MEMORY);
+
+		// The option is consumed by the main program before the creation of the Bootique runtime.
+		// It is declared for being listed in the help.
+		extend(binder()).addOption(OptionMetadata.builder(DaemonCommand.USE_DAEMON_OPTION_NAME,
+				MessageFormat.format(Messages.DaemonCommandModule_3, DaemonCommand.DAEMON_OPTION_NAME))
+				.build());
+
+		extend(binder()).addCommand(DaemonCommand.class);
+	}
+
+	/** Provide the command for starting the compilation daemon.
+	 *
+	 * @param config the configuration of the daemon.
+	 * @param logger the logger.
+	 * @return the command.
+	 */
+	@SuppressWarnings("static-method")
+	@Provides
+	@Singleton
+	public DaemonCommand provideDaemonCommand(Provider<DaemonConfig> config, Provider<Logger> logger) {
+		return new DaemonCommand(config, logger);
+	}
+
+	/** Replies the instance of the daemon configuration.
+	 *
+	 * @param configFactory accessor to the bootique factory.
+	 * @param injector the current injector.
+	 * @return the daemon configuration accessor.
+	 */
+	@SuppressWarnings("static-method")
+	@Provides
+	@Singleton
+	public DaemonConfig getDaemonConfig(ConfigurationFactory configFactory, Injector injector) {
+		final DaemonConfig config = DaemonConfig.getConfiguration(configFactory);
+		injector.injectMembers(config);
+		return config;
+	}
+
+}
@@ -36,6 +36,12 @@ public class Messages extends NLS {
 	private static final String BUNDLE_NAME = Messages.class.getPackage().getName() + ".messages"; //$NON-NLS-1$
 	public static String CompilerCommandModuleProvider_0;
 	public static String CompilerCommandModule_0;
+	public static String DaemonCommandModuleProvider_0;
+	public static String DaemonCommandModule_0;
+	public static String DaemonCommandModule_1;
+	public static String DaemonCommandModule_2;
+	public static String DaemonCommandModule_3;
+	public static String DaemonCommandModule_4;
 	public static String ExtraLanguageListCommandModuleProvider_0;
 	static {
 		// initialize resource bundle
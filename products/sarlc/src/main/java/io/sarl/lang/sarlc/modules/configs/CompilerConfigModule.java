@@ -22,6 +22,7 @@
 package io.sarl.lang.sarlc.modules.configs;
 
 import static io.bootique.BQCoreModule.extend;
+import static io.sarl.lang.sarlc.configs.subconfigs.CompilerConfig.CLUSTER_SIZE_NAME;
 import static io.sarl.lang.sarlc.configs.subconfigs.CompilerConfig.COMPRESS_INLINE_EXPRESSIONS_NAME;
 import static io.sarl.lang.sarlc.configs.subconfigs.CompilerConfig.FILE_ENCODING_NAME;
 import static io.sarl.lang.sarlc.configs.subconfigs.CompilerConfig.GENERATE_CLONE_NAME;
@@ -30,10 +31,16 @@ import static io.sarl.lang.sarlc.configs.subconfigs.CompilerConfig.GENERATE_INLI
 import static io.sarl.lang.sarlc.configs.subconfigs.CompilerConfig.GENERATE_PURES_NAME;
 import static io.sarl.lang.sarlc.configs.subconfigs.CompilerConfig.GENERATE_SERIAL_IDS_NAME;
 import static io.sarl.lang.sarlc.configs.subconfigs.CompilerConfig.GENERATE_TOSTRING_NAME;
+import static io.sarl.lang.sarlc.configs.subconfigs.CompilerConfig.INCREMENTAL_NAME;
+import static io.sarl.lang.sarlc.configs.subconfigs.CompilerConfig.IN_MEMORY_NAME;
 import static io.sarl.lang.sarlc.configs.subconfigs.CompilerConfig.JAVA_COMPILER_NAME;
 import static io.sarl.lang.sarlc.configs.subconfigs.CompilerConfig.JAVA_VERSION_NAME;
+import static io.sarl.lang.sarlc.configs.subconfigs.CompilerConfig.JVM_TYPE_CACHE_NAME;
 import static io.sarl.lang.sarlc.configs.subconfigs.CompilerConfig.OUTPUT_STORAGES_NAME;
 import static io.sarl.lang.sarlc.configs.subconfigs.CompilerConfig.OUTPUT_TRACES_NAME;
+import static io.sarl.lang.sarlc.configs.subconfigs.CompilerConfig.PROFILING_REPORT_NAME;
+import static io.sarl.lang.sarlc.configs.subconfigs.CompilerConfig.STREAMING_NAME;
+import static io.sarl.lang.sarlc.configs.subconfigs.CompilerConfig.THREADS_NAME;
 
 import java.nio.charset.Charset;
 import java.text.MessageFormat;
@@ -84,6 +91,20 @@ public class CompilerConfigModule extends AbstractModule {
 
 	private static final String GENERATESERIALS_OPTION = "generate-serials"; //$NON-NLS-1$
 
+	private static final String INCREMENTAL_OPTION = "incremental"; //$NON-NLS-1$
+
+	private static final String THREADS_OPTION = "threads"; //$NON-NLS-1$
+
+	private static final String IN_MEMORY_OPTION = "in-memory"; //$NON-NLS-1$
+
+	private static final String JVM_TYPE_CACHE_OPTION = "jvm-type-cache"; //$NON-NLS-1$
+
+	private static final String PROFILE_OPTION = "profile"; //$NON-NLS-1$
+
+	private static final String STREAMING_OPTION = "streaming"; //$NON-NLS-1$
+
+	private static final String CLUSTER_SIZE_OPTION = "cluster-size"; //$NON-NLS-1$
+
 	@Override
 	protected void configure() {
 		VariableDecls.extend(binder()).declareVar(FILE_ENCODING_NAME);
@@ -189,6 +210,62 @@ public class CompilerConfigModule extends AbstractModule {
 				.valueOptionalWithDefault(trueFalseValues, Boolean.toString(GeneratorConfig2.DEFAULT_GENERATE_SERIAL_NUMBER_FIELD))
 				.build())
 			.mapConfigPath(GENERATESERIALS_OPTION, GENERATE_SERIAL_IDS_NAME);
+
+		VariableDecls.extend(binder()).declareVar(INCREMENTAL_NAME);
+		extend(binder()).addOption(OptionMetadata.builder(
+				INCREMENTAL_OPTION,
+				MessageFormat.format(Messages.CompilerConfigModule_14, Boolean.FALSE))
+				.valueOptionalWithDefault(trueFalseValues, Boolean.TRUE.toString())
+				.build())
+			.mapConfigPath(INCREMENTAL_OPTION, INCREMENTAL_NAME);
+
+		VariableDecls.extend(binder()).declareVar(THREADS_NAME);
+		extend(binder()).addOption(OptionMetadata.builder(
+				THREADS_OPTION,
+				MessageFormat.format(Messages.CompilerConfigModule_15, Integer.valueOf(1)))
+				.valueRequired(Messages.CompilerConfigModule_16)
+				.build())
+			.mapConfigPath(THREADS_OPTION, THREADS_NAME);
+
+		VariableDecls.extend(binder()).declareVar(IN_MEMORY_NAME);
+		extend(binder()).addOption(OptionMetadata.builder(
+				IN_MEMORY_OPTION,
+				MessageFormat.format(Messages.CompilerConfigModule_17, Boolean.FALSE))
+				.valueOptionalWithDefault(trueFalseValues, Boolean.TRUE.toString())
+				.build())
+			.mapConfigPath(IN_MEMORY_OPTION, IN_MEMORY_NAME);
+
+		VariableDecls.extend(binder()).declareVar(JVM_TYPE_CACHE_NAME);
+		extend(binder()).addOption(OptionMetadata.builder(
+				JVM_TYPE_CACHE_OPTION,
+				Messages.CompilerConfigModule_18)
+				.valueRequired(Messages.CompilerConfigModule_19)
+				.build())
+			.mapConfigPath(JVM_TYPE_CACHE_OPTION, JVM_TYPE_CACHE_NAME);
+
+		VariableDecls.extend(binder()).declareVar(PROFILING_REPORT_NAME);
+		extend(binder()).addOption(OptionMetadata.builder(
+				PROFILE_OPTION,
+				Messages.CompilerConfigModule_20)
+				.valueRequired(Messages.CompilerConfigModule_21)
+				.build())
+			.mapConfigPath(PROFILE_OPTION, PROFILING_REPORT_NAME);
+
+		VariableDecls.extend(binder()).declareVar(STREAMING_NAME);
+		extend(binder()).addOption(OptionMetadata.builder(
+				STREAMING_OPTION,
+				MessageFormat.format(Messages.CompilerConfigModule_22, Boolean.FALSE))
+				.valueOptionalWithDefault(trueFalseValues, Boolean.TRUE.toString())
+				.build())
+			.mapConfigPath(STREAMING_OPTION, STREAMING_NAME);
+
+		VariableDecls.extend(binder()).declareVar(CLUSTER_SIZE_NAME);
+		extend(binder()).addOption(OptionMetadata.builder(
+				CLUSTER_SIZE_OPTION,
+				Messages.CompilerConfigModule_23)
+				.valueRequired(Messages.CompilerConfigModule_24)
+				.build())
+			.mapConfigPath(CLUSTER_SIZE_OPTION, CLUSTER_SIZE_NAME);
 	}
 
 	/** Provide a Java batch compiler based on the Bootique configuration.
@@ -25,6 +25,7 @@ import static io.bootique.BQCoreModule.extend;
 import static io.sarl.lang.sarlc.configs.subconfigs.ValidatorConfig.ALL_ERRORS_NAME;
 import static io.sarl.lang.sarlc.configs.subconfigs.ValidatorConfig.ALL_WARNINGS_NAME;
 import static io.sarl.lang.sarlc.configs.subconfigs.ValidatorConfig.IGNORE_WARNINGS_NAME;
+import static io.sarl.lang.sarlc.configs.subconfigs.ValidatorConfig.MAX_ERRORS_NAME;
 
 import com.google.inject.AbstractModule;
 import io.bootique.meta.application.OptionMetadata;
@@ -46,6 +47,8 @@ public class ValidatorConfigModule extends AbstractModule {
 
 	private static final String WERROR_OPTION = "werror"; //$NON-NLS-1$
 
+	private static final String MAX_ERRORS_OPTION = "max-errors"; //$NON-NLS-1$
+
 	@Override
 	protected void configure() {
 		VariableDecls.extend(binder()).declareVar(IGNORE_WARNINGS_NAME);
@@ -65,6 +68,13 @@ public class ValidatorConfigModule extends AbstractModule {
 				WERROR_OPTION, Messages.ValidatorConfigModule_1)
 				.build())
 			.mapConfigPath(WERROR_OPTION, ALL_ERRORS_NAME);
+
+		VariableDecls.extend(binder()).declareVar(MAX_ERRORS_NAME);
+		extend(binder()).addOption(OptionMetadata.builder(
+				MAX_ERRORS_OPTION, Messages.ValidatorConfigModule_3)
+				.valueRequired(Messages.ValidatorConfigModule_4)
+				.build())
+			.mapConfigPath(MAX_ERRORS_OPTION, MAX_ERRORS_NAME);
 	}
 
 }
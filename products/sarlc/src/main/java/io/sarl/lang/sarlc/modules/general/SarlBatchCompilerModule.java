@@ -30,6 +30,7 @@ import com.google.inject.Provider;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
 import org.eclipse.xtext.diagnostics.Severity;
+import org.eclipse.xtext.resource.SynchronizedXtextResourceSet;
 import org.eclipse.xtext.util.Strings;
 
 import io.sarl.lang.compiler.batch.IJavaBatchCompiler;
@@ -128,6 +129,18 @@ public class SarlBatchCompilerModule extends AbstractModule {
 		compiler.setGenerateToStringFunctions(compilerConfig.getGenerateToString());
 		compiler.setGenerateCloneFunctions(compilerConfig.getGenerateClone());
 		compiler.setGenerateSerialNumberFields(compilerConfig.getGenerateSerialIds());
+		compiler.setIncrementalCompilation(compilerConfig.getIncremental());
+		compiler.setParallelism(compilerConfig.getThreads());
+		compiler.setInMemoryCompilation(compilerConfig.getInMemory());
+		compiler.setJvmTypeCacheDirectory(compilerConfig.getJvmTypeCache());
+		compiler.setProfilingReportFile(compilerConfig.getProfilingReport());
+		compiler.setStreamingCompilation(compilerConfig.getStreaming());
+		compiler.setClusterSize(compilerConfig.getClusterSize());
+		compiler.setMaxErrorCount(validatorConfig.getMaxErrors());
+		if (compiler.getParallelism() > 1) {
+			// The parallel stages need a thread-safe resource set.
+			compiler.setResourceSetProvider(() -> injector.getInstance(SynchronizedXtextResourceSet.class));
+		}
 
 		if (validatorConfig.getAllErrors()) {
 			compiler.setAllWarningSeverities(Severity.ERROR);
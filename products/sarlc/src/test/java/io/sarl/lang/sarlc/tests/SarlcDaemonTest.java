@@ -0,0 +1,265 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sarl.lang.sarlc.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.sarl.lang.sarlc.configs.DaemonConfig;
+import io.sarl.lang.sarlc.daemon.DaemonDescriptor;
+import io.sarl.lang.sarlc.daemon.SarlcDaemon;
+import io.sarl.lang.sarlc.daemon.SarlcDaemonClient;
+import io.sarl.maven.bootiqueapp.BootiqueMain;
+
+/** Tests for {@code SarlcDaemon}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ */
+@SuppressWarnings("all")
+@DisplayName("Compilation daemon")
+public class SarlcDaemonTest {
+
+	@Test
+	@DisplayName("absolutize")
+	public void absolutize() throws IOException {
+		final File cwd = Files.createTempDirectory("sarlc").toFile();
+		try {
+			final File src = new File(cwd, "src");
+			src.mkdirs();
+			final List<String> args = SarlcDaemon.absolutize(cwd, Arrays.asList(
+					"--directory", "gen",
+					"--cp=lib/a.jar" + File.pathSeparator + "/b.jar",
+					"--wall",
+					"src",
+					"unknown"));
+			assertEquals(Arrays.asList(
+					"--directory", new File(cwd, "gen").getAbsolutePath(),
+					"--cp=" + new File(cwd, "lib/a.jar").getAbsolutePath() + File.pathSeparator + "/b.jar",
+					"--wall",
+					src.getAbsolutePath(),
+					"unknown"), args);
+		} finally {
+			new File(cwd, "src").delete();
+			cwd.delete();
+		}
+	}
+
+	@Test
+	@DisplayName("descriptor")
+	public void descriptor() throws IOException {
+		final File file = Files.createTempFile("sarlc", ".properties").toFile();
+		try {
+			final String token = DaemonDescriptor.newToken();
+			new DaemonDescriptor(1234, token).write(file);
+			final DaemonDescriptor descriptor = DaemonDescriptor.read(file);
+			assertNotNull(descriptor);
+			assertEquals(1234, descriptor.getPort());
+			assertEquals(token, descriptor.getToken());
+		} finally {
+			file.delete();
+		}
+		assertNull(DaemonDescriptor.read(file));
+	}
+
+	@Test
+	@DisplayName("no daemon")
+	public void noDaemon() throws IOException {
+		final File file = Files.createTempFile("sarlc", ".properties").toFile();
+		file.delete();
+		assertFalse(SarlcDaemonClient.isRunning(file));
+		assertFalse(SarlcDaemonClient.submit(file, file.getParentFile(), Arrays.asList("src"), System.out).isPresent());
+	}
+
+	@Test
+	@DisplayName("rejected clients")
+	public void rejectedClients() throws Exception {
+		final File file = Files.createTempFile("sarlc", ".properties").toFile();
+		file.delete();
+		final DaemonConfig config = new DaemonConfig();
+		config.setIdleTimeout(2);
+		final SarlcDaemon daemon = new SarlcDaemon(config, file, Logger.getAnonymousLogger()) {
+			@Override
+			protected int getRequestTimeout() {
+				return 200;
+			}
+		};
+		final Thread thread = new Thread(() -> {
+			try {
+				daemon.run();
+			} catch (IOException exception) {
+				throw new RuntimeException(exception);
+			}
+		});
+		thread.start();
+		try {
+			DaemonDescriptor descriptor = null;
+			for (int i = 0; descriptor == null && i < 100; ++i) {
+				Thread.sleep(50);
+				descriptor = DaemonDescriptor.read(file);
+			}
+			assertNotNull(descriptor);
+
+			// The connection of a client that does not send its request is closed by the daemon
+			try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), descriptor.getPort())) {
+				socket.setSoTimeout(5000);
+				assertEquals(-1, socket.getInputStream().read());
+			}
+
+			// The connection of a client with an invalid token is closed by the daemon
+			try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), descriptor.getPort())) {
+				socket.setSoTimeout(5000);
+				final char[] chars = descriptor.getToken().toCharArray();
+				chars[0] = chars[0] == 'a' ? 'b' : 'a';
+				final byte[] token = new String(chars).getBytes(StandardCharsets.UTF_8);
+				final DataOutputStream output = new DataOutputStream(socket.getOutputStream());
+				output.writeInt(token.length);
+				output.write(token);
+				output.flush();
+				assertEquals(-1, socket.getInputStream().read());
+			}
+
+			assertTrue(SarlcDaemonClient.isRunning(file));
+		} finally {
+			thread.join(10000);
+		}
+		assertFalse(thread.isAlive());
+	}
+
+	@Test
+	@DisplayName("oversized requests")
+	public void oversizedRequests() throws Exception {
+		final File file = Files.createTempFile("sarlc", ".properties").toFile();
+		file.delete();
+		final DaemonConfig config = new DaemonConfig();
+		config.setIdleTimeout(2);
+		final SarlcDaemon daemon = new SarlcDaemon(config, file, Logger.getAnonymousLogger()) {
+			@Override
+			protected int getRequestTimeout() {
+				return 200;
+			}
+		};
+		final Thread thread = new Thread(() -> {
+			try {
+				daemon.run();
+			} catch (IOException exception) {
+				throw new RuntimeException(exception);
+			}
+		});
+		thread.start();
+		try {
+			DaemonDescriptor descriptor = null;
+			for (int i = 0; descriptor == null && i < 100; ++i) {
+				Thread.sleep(50);
+				descriptor = DaemonDescriptor.read(file);
+			}
+			assertNotNull(descriptor);
+			final byte[] token = descriptor.getToken().getBytes(StandardCharsets.UTF_8);
+
+			// The connection of a client with a huge token is closed by the daemon without reading the token
+			try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), descriptor.getPort())) {
+				socket.setSoTimeout(5000);
+				final DataOutputStream output = new DataOutputStream(socket.getOutputStream());
+				output.writeInt(Integer.MAX_VALUE);
+				output.flush();
+				assertEquals(-1, socket.getInputStream().read());
+			}
+
+			// The request with a huge working directory is rejected
+			try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), descriptor.getPort())) {
+				socket.setSoTimeout(5000);
+				final DataOutputStream output = new DataOutputStream(socket.getOutputStream());
+				output.writeInt(token.length);
+				output.write(token);
+				output.writeInt(Integer.MAX_VALUE);
+				output.flush();
+				assertRejected(socket);
+			}
+
+			// The request with a huge number of arguments is rejected
+			try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), descriptor.getPort())) {
+				socket.setSoTimeout(5000);
+				final DataOutputStream output = new DataOutputStream(socket.getOutputStream());
+				output.writeInt(token.length);
+				output.write(token);
+				output.writeInt(1);
+				output.write('.');
+				output.writeInt(Integer.MAX_VALUE);
+				output.flush();
+				assertRejected(socket);
+			}
+
+			// The request with a huge argument is rejected
+			try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), descriptor.getPort())) {
+				socket.setSoTimeout(5000);
+				final DataOutputStream output = new DataOutputStream(socket.getOutputStream());
+				output.writeInt(token.length);
+				output.write(token);
+				output.writeInt(1);
+				output.write('.');
+				output.writeInt(1);
+				output.writeInt(Integer.MAX_VALUE);
+				output.flush();
+				assertRejected(socket);
+			}
+
+			assertTrue(SarlcDaemonClient.isRunning(file));
+		} finally {
+			thread.join(10000);
+		}
+		assertFalse(thread.isAlive());
+	}
+
+	private static void assertRejected(Socket socket) throws IOException {
+		final DataInputStream input = new DataInputStream(socket.getInputStream());
+		// Output line with the error message
+		assertEquals('O', input.readByte());
+		final byte[] message = new byte[input.readInt()];
+		input.readFully(message);
+		// Exit code
+		assertEquals('X', input.readByte());
+		assertEquals(BootiqueMain.ERROR_CODE, input.readInt());
+		assertEquals(-1, input.read());
+	}
+
+}
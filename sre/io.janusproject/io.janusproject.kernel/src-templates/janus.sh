@@ -9,8 +9,14 @@ if [ -n "$JAVA_HOME" ]; then
   JAVA="$JAVA_HOME/bin/java"
 fi
 
+# Use the class-data-sharing archive that is generated next to the launcher, if any
+CDS_OPTS=()
+if [ -f "$MYSELF.jsa" ]; then
+  CDS_OPTS=("-XX:SharedArchiveFile=$MYSELF.jsa" "-Xshare:auto")
+fi
+
 if ( which $JAVA 2>&1 > /dev/null ); then
-  exec $JAVA -Djanus.programName="$PROGRAMNAME" -cp "$MYSELF" "{cliRunnerMainClass}" "$@"
+  exec $JAVA "${CDS_OPTS[@]}" -Djanus.programName="$PROGRAMNAME" -cp "$MYSELF" "{cliRunnerMainClass}" "$@"
 else
   echo "Cannot find Java, please set your JAVA_HOME"
 fi
@@ -0,0 +1,111 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sarl.sre.boot.configs.subconfigs;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.google.common.base.Strings;
+
+/**
+ * Policy to apply when the buffer of the asynchronous logging service is full.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ */
+public enum AsyncLoggingOverflowPolicy {
+
+	/** The log record is written by the thread that has emitted it, as if the logging was synchronous.
+	 * No record is lost, but the order of the records may not be preserved.
+	 */
+	CALLER_RUNS,
+
+	/** The thread that has emitted the log record is waiting until a place is available into the buffer.
+	 */
+	BLOCK,
+
+	/** The log record is discarded if its level is lower than {@code WARNING}; otherwise the record
+	 * is written by the thread that has emitted it. The number of discarded records is logged when the buffer
+	 * is drained.
+	 */
+	DISCARD;
+
+	/** Parse the given case insensitive string for obtaining the policy.
+	 *
+	 * @param name the string to parse.
+	 * @return the policy.
+	 * @throws NullPointerException when the specified name is null
+	 */
+	@JsonCreator
+	public static AsyncLoggingOverflowPolicy valueOfCaseInsensitive(String name) {
+		if (Strings.isNullOrEmpty(name)) {
+			throw new NullPointerException("name is null"); //$NON-NLS-1$
+		}
+		try {
+			final AsyncLoggingOverflowPolicy type = valueOf(name.toUpperCase());
+			if (type != null) {
+				return type;
+			}
+		} catch (Throwable exception) {
+			//
+		}
+		throw new IllegalArgumentException("illegal value for name: " + name); //$NON-NLS-1$
+	}
+
+	/** Replies the Json string representation of this policy.
+	 *
+	 * @return the Json string representation.
+	 */
+	@JsonValue
+	public String toJsonString() {
+		return name().toLowerCase();
+	}
+
+	/** Replies the default overflow policy.
+	 *
+	 * @return the default policy.
+	 */
+	public static AsyncLoggingOverflowPolicy getDefault() {
+		return CALLER_RUNS;
+	}
+
+	/** Replies the Json labels for the overflow policies.
+	 *
+	 * @return the labels.
+	 */
+	public static String getJsonLabels() {
+		final StringBuilder buffer = new StringBuilder();
+		boolean first = true;
+		for (final AsyncLoggingOverflowPolicy type : values()) {
+			if (first) {
+				first = false;
+			} else {
+				buffer.append(", "); //$NON-NLS-1$
+			}
+			buffer.append(type.toJsonString());
+		}
+		return buffer.toString();
+	}
+
+}
@@ -0,0 +1,56 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.sre.services.executor;
+
+/**
+ * Lanes of the executor service. Each lane may be run by a dedicated thread pool in order to
+ * prevent a burst of tasks in a lane to starve the tasks of the other lanes.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ */
+public enum ExecutorLane {
+
+	/** Tasks of the kernel, e.g. the destruction of the spaces, or the purge of the thread pools.
+	 * The code of the agents, including their initialization, is never run into this lane.
+	 */
+	KERNEL,
+
+	/** Event handlers of the agents and tasks that are submitted by the agents. It is the general thread pool.
+	 */
+	AGENT_EVENTS,
+
+	/** Event handlers that are marked as latency-critical.
+	 */
+	LATENCY_CRITICAL,
+
+	/** Scheduled and periodic tasks.
+	 */
+	SCHEDULED_TASKS,
+
+	/** Tasks for which the caller is blocked until their termination, e.g. the parallel evaluation of the guards.
+	 */
+	BLOCKING;
+
+}
@@ -0,0 +1,48 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.sre.spaces;
+
+/**
+ * Policy that is applied when an event is emitted to a receiver that has no more credit, i.e.
+ * when the maximal number of events that may be pending into its event bus is reached.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ */
+public enum BackPressurePolicy {
+
+	/** The emitter is blocked until the receiver has a free credit, or until the back-pressure timeout is reached.
+	 * In the second case, the event is delivered to the receiver.
+	 */
+	BLOCK,
+
+	/** The event is not delivered to the receiver, and the emitter is notified with a {@link BackPressureException}.
+	 */
+	FAIL_FAST,
+
+	/** The event is delivered to the receiver, and the back-pressure is reported to the emitter.
+	 */
+	REPORT;
+
+}
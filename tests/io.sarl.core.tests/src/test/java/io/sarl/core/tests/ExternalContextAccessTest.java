@@ -22,6 +22,7 @@ package io.sarl.core.tests;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentLinkedDeque;
 
@@ -60,7 +61,7 @@ public class ExternalContextAccessTest extends AbstractSarlCoreTest<Capacity> {
 	 */
 	@Test
 	public void memberCount() {
-		assertEquals(10, this.type.getDeclaredMethods().length);
+		assertEquals(11, this.type.getDeclaredMethods().length);
 	}
 
 	/**
@@ -70,6 +71,13 @@ public class ExternalContextAccessTest extends AbstractSarlCoreTest<Capacity> {
 		assertMethod("getAllContexts", ConcurrentLinkedDeque.class); //$NON-NLS-1$
 	}
 
+	/**
+	 */
+	@Test
+	public void getAllContextsSnapshot() {
+		assertMethod("getAllContextsSnapshot", List.class); //$NON-NLS-1$
+	}
+
 	/**
 	 */
 	@Test
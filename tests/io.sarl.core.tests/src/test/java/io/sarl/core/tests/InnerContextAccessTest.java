@@ -22,6 +22,7 @@ package io.sarl.core.tests;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentSkipListSet;
 
@@ -58,7 +59,7 @@ public class InnerContextAccessTest extends AbstractSarlCoreTest<Capacity> {
 	 */
 	@Test
 	public void memberCount() {
-		assertEquals(8, this.type.getDeclaredMethods().length);
+		assertEquals(9, this.type.getDeclaredMethods().length);
 	}
 
 	/**
@@ -89,6 +90,13 @@ public class InnerContextAccessTest extends AbstractSarlCoreTest<Capacity> {
 		assertMethod("getMemberAgents", ConcurrentSkipListSet.class); //$NON-NLS-1$
 	}
 
+	/**
+	 */
+	@Test
+	public void getMemberAgentsSnapshot() {
+		assertMethod("getMemberAgentsSnapshot", List.class); //$NON-NLS-1$
+	}
+
 	/**
 	 */
 	@Test
@@ -0,0 +1,123 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.tests.modules.compiler.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.sarl.lang.compiler.LanguageProfiler;
+import io.sarl.lang.compiler.LanguageProfiler.Category;
+import io.sarl.lang.compiler.LanguageProfiler.Measure;
+import io.sarl.lang.compiler.batch.CompilationProfiler;
+import io.sarl.lang.compiler.batch.CompilationProfiler.ResourceStatistics;
+import io.sarl.lang.compiler.batch.CompilationStage;
+import io.sarl.tests.api.AbstractSarlTest;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+@DisplayName("CompilationProfiler")
+@Tag("core")
+public class CompilationProfilerTest extends AbstractSarlTest {
+
+	private LanguageProfiler languageProfiler;
+
+	private CompilationProfiler profiler;
+
+	@BeforeEach
+	public void setUp() {
+		this.languageProfiler = new LanguageProfiler();
+		this.profiler = new CompilationProfiler(this.languageProfiler);
+	}
+
+	@Test
+	public void languageProfilerDisabled() {
+		this.languageProfiler.record(Category.CHECK, "check1", 10, 20);
+		assertTrue(this.languageProfiler.getMeasures(Category.CHECK).isEmpty());
+	}
+
+	@Test
+	public void resourcesSortedByDuration() {
+		this.profiler.record(CompilationStage.VALIDATION, "a.sarl", 10, 100);
+		this.profiler.record(CompilationStage.VALIDATION, "b.sarl", 30, 100);
+		this.profiler.record(CompilationStage.VALIDATION, "a.sarl", 5, 50);
+		final List<ResourceStatistics> stats = this.profiler.getResourceStatistics(CompilationStage.VALIDATION);
+		assertEquals(2, stats.size());
+		assertEquals("b.sarl", stats.get(0).getResource());
+		assertEquals("a.sarl", stats.get(1).getResource());
+		assertEquals(2, stats.get(1).getRuns());
+		assertEquals(15, stats.get(1).getTotalDuration());
+		assertEquals(150, stats.get(1).getTotalAllocatedBytes());
+		assertTrue(this.profiler.getResourceStatistics(CompilationStage.JAVA_GENERATION).isEmpty());
+	}
+
+	@Test
+	public void checksSortedByDuration() {
+		this.profiler.startLanguageProfiling();
+		this.languageProfiler.record(Category.CHECK, "check1", 10, 20);
+		this.languageProfiler.record(Category.CHECK, "check2", 50, 20);
+		this.languageProfiler.record(Category.CHECK, "check1", 10, 20);
+		this.profiler.stopLanguageProfiling();
+		this.languageProfiler.record(Category.CHECK, "check3", 100, 20);
+		final List<Entry<String, Measure>> stats = this.profiler.getLanguageStatistics(Category.CHECK);
+		assertEquals(2, stats.size());
+		assertEquals("check2", stats.get(0).getKey());
+		assertEquals("check1", stats.get(1).getKey());
+		assertEquals(2, stats.get(1).getValue().getCount());
+		assertEquals(20, stats.get(1).getValue().getTotalDuration());
+	}
+
+	@Test
+	public void toJson() {
+		this.profiler.stageStarted(CompilationStage.VALIDATION);
+		this.profiler.stageFinished(CompilationStage.VALIDATION);
+		this.profiler.record(CompilationStage.VALIDATION, "a\"b.sarl", 10, 100);
+		this.profiler.startLanguageProfiling();
+		this.languageProfiler.record(Category.CHECK, "check1", 10, 20);
+		final String json = this.profiler.toJson();
+		assertTrue(json.contains("\"stages\": [\n    {\"name\": \"VALIDATION\", \"count\": 1"));
+		assertTrue(json.contains("\"VALIDATION\": [\n      {\"name\": \"a\\\"b.sarl\", \"count\": 1, \"duration\": 10, \"allocatedBytes\": 100}"));
+		assertTrue(json.contains("\"check\": [\n    {\"name\": \"check1\", \"count\": 1, \"duration\": 10, \"allocatedBytes\": 20}"));
+		assertTrue(json.contains("\"type_resolution\": [\n  ]"));
+	}
+
+	@Test
+	public void toReport() {
+		this.profiler.record(CompilationStage.JAVA_GENERATION, "a.sarl", 10, 100);
+		this.profiler.record(CompilationStage.JAVA_GENERATION, "b.sarl", 30, 100);
+		final String report = this.profiler.toReport(1);
+		assertTrue(report.contains("b.sarl"));
+		assertTrue(!report.contains("a.sarl"));
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.tests.modules.compiler.batch;
+
+import static io.sarl.tests.api.tools.TestUtils.multilineString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.util.Collections;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.sarl.lang.compiler.batch.InMemoryJavaCompiler;
+import io.sarl.tests.api.AbstractSarlTest;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+@DisplayName("InMemoryJavaCompiler")
+@Tag("core")
+@Tag("compiler-run")
+public class InMemoryJavaCompilerTest extends AbstractSarlTest {
+
+	private static final String TYPE1 = multilineString(
+			"package io.sarl.lang.tests.compiler.batch;",
+			"public class Type1 {",
+			"  public int fct() { return new Type2().fct2(); }",
+			"}"
+			);
+
+	private static final String TYPE2 = multilineString(
+			"package io.sarl.lang.tests.compiler.batch;",
+			"public class Type2 {",
+			"  public int fct2() { return 1; }",
+			"}"
+			);
+
+	private InMemoryJavaCompiler compiler;
+
+	@BeforeEach
+	public void setUp() {
+		this.compiler = new InMemoryJavaCompiler();
+		this.compiler.addSource("io/sarl/lang/tests/compiler/batch/Type1.java", TYPE1);
+		this.compiler.addSource("io/sarl/lang/tests/compiler/batch/Type2.java", TYPE2);
+	}
+
+	private boolean compile() {
+		return this.compiler.compileSources(Collections.emptyList(), Collections.emptyList(), null,
+				false, new StringWriter(), null, new NullProgressMonitor());
+	}
+
+	@Test
+	public void isAvailable() {
+		assertTrue(InMemoryJavaCompiler.isAvailable());
+	}
+
+	@Test
+	public void compileSources() {
+		assertTrue(compile());
+		assertEquals(2, this.compiler.getClasses().size());
+		assertNotNull(this.compiler.getClasses().get("io.sarl.lang.tests.compiler.batch.Type1"));
+		assertNotNull(this.compiler.getClasses().get("io.sarl.lang.tests.compiler.batch.Type2"));
+	}
+
+	@Test
+	public void compileSources_error() {
+		this.compiler.addSource("io/sarl/lang/tests/compiler/batch/Type3.java",
+				"package io.sarl.lang.tests.compiler.batch; public class Type3 { Unknown x; }");
+		assertFalse(compile());
+	}
+
+	@Test
+	public void createClassLoader() throws Exception {
+		assertTrue(compile());
+		final ClassLoader loader = this.compiler.createClassLoader(Collections.emptyList(), getClass().getClassLoader());
+		final Class<?> type = loader.loadClass("io.sarl.lang.tests.compiler.batch.Type1");
+		assertEquals(loader, type.getClassLoader());
+		final Object instance = type.getDeclaredConstructor().newInstance();
+		assertEquals(1, type.getMethod("fct").invoke(instance));
+	}
+
+}
@@ -0,0 +1,202 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.tests.modules.compiler.batch;
+
+import static io.sarl.tests.api.tools.TestUtils.multilineString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+import com.google.common.io.Files;
+import org.arakhne.afc.vmutil.FileSystem;
+import org.eclipse.xtext.validation.Issue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.sarl.lang.compiler.batch.SarlBatchCompiler;
+import io.sarl.tests.api.AbstractSarlTest;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+@DisplayName("SarlBatchCompiler - incremental")
+@Tag("core")
+@Tag("compiler-run")
+public class IncrementalSarlBatchCompilerTest extends AbstractSarlTest {
+
+	private static final String CAPACITY_CODE = multilineString(
+			"package io.sarl.lang.tests.compiler.batch",
+			"capacity MyCapacity {",
+			"  def myaction(a : int, b : int = 4) : int",
+			"}"
+			);
+
+	private static final String CAPACITY_CODE_NEW_SIGNATURE = multilineString(
+			"package io.sarl.lang.tests.compiler.batch",
+			"capacity MyCapacity {",
+			"  def myaction(a : int, b : int = 4) : int",
+			"  def myaction2 : int",
+			"}"
+			);
+
+	private static final String AGENT_CODE = multilineString(
+			"package io.sarl.lang.tests.compiler.batch",
+			"agent MyAgent {",
+			"  uses MyCapacity",
+			"  def oneFunction : int {",
+			"    myaction(1)",
+			"  }",
+			"}"
+			);
+
+	private static final String AGENT_CODE_NEW_BODY = multilineString(
+			"package io.sarl.lang.tests.compiler.batch",
+			"agent MyAgent {",
+			"  uses MyCapacity",
+			"  def oneFunction : int {",
+			"    myaction(2, 3)",
+			"  }",
+			"}"
+			);
+
+	private static final String OTHER_CODE = multilineString(
+			"package io.sarl.lang.tests.compiler.batch",
+			"class MyClass {",
+			"  def fct : int {",
+			"    1",
+			"  }",
+			"}"
+			);
+
+	@Inject
+	private Provider<SarlBatchCompiler> compilerProvider;
+
+	private File tempDirectory;
+
+	private File sourceDirectory;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		this.tempDirectory = FileSystem.createTempDirectory("sarltests_" + getClass().getSimpleName()+ "_", "tmp");
+		this.sourceDirectory = new File(this.tempDirectory, "src");
+		this.sourceDirectory.mkdirs();
+		new File(this.tempDirectory, "src-gen").mkdirs();
+		new File(this.tempDirectory, "build").mkdirs();
+		new File(this.tempDirectory, "bin").mkdirs();
+		write("capacity.sarl", CAPACITY_CODE);
+		write("agent.sarl", AGENT_CODE);
+		write("other.sarl", OTHER_CODE);
+	}
+
+	@AfterEach
+	public void tearDown() throws Exception {
+		FileSystem.delete(this.tempDirectory);
+	}
+
+	private void write(String filename, String code) throws Exception {
+		Files.write(code.getBytes(), new File(this.sourceDirectory, filename));
+	}
+
+	private List<String> compile() throws Exception {
+		SarlBatchCompiler compiler = this.compilerProvider.get();
+		compiler.setBasePath(this.tempDirectory.getAbsolutePath());
+		compiler.setSourcePath(this.sourceDirectory.getAbsolutePath());
+		compiler.setOutputPath(new File(this.tempDirectory, "src-gen"));
+		compiler.setClassOutputPath(new File(this.tempDirectory, "bin"));
+		compiler.setTempDirectory(new File(this.tempDirectory, "build"));
+		compiler.setJavaCompilerVerbose(false);
+		compiler.setGenerateInlineAnnotation(false);
+		compiler.setReportInternalProblemsAsIssues(true);
+		compiler.setIncrementalCompilation(true);
+		final List<Issue> issues = new ArrayList<>();
+		compiler.addIssueMessageListener((issue, uri, message) -> {
+			issues.add(issue);
+		});
+		final List<String> compiled = new ArrayList<>();
+		compiler.addCompiledResourceReceiver(it -> compiled.add(it.getURI().lastSegment()));
+		if (!compiler.compile()) {
+			throw new RuntimeException("Compilation error: " + issues.toString());
+		}
+		compiled.sort(null);
+		return compiled;
+	}
+
+	@Test
+	@DisplayName("Build state is saved")
+	public void buildState() throws Exception {
+		compile();
+		assertTrue(new File(new File(this.tempDirectory, "src-gen"), ".sarlc.state").isFile());
+	}
+
+	@Test
+	@DisplayName("No change")
+	public void noChange() throws Exception {
+		assertEquals(3, compile().size());
+		assertEquals(0, compile().size());
+	}
+
+	@Test
+	@DisplayName("Body change")
+	public void bodyChange() throws Exception {
+		assertEquals(3, compile().size());
+		write("agent.sarl", AGENT_CODE_NEW_BODY);
+		final List<String> compiled = compile();
+		assertEquals(1, compiled.size());
+		assertEquals("agent.sarl", compiled.get(0));
+	}
+
+	@Test
+	@DisplayName("Signature change")
+	public void signatureChange() throws Exception {
+		assertEquals(3, compile().size());
+		write("capacity.sarl", CAPACITY_CODE_NEW_SIGNATURE);
+		final List<String> compiled = compile();
+		assertEquals(2, compiled.size());
+		assertEquals("agent.sarl", compiled.get(0));
+		assertEquals("capacity.sarl", compiled.get(1));
+	}
+
+	@Test
+	@DisplayName("Deleted file")
+	public void deletedFile() throws Exception {
+		assertEquals(3, compile().size());
+		final File javaFile = new File(new File(this.tempDirectory, "src-gen"),
+				"io/sarl/lang/tests/compiler/batch/MyClass.java");
+		assertTrue(javaFile.isFile());
+		new File(this.sourceDirectory, "other.sarl").delete();
+		assertEquals(0, compile().size());
+		assertTrue(!javaFile.exists());
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.tests.modules.compiler.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+
+import org.arakhne.afc.vmutil.FileSystem;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.xtext.common.types.JvmDeclaredType;
+import org.eclipse.xtext.common.types.JvmGenericType;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.common.types.JvmParameterizedTypeReference;
+import org.eclipse.xtext.common.types.JvmType;
+import org.eclipse.xtext.common.types.TypesFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.sarl.lang.compiler.batch.JvmTypeCache;
+import io.sarl.tests.api.AbstractSarlTest;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+@DisplayName("JvmTypeCache")
+@Tag("core")
+public class JvmTypeCacheTest extends AbstractSarlTest {
+
+	private static final String TYPE_NAME = "io.sarl.lang.tests.compiler.batch.Type1";
+
+	private static final URI TYPE_URI = URI.createURI("java:/Objects/" + TYPE_NAME);
+
+	private File root;
+
+	private File jar;
+
+	private JvmTypeCache cache;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		this.root = Files.createTempDirectory("jvmtypes").toFile();
+		this.jar = new File(this.root, "lib.jar");
+		writeJar(1);
+		this.cache = new JvmTypeCache(new File(this.root, "cache"));
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		FileSystem.delete(this.root);
+	}
+
+	private void writeJar(int content) throws IOException {
+		try (OutputStream stream = new FileOutputStream(this.jar)) {
+			stream.write(content);
+		}
+	}
+
+	private static JvmGenericType createType() {
+		final JvmGenericType type = TypesFactory.eINSTANCE.createJvmGenericType();
+		type.setPackageName("io.sarl.lang.tests.compiler.batch");
+		type.setSimpleName("Type1");
+		final JvmOperation operation = TypesFactory.eINSTANCE.createJvmOperation();
+		operation.setSimpleName("fct");
+		final JvmType proxy = TypesFactory.eINSTANCE.createJvmGenericType();
+		((InternalEObject) proxy).eSetProxyURI(URI.createURI("java:/Objects/java.lang.String#java.lang.String"));
+		final JvmParameterizedTypeReference reference = TypesFactory.eINSTANCE.createJvmParameterizedTypeReference();
+		reference.setType(proxy);
+		operation.setReturnType(reference);
+		type.getMembers().add(operation);
+		return type;
+	}
+
+	@Test
+	public void storeAndLoad() {
+		assertFalse(this.cache.contains(this.jar, TYPE_NAME));
+		assertNull(this.cache.load(this.jar, TYPE_NAME, TYPE_URI));
+
+		this.cache.store(this.jar, TYPE_NAME, TYPE_URI, createType());
+		assertTrue(this.cache.contains(this.jar, TYPE_NAME));
+
+		final JvmDeclaredType type = this.cache.load(this.jar, TYPE_NAME, TYPE_URI);
+		assertNotNull(type);
+		assertEquals(TYPE_NAME, type.getIdentifier());
+		assertEquals(1, type.getMembers().size());
+		final JvmOperation operation = (JvmOperation) type.getMembers().get(0);
+		assertEquals("fct", operation.getSimpleName());
+		final JvmType returnType = ((JvmParameterizedTypeReference) operation.getReturnType()).getType();
+		assertTrue(returnType.eIsProxy());
+		assertEquals("java:/Objects/java.lang.String#java.lang.String", ((InternalEObject) returnType).eProxyURI().toString());
+	}
+
+	@Test
+	public void changedJar() throws IOException {
+		this.cache.store(this.jar, TYPE_NAME, TYPE_URI, createType());
+		assertTrue(this.cache.contains(this.jar, TYPE_NAME));
+		writeJar(2);
+		this.jar.setLastModified(this.jar.lastModified() + 2000);
+		assertFalse(this.cache.contains(this.jar, TYPE_NAME));
+	}
+
+	@Test
+	public void sharedBetweenCaches() {
+		this.cache.store(this.jar, TYPE_NAME, TYPE_URI, createType());
+		final JvmTypeCache otherCache = new JvmTypeCache(new File(this.root, "cache"));
+		assertTrue(otherCache.contains(this.jar, TYPE_NAME));
+		assertNotNull(otherCache.load(this.jar, TYPE_NAME, TYPE_URI));
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.tests.modules.compiler.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+import org.arakhne.afc.vmutil.FileSystem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.sarl.lang.compiler.batch.CompilationStage;
+import io.sarl.lang.compiler.batch.CompilationStageProfiler.StageStatistics;
+import io.sarl.lang.tests.modules.compiler.batch.benchmark.SarlCompilerBenchmark;
+import io.sarl.lang.tests.modules.compiler.batch.benchmark.SarlCorpusGenerator;
+import io.sarl.tests.api.AbstractSarlTest;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+@DisplayName("SarlCompilerBenchmark")
+@Tag("core")
+@Tag("compiler-run")
+public class SarlCompilerBenchmarkTest extends AbstractSarlTest {
+
+	@Test
+	@DisplayName("Corpus generation")
+	public void generate() throws Exception {
+		File tempDirectory = FileSystem.createTempDirectory("sarltests_" + getClass().getSimpleName()+ "_", "tmp");
+		try {
+			SarlCorpusGenerator generator = new SarlCorpusGenerator();
+			generator.setAgents(3);
+			generator.setBehaviors(2);
+			generator.setCapacities(4);
+			generator.setEvents(2);
+			List<File> files = generator.generate(tempDirectory);
+			assertEquals(3 + 2 + 4 * 2 + 2, files.size());
+			for (File file : files) {
+				assertTrue(file.isFile());
+			}
+		} finally {
+			FileSystem.delete(tempDirectory);
+		}
+	}
+
+	@Test
+	@DisplayName("Compilation stages are profiled")
+	public void run() throws Exception {
+		SarlCompilerBenchmark benchmark = new SarlCompilerBenchmark(getInjector());
+		benchmark.configure("--agents=2", "--behaviors=2", "--capacities=3", "--events=2",
+				"--warmup=0", "--iterations=2");
+		Map<CompilationStage, StageStatistics> statistics = benchmark.run();
+		for (CompilationStage stage : new CompilationStage[] {
+				CompilationStage.LOAD_SARL_FILES, CompilationStage.STUB_GENERATION,
+				CompilationStage.JVM_ELEMENT_GENERATION, CompilationStage.VALIDATION,
+				CompilationStage.JAVA_GENERATION}) {
+			StageStatistics stats = statistics.get(stage);
+			assertNotNull(stats, stage.name());
+			assertEquals(2, stats.getRuns());
+			assertTrue(stats.getMaxDuration() >= stats.getMinDuration());
+		}
+	}
+
+}
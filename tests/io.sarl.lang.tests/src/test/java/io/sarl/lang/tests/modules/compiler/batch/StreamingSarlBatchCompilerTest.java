@@ -0,0 +1,193 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.tests.modules.compiler.batch;
+
+import static io.sarl.tests.api.tools.TestUtils.multilineString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+import com.google.common.io.Files;
+import org.arakhne.afc.vmutil.FileSystem;
+import org.eclipse.xtext.diagnostics.Severity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.sarl.lang.compiler.batch.SarlBatchCompiler;
+import io.sarl.tests.api.AbstractSarlTest;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+@DisplayName("SarlBatchCompiler - streaming")
+@Tag("core")
+@Tag("compiler-run")
+public class StreamingSarlBatchCompilerTest extends AbstractSarlTest {
+
+	private static final String CAPACITY_CODE = multilineString(
+			"package io.sarl.lang.tests.compiler.batch",
+			"capacity MyCapacity {",
+			"  def myaction(a : int, b : int = 4) : int",
+			"}"
+			);
+
+	private static final String AGENT_CODE = multilineString(
+			"package io.sarl.lang.tests.compiler.batch",
+			"agent MyAgent {",
+			"  uses MyCapacity",
+			"  def oneFunction : int {",
+			"    myaction(1)",
+			"  }",
+			"}"
+			);
+
+	private static final String ERROR_CODE_1 = multilineString(
+			"package io.sarl.lang.tests.compiler.batch",
+			"class MyClass1 {",
+			"  def fct : int {",
+			"    \"a\"",
+			"  }",
+			"}"
+			);
+
+	private static final String ERROR_CODE_2 = multilineString(
+			"package io.sarl.lang.tests.compiler.batch",
+			"class MyClass2 {",
+			"  def fct : int {",
+			"    \"a\"",
+			"  }",
+			"}"
+			);
+
+	@Inject
+	private Provider<SarlBatchCompiler> compilerProvider;
+
+	private File tempDirectory;
+
+	private File sourceDirectory;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		this.tempDirectory = FileSystem.createTempDirectory("sarltests_" + getClass().getSimpleName()+ "_", "tmp");
+		this.sourceDirectory = new File(this.tempDirectory, "src");
+		this.sourceDirectory.mkdirs();
+		write("capacity.sarl", CAPACITY_CODE);
+		write("agent.sarl", AGENT_CODE);
+	}
+
+	@AfterEach
+	public void tearDown() throws Exception {
+		FileSystem.delete(this.tempDirectory);
+	}
+
+	private void write(String filename, String code) throws Exception {
+		Files.write(code.getBytes(), new File(this.sourceDirectory, filename));
+	}
+
+	private File output(String name) {
+		return new File(new File(this.tempDirectory, name), "io/sarl/lang/tests/compiler/batch");
+	}
+
+	private boolean compile(String name, boolean streaming, int maxErrors, List<String> errors) throws Exception {
+		final File root = new File(this.tempDirectory, name);
+		final SarlBatchCompiler compiler = this.compilerProvider.get();
+		compiler.setBasePath(this.tempDirectory.getAbsolutePath());
+		compiler.setSourcePath(this.sourceDirectory.getAbsolutePath());
+		compiler.setOutputPath(root);
+		compiler.setClassOutputPath(new File(this.tempDirectory, name + "-bin"));
+		compiler.setTempDirectory(new File(this.tempDirectory, name + "-build"));
+		compiler.setJavaCompilerVerbose(false);
+		compiler.setGenerateInlineAnnotation(false);
+		compiler.setReportInternalProblemsAsIssues(true);
+		compiler.setStreamingCompilation(streaming);
+		compiler.setMaxErrorCount(maxErrors);
+		compiler.addIssueMessageListener((issue, uri, message) -> {
+			if (issue.getSeverity() == Severity.ERROR) {
+				errors.add(uri.lastSegment() + ":" + issue.getLineNumber() + ":" + issue.getCode());
+			}
+		});
+		return compiler.compile();
+	}
+
+	@Test
+	@DisplayName("Same generated files")
+	public void sameGeneratedFiles() throws Exception {
+		final List<String> errors1 = new ArrayList<>();
+		assertTrue(compile("standard", false, 0, errors1));
+		final List<String> errors2 = new ArrayList<>();
+		assertTrue(compile("streaming", true, 0, errors2));
+		assertTrue(errors1.isEmpty());
+		assertTrue(errors2.isEmpty());
+		final String[] files = output("standard").list();
+		assertTrue(files.length >= 2);
+		for (final String file : files) {
+			assertEquals(
+					Files.asCharSource(new File(output("standard"), file), StandardCharsets.UTF_8).read(),
+					Files.asCharSource(new File(output("streaming"), file), StandardCharsets.UTF_8).read());
+		}
+	}
+
+	@Test
+	@DisplayName("All errors")
+	public void allErrors() throws Exception {
+		write("error1.sarl", ERROR_CODE_1);
+		write("error2.sarl", ERROR_CODE_2);
+		final List<String> errors = new ArrayList<>();
+		assertFalse(compile("standard", false, 0, errors));
+		assertEquals(2, errors.size());
+	}
+
+	@Test
+	@DisplayName("Fail-fast")
+	public void failFast() throws Exception {
+		write("error1.sarl", ERROR_CODE_1);
+		write("error2.sarl", ERROR_CODE_2);
+		final List<String> errors = new ArrayList<>();
+		assertFalse(compile("standard", false, 1, errors));
+		assertEquals(1, errors.size());
+	}
+
+	@Test
+	@DisplayName("No generation after error")
+	public void noGenerationAfterError() throws Exception {
+		write("error1.sarl", ERROR_CODE_1);
+		final List<String> errors = new ArrayList<>();
+		assertFalse(compile("streaming", true, 0, errors));
+		assertEquals(1, errors.size());
+		assertFalse(new File(output("streaming"), "MyClass1.java").exists());
+	}
+
+}
@@ -0,0 +1,312 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.tests.modules.compiler.batch.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.text.MessageFormat;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.inject.Injector;
+import org.eclipse.xtext.diagnostics.Severity;
+import org.eclipse.xtext.util.Strings;
+
+import io.sarl.lang.SARLStandaloneSetup;
+import io.sarl.lang.compiler.batch.CleaningPolicy;
+import io.sarl.lang.compiler.batch.CompilationStage;
+import io.sarl.lang.compiler.batch.CompilationStageProfiler;
+import io.sarl.lang.compiler.batch.CompilationStageProfiler.StageStatistics;
+import io.sarl.lang.compiler.batch.SarlBatchCompiler;
+
+/** Benchmark of the SARL batch compiler on a generated corpus.
+ *
+ * <p>A synthetic SARL project is generated with a {@link SarlCorpusGenerator}, and compiled several
+ * times with the {@link SarlBatchCompiler}. The duration and the allocated memory of each compilation
+ * stage are measured with a {@link CompilationStageProfiler}. The first compilations are warmup
+ * iterations that are not included in the report.
+ *
+ * <p>The command line arguments are of the form {@code --name=value}. The supported options are:<ul>
+ * <li>{@code --agents}: number of generated agents;</li>
+ * <li>{@code --behaviors}: number of generated behaviors;</li>
+ * <li>{@code --capacities}: number of generated capacities, and skills;</li>
+ * <li>{@code --events}: number of generated events;</li>
+ * <li>{@code --warmup}: number of warmup compilations;</li>
+ * <li>{@code --iterations}: number of measured compilations;</li>
+ * <li>{@code --javac}: {@code true} for compiling the generated Java files to byte code;</li>
+ * <li>{@code --classpath}: the classpath to be used for compiling the corpus.
+ *     By default, the classpath of the benchmark is used.</li>
+ * </ul>
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ */
+public class SarlCompilerBenchmark {
+
+	private static final String OPTION_PREFIX = "--"; //$NON-NLS-1$
+
+	private static final String COLUMN_SEPARATOR = "\t"; //$NON-NLS-1$
+
+	private final SarlCorpusGenerator generator = new SarlCorpusGenerator();
+
+	private final CompilationStageProfiler profiler = new CompilationStageProfiler();
+
+	private final Injector injector;
+
+	private int warmupIterations = 2;
+
+	private int iterations = 5;
+
+	private boolean javaPostCompilation;
+
+	private String classpath;
+
+	/** Constructor.
+	 *
+	 * @param injector the injector that is used for creating the SARL compiler.
+	 */
+	public SarlCompilerBenchmark(Injector injector) {
+		this.injector = injector;
+	}
+
+	/** Replies the generator of the compiled corpus.
+	 *
+	 * @return the generator.
+	 */
+	public SarlCorpusGenerator getCorpusGenerator() {
+		return this.generator;
+	}
+
+	/** Replies the profiler of the compilation stages.
+	 *
+	 * @return the profiler.
+	 */
+	public CompilationStageProfiler getProfiler() {
+		return this.profiler;
+	}
+
+	/** Change the number of warmup compilations that are not measured.
+	 *
+	 * @param iterations the number of iterations.
+	 */
+	public void setWarmupIterations(int iterations) {
+		this.warmupIterations = Math.max(0, iterations);
+	}
+
+	/** Change the number of measured compilations.
+	 *
+	 * @param iterations the number of iterations.
+	 */
+	public void setIterations(int iterations) {
+		this.iterations = Math.max(1, iterations);
+	}
+
+	/** Change the flag that indicates if the generated Java code is compiled to byte code.
+	 *
+	 * @param enable {@code true} for compiling the generated Java code.
+	 */
+	public void setJavaPostCompilationEnable(boolean enable) {
+		this.javaPostCompilation = enable;
+	}
+
+	/** Change the classpath that is used for compiling the corpus.
+	 *
+	 * @param classpath the classpath, or {@code null} for using the default classpath.
+	 */
+	public void setClassPath(String classpath) {
+		this.classpath = classpath;
+	}
+
+	/** Generate the corpus and compile it for all the iterations.
+	 *
+	 * @return the statistics on the measured compilations.
+	 * @throws IOException if the corpus cannot be generated.
+	 */
+	public Map<CompilationStage, StageStatistics> run() throws IOException {
+		final File root = Files.createTempDirectory("sarlbenchmark").toFile(); //$NON-NLS-1$
+		try {
+			final File sourceFolder = new File(root, "src"); //$NON-NLS-1$
+			this.generator.generate(sourceFolder);
+			for (int i = 0; i < this.warmupIterations; ++i) {
+				compile(root, sourceFolder);
+			}
+			this.profiler.reset();
+			for (int i = 0; i < this.iterations; ++i) {
+				compile(root, sourceFolder);
+			}
+			return this.profiler.getStatistics();
+		} finally {
+			org.eclipse.xtext.util.Files.cleanFolder(root, null, true, true);
+		}
+	}
+
+	/** Compile the corpus one time.
+	 *
+	 * @param root the root folder of the project.
+	 * @param sourceFolder the source folder.
+	 */
+	protected void compile(File root, File sourceFolder) {
+		final SarlBatchCompiler compiler = this.injector.getInstance(SarlBatchCompiler.class);
+		compiler.setBasePath(root.getAbsolutePath());
+		compiler.setSourcePath(sourceFolder.getAbsolutePath());
+		compiler.setOutputPath(new File(root, "src-gen")); //$NON-NLS-1$
+		compiler.setClassOutputPath(new File(root, "bin")); //$NON-NLS-1$
+		compiler.setTempDirectory(new File(root, "build")); //$NON-NLS-1$
+		compiler.setCleaningPolicy(CleaningPolicy.FULL_CLEANING);
+		compiler.setJavaPostCompilationEnable(this.javaPostCompilation);
+		compiler.setJavaCompilerVerbose(false);
+		if (!Strings.isEmpty(this.classpath)) {
+			compiler.setClassPath(this.classpath);
+		}
+		final AtomicInteger errors = new AtomicInteger();
+		compiler.addIssueMessageListener((issue, uri, message) -> {
+			if (issue.getSeverity() == Severity.ERROR) {
+				errors.incrementAndGet();
+			}
+		});
+		compiler.addCompilationStageListener(this.profiler);
+		try {
+			if (!compiler.compile() || errors.get() > 0) {
+				throw new IllegalStateException(MessageFormat.format(
+						"The compilation of the generated corpus has failed with {0} error(s).", //$NON-NLS-1$
+						Integer.toString(errors.get())));
+			}
+		} finally {
+			compiler.removeCompilationStageListener(this.profiler);
+		}
+	}
+
+	/** Write the report of the given statistics.
+	 *
+	 * <p>The report is a tab-separated table with one row per compilation stage.
+	 * The durations are in milliseconds and the allocated memory in kilobytes.
+	 *
+	 * @param statistics the statistics to report.
+	 * @param output the output stream.
+	 */
+	public static void report(Map<CompilationStage, StageStatistics> statistics, PrintStream output) {
+		output.println(String.join(COLUMN_SEPARATOR, "stage", "runs", "avg (ms)", "min (ms)", "max (ms)", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+				"allocated (kB)")); //$NON-NLS-1$
+		long total = 0;
+		for (final StageStatistics stats : statistics.values()) {
+			total += stats.getAverageDuration();
+			output.println(String.join(COLUMN_SEPARATOR,
+					stats.getStage().getCaseInsensitiveName(),
+					Integer.toString(stats.getRuns()),
+					Long.toString(TimeUnit.NANOSECONDS.toMillis(stats.getAverageDuration())),
+					Long.toString(TimeUnit.NANOSECONDS.toMillis(stats.getMinDuration())),
+					Long.toString(TimeUnit.NANOSECONDS.toMillis(stats.getMaxDuration())),
+					Long.toString(stats.getAverageAllocatedBytes() / 1024)));
+		}
+		output.println(MessageFormat.format("Total average compilation time: {0} ms", //$NON-NLS-1$
+				Long.toString(TimeUnit.NANOSECONDS.toMillis(total))));
+	}
+
+	private static int parseInt(String name, String value) {
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException exception) {
+			throw new IllegalArgumentException(MessageFormat.format(
+					"Invalid integer value for option \"{0}\": {1}", name, value)); //$NON-NLS-1$
+		}
+	}
+
+	/** Configure the benchmark from the command line arguments.
+	 *
+	 * @param args the command line arguments.
+	 */
+	@SuppressWarnings("checkstyle:cyclomaticcomplexity")
+	public void configure(String... args) {
+		for (final String arg : args) {
+			final int index = arg.indexOf('=');
+			if (!arg.startsWith(OPTION_PREFIX) || index < 0) {
+				throw new IllegalArgumentException(MessageFormat.format("Invalid command line argument: {0}", arg)); //$NON-NLS-1$
+			}
+			final String name = arg.substring(OPTION_PREFIX.length(), index);
+			final String value = arg.substring(index + 1);
+			switch (name) {
+			case "agents": //$NON-NLS-1$
+				this.generator.setAgents(parseInt(name, value));
+				break;
+			case "behaviors": //$NON-NLS-1$
+				this.generator.setBehaviors(parseInt(name, value));
+				break;
+			case "capacities": //$NON-NLS-1$
+				this.generator.setCapacities(parseInt(name, value));
+				break;
+			case "events": //$NON-NLS-1$
+				this.generator.setEvents(parseInt(name, value));
+				break;
+			case "warmup": //$NON-NLS-1$
+				setWarmupIterations(parseInt(name, value));
+				break;
+			case "iterations": //$NON-NLS-1$
+				setIterations(parseInt(name, value));
+				break;
+			case "javac": //$NON-NLS-1$
+				setJavaPostCompilationEnable(Boolean.parseBoolean(value));
+				break;
+			case "classpath": //$NON-NLS-1$
+				setClassPath(value);
+				break;
+			default:
+				throw new IllegalArgumentException(MessageFormat.format("Invalid command line argument: {0}", arg)); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/** Run the benchmark with the given command line arguments, and write the report.
+	 *
+	 * @param output the output stream on which the report is written.
+	 * @param args the command line arguments.
+	 * @throws IOException if the corpus cannot be generated.
+	 */
+	public static void run(PrintStream output, String... args) throws IOException {
+		final Injector injector = SARLStandaloneSetup.doSetup();
+		final SarlCompilerBenchmark benchmark = new SarlCompilerBenchmark(injector);
+		benchmark.configure(args);
+		final SarlCorpusGenerator gen = benchmark.getCorpusGenerator();
+		output.println(MessageFormat.format(
+				"Benchmarking the SARL compiler on {0} agent(s), {1} behavior(s), {2} capacities and {3} event(s)", //$NON-NLS-1$
+				Integer.toString(gen.getAgents()), Integer.toString(gen.getBehaviors()),
+				Integer.toString(gen.getCapacities()), Integer.toString(gen.getEvents())));
+		if (!benchmark.getProfiler().isAllocationMeasured()) {
+			output.println("The allocated memory cannot be measured on this JVM."); //$NON-NLS-1$
+		}
+		report(benchmark.run(), output);
+	}
+
+	/** Run the benchmark, and write the report on the standard output.
+	 *
+	 * @param args the command line arguments.
+	 * @throws Exception if the benchmark cannot be run.
+	 */
+	public static void main(String[] args) throws Exception {
+		run(System.out, args);
+	}
+
+}
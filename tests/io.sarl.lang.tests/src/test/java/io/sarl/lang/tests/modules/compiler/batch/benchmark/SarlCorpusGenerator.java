@@ -0,0 +1,345 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.tests.modules.compiler.batch.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Generator of synthetic SARL projects that are used for benchmarking the SARL compiler.
+ *
+ * <p>The generated project contains events, capacities, skills, behaviors and agents.
+ * The elements are cross-referencing each other: the skills are using other capacities,
+ * the behaviors and the agents are using several capacities and are handling several events
+ * with guards, and the actions have parameters with default values.
+ * Each element is generated in its own SARL file.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ */
+public class SarlCorpusGenerator {
+
+	/** Default name of the package of the generated elements.
+	 */
+	public static final String DEFAULT_PACKAGE_NAME = "io.sarl.benchmark.corpus"; //$NON-NLS-1$
+
+	private static final String SARL_FILE_EXTENSION = ".sarl"; //$NON-NLS-1$
+
+	private String packageName = DEFAULT_PACKAGE_NAME;
+
+	private int agents = 10;
+
+	private int behaviors = 10;
+
+	private int capacities = 10;
+
+	private int events = 10;
+
+	/** Change the name of the package of the generated elements.
+	 *
+	 * @param name the package name.
+	 */
+	public void setPackageName(String name) {
+		this.packageName = name;
+	}
+
+	/** Replies the name of the package of the generated elements.
+	 *
+	 * @return the package name.
+	 */
+	public String getPackageName() {
+		return this.packageName;
+	}
+
+	/** Change the number of agents to generate.
+	 *
+	 * @param number the number of agents.
+	 */
+	public void setAgents(int number) {
+		this.agents = Math.max(0, number);
+	}
+
+	/** Replies the number of agents to generate.
+	 *
+	 * @return the number of agents.
+	 */
+	public int getAgents() {
+		return this.agents;
+	}
+
+	/** Change the number of behaviors to generate.
+	 *
+	 * @param number the number of behaviors.
+	 */
+	public void setBehaviors(int number) {
+		this.behaviors = Math.max(0, number);
+	}
+
+	/** Replies the number of behaviors to generate.
+	 *
+	 * @return the number of behaviors.
+	 */
+	public int getBehaviors() {
+		return this.behaviors;
+	}
+
+	/** Change the number of capacities to generate. One skill is generated per capacity.
+	 *
+	 * @param number the number of capacities, at least 1.
+	 */
+	public void setCapacities(int number) {
+		this.capacities = Math.max(1, number);
+	}
+
+	/** Replies the number of capacities to generate. One skill is generated per capacity.
+	 *
+	 * @return the number of capacities.
+	 */
+	public int getCapacities() {
+		return this.capacities;
+	}
+
+	/** Change the number of events to generate.
+	 *
+	 * @param number the number of events, at least 1.
+	 */
+	public void setEvents(int number) {
+		this.events = Math.max(1, number);
+	}
+
+	/** Replies the number of events to generate.
+	 *
+	 * @return the number of events.
+	 */
+	public int getEvents() {
+		return this.events;
+	}
+
+	/** Generate the SARL files into the given source folder.
+	 *
+	 * @param sourceFolder the root source folder.
+	 * @return the generated files.
+	 * @throws IOException if a file cannot be written.
+	 */
+	public List<File> generate(File sourceFolder) throws IOException {
+		final File packageFolder = new File(sourceFolder, this.packageName.replace('.', File.separatorChar));
+		packageFolder.mkdirs();
+		final List<File> files = new ArrayList<>();
+		for (int i = 0; i < this.events; ++i) {
+			files.add(write(packageFolder, eventName(i), generateEvent(i)));
+		}
+		for (int i = 0; i < this.capacities; ++i) {
+			files.add(write(packageFolder, capacityName(i), generateCapacity(i)));
+			files.add(write(packageFolder, skillName(i), generateSkill(i)));
+		}
+		for (int i = 0; i < this.behaviors; ++i) {
+			files.add(write(packageFolder, behaviorName(i), generateBehavior(i)));
+		}
+		for (int i = 0; i < this.agents; ++i) {
+			files.add(write(packageFolder, agentName(i), generateAgent(i)));
+		}
+		return files;
+	}
+
+	private static File write(File folder, String name, CharSequence content) throws IOException {
+		final File file = new File(folder, name + SARL_FILE_EXTENSION);
+		Files.write(file.toPath(), content.toString().getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	private static String eventName(int index) {
+		return "Event" + index; //$NON-NLS-1$
+	}
+
+	private static String capacityName(int index) {
+		return "Capacity" + index; //$NON-NLS-1$
+	}
+
+	private static String skillName(int index) {
+		return "Skill" + index; //$NON-NLS-1$
+	}
+
+	private static String behaviorName(int index) {
+		return "Behavior" + index; //$NON-NLS-1$
+	}
+
+	private static String agentName(int index) {
+		return "Agent" + index; //$NON-NLS-1$
+	}
+
+	private int capacity(int index) {
+		return index % this.capacities;
+	}
+
+	private int event(int index) {
+		return index % this.events;
+	}
+
+	private StringBuilder header() {
+		final StringBuilder content = new StringBuilder();
+		content.append("package ").append(this.packageName).append("\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		return content;
+	}
+
+	/** Generate the code of an event.
+	 *
+	 * @param index the index of the event.
+	 * @return the SARL code.
+	 */
+	protected CharSequence generateEvent(int index) {
+		final StringBuilder content = header();
+		content.append("event ").append(eventName(index)).append(" {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		content.append("\tvar value : int\n"); //$NON-NLS-1$
+		content.append("\tvar label : String\n"); //$NON-NLS-1$
+		content.append("}\n"); //$NON-NLS-1$
+		return content;
+	}
+
+	/** Generate the code of a capacity.
+	 *
+	 * @param index the index of the capacity.
+	 * @return the SARL code.
+	 */
+	protected CharSequence generateCapacity(int index) {
+		final StringBuilder content = header();
+		content.append("capacity ").append(capacityName(index)).append(" {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		content.append("\tdef compute").append(index) //$NON-NLS-1$
+			.append("(value : int, factor : int = ").append(index + 2).append(") : int\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		content.append("\tdef describe").append(index) //$NON-NLS-1$
+			.append("(prefix : String = \"").append(capacityName(index)) //$NON-NLS-1$
+			.append("\", separator : String = \":\") : String\n"); //$NON-NLS-1$
+		content.append("}\n"); //$NON-NLS-1$
+		return content;
+	}
+
+	/** Generate the code of a skill that is implementing the capacity with the same index.
+	 *
+	 * @param index the index of the skill.
+	 * @return the SARL code.
+	 */
+	protected CharSequence generateSkill(int index) {
+		final int other = capacity(index + 1);
+		final StringBuilder content = header();
+		content.append("skill ").append(skillName(index)) //$NON-NLS-1$
+			.append(" implements ").append(capacityName(index)).append(" {\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		if (other != index) {
+			content.append("\tuses ").append(capacityName(other)).append("\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		content.append("\tvar counter : long\n\n"); //$NON-NLS-1$
+		content.append("\tdef compute").append(index).append("(value : int, factor : int) : int {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		content.append("\t\tthis.counter += value\n"); //$NON-NLS-1$
+		if (other != index) {
+			content.append("\t\tif (value > 1000) {\n"); //$NON-NLS-1$
+			content.append("\t\t\treturn compute").append(other).append("(value / 2)\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			content.append("\t\t}\n"); //$NON-NLS-1$
+		}
+		content.append("\t\treturn value * factor\n"); //$NON-NLS-1$
+		content.append("\t}\n\n"); //$NON-NLS-1$
+		content.append("\tdef describe").append(index) //$NON-NLS-1$
+			.append("(prefix : String, separator : String) : String {\n"); //$NON-NLS-1$
+		content.append("\t\tprefix + separator + this.counter\n"); //$NON-NLS-1$
+		content.append("\t}\n\n"); //$NON-NLS-1$
+		content.append("}\n"); //$NON-NLS-1$
+		return content;
+	}
+
+	/** Generate the code of a behavior.
+	 *
+	 * @param index the index of the behavior.
+	 * @return the SARL code.
+	 */
+	protected CharSequence generateBehavior(int index) {
+		final int cap0 = capacity(index);
+		final int cap1 = capacity(index + 1);
+		final int evt0 = event(index);
+		final int evt1 = event(index + 1);
+		final StringBuilder content = header();
+		content.append("behavior ").append(behaviorName(index)).append(" {\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		content.append("\tuses ").append(capacityName(cap0)); //$NON-NLS-1$
+		if (cap1 != cap0) {
+			content.append(", ").append(capacityName(cap1)); //$NON-NLS-1$
+		}
+		content.append("\n\n"); //$NON-NLS-1$
+		content.append("\tvar total : int\n\n"); //$NON-NLS-1$
+		content.append("\ton ").append(eventName(evt0)).append(" [occurrence.value > 0] {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		content.append("\t\tthis.total += helper").append(index).append("(occurrence.value)\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		content.append("\t}\n\n"); //$NON-NLS-1$
+		content.append("\ton ").append(eventName(evt1)) //$NON-NLS-1$
+			.append(" [occurrence.label !== null && occurrence.label.length > ").append(index % 7).append("] {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		content.append("\t\tval description = describe").append(cap1).append("\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		content.append("\t\tthis.total += description.length\n"); //$NON-NLS-1$
+		content.append("\t}\n\n"); //$NON-NLS-1$
+		content.append("\tdef helper").append(index) //$NON-NLS-1$
+			.append("(value : int, offset : int = ").append(index).append(") : int {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		content.append("\t\tcompute").append(cap0).append("(value + offset)\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		content.append("\t}\n\n"); //$NON-NLS-1$
+		content.append("}\n"); //$NON-NLS-1$
+		return content;
+	}
+
+	/** Generate the code of an agent.
+	 *
+	 * @param index the index of the agent.
+	 * @return the SARL code.
+	 */
+	protected CharSequence generateAgent(int index) {
+		final int cap0 = capacity(index);
+		final int cap1 = capacity(index + 2);
+		final int evt0 = event(index);
+		final StringBuilder content = header();
+		content.append("agent ").append(agentName(index)).append(" {\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		content.append("\tuses ").append(capacityName(cap0)); //$NON-NLS-1$
+		if (cap1 != cap0) {
+			content.append(", ").append(capacityName(cap1)); //$NON-NLS-1$
+		}
+		content.append("\n\n"); //$NON-NLS-1$
+		content.append("\tdef setup(factor : int = ").append(index + 1).append(") {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		content.append("\t\tsetSkill(new ").append(skillName(cap0)).append(")\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		if (cap1 != cap0) {
+			content.append("\t\tsetSkill(new ").append(skillName(cap1)).append(")\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		if (this.behaviors > 0) {
+			content.append("\t\tval beh = new ").append(behaviorName(index % this.behaviors)) //$NON-NLS-1$
+				.append("(this)\n"); //$NON-NLS-1$
+			content.append("\t\tbeh.toString\n"); //$NON-NLS-1$
+		}
+		content.append("\t\tcompute").append(cap0).append("(factor)\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		content.append("\t}\n\n"); //$NON-NLS-1$
+		content.append("\ton ").append(eventName(evt0)).append(" [occurrence.value % 2 == 0] {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		content.append("\t\tval result = compute").append(cap1).append("(occurrence.value, 3)\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		content.append("\t\tif (result > 10) {\n"); //$NON-NLS-1$
+		content.append("\t\t\tdescribe").append(cap0).append("(\"").append(agentName(index)).append("\")\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		content.append("\t\t}\n"); //$NON-NLS-1$
+		content.append("\t}\n\n"); //$NON-NLS-1$
+		content.append("\ton ").append(eventName(evt0)).append(" [occurrence.value % 2 != 0] {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		content.append("\t\tsetup\n"); //$NON-NLS-1$
+		content.append("\t}\n\n"); //$NON-NLS-1$
+		content.append("}\n"); //$NON-NLS-1$
+		return content;
+	}
+
+}
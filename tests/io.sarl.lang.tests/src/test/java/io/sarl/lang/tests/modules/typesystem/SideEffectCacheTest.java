@@ -0,0 +1,186 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.tests.modules.typesystem;
+
+import static io.sarl.tests.api.tools.TestUtils.multilineString;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.xtext.common.types.JvmGenericType;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.common.types.TypesFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.sarl.lang.typesystem.SideEffectCache;
+import io.sarl.tests.api.AbstractSarlTest;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+@DisplayName("SideEffectCache")
+@Tag("core")
+public class SideEffectCacheTest extends AbstractSarlTest {
+
+	private ResourceSet resourceSet;
+
+	private Resource resource;
+
+	private JvmGenericType type;
+
+	private JvmOperation operation;
+
+	@BeforeEach
+	public void setUp() {
+		this.resourceSet = new ResourceSetImpl();
+		this.resource = new ResourceImpl(URI.createURI("file:/tmp/type.xmi"));
+		this.resourceSet.getResources().add(this.resource);
+		this.type = TypesFactory.eINSTANCE.createJvmGenericType();
+		this.type.setSimpleName("Type1");
+		this.operation = TypesFactory.eINSTANCE.createJvmOperation();
+		this.operation.setSimpleName("fct");
+		this.type.getMembers().add(this.operation);
+		this.resource.getContents().add(this.type);
+	}
+
+	@Test
+	public void getOrCreate() {
+		assertNull(SideEffectCache.get(this.operation));
+		final SideEffectCache cache = SideEffectCache.getOrCreate(this.operation);
+		assertNotNull(cache);
+		assertSame(cache, SideEffectCache.getOrCreate(this.type));
+		assertSame(cache, SideEffectCache.get(this.operation));
+	}
+
+	@Test
+	public void getOrCreate_outsideResource() {
+		assertNull(SideEffectCache.getOrCreate(TypesFactory.eINSTANCE.createJvmOperation()));
+	}
+
+	@Test
+	public void setPureOperation() {
+		final SideEffectCache cache = SideEffectCache.getOrCreate(this.operation);
+		assertNull(cache.getPureOperation(this.operation));
+		cache.setPureOperation(this.operation, true);
+		assertTrue(cache.getPureOperation(this.operation));
+		cache.setPureOperation(this.operation, false);
+		assertFalse(cache.getPureOperation(this.operation));
+	}
+
+	@Test
+	public void resourceChanged() {
+		final SideEffectCache cache = SideEffectCache.getOrCreate(this.operation);
+		cache.setPureOperation(this.operation, true);
+		this.resource.getContents().add(TypesFactory.eINSTANCE.createJvmGenericType());
+		assertNull(cache.getPureOperation(this.operation));
+	}
+
+	@Test
+	public void resourceRemoved() {
+		final SideEffectCache cache = SideEffectCache.getOrCreate(this.operation);
+		cache.setPureOperation(this.operation, true);
+		final Resource otherResource = new ResourceImpl(URI.createURI("file:/tmp/type2.xmi"));
+		this.resourceSet.getResources().add(otherResource);
+		assertTrue(cache.getPureOperation(this.operation));
+		this.resourceSet.getResources().remove(otherResource);
+		assertNull(cache.getPureOperation(this.operation));
+	}
+
+	private static boolean isPure(String code, String functionName) {
+		return code.contains("@Pure\n  public int " + functionName + "(");
+	}
+
+	@Test
+	@DisplayName("Mutually recursive pure functions")
+	public void mutualRecursion_pure() throws Exception {
+		final String source = multilineString(
+				"class C1 {",
+				"  def f1(n : int) : int { if (n <= 0) 0 else f2(n - 1) }",
+				"  def f2(n : int) : int { if (n <= 0) 1 else f1(n - 1) }",
+				"}");
+		// A StackOverflowError would be thrown by the compiler if the cycle was not detected
+		getCompileHelper().compile(source, (r) -> {
+			final String code = r.getGeneratedCode("C1");
+			assertTrue(isPure(code, "f1"));
+			assertTrue(isPure(code, "f2"));
+		});
+	}
+
+	@Test
+	@DisplayName("Mutually recursive pure and impure functions")
+	public void mutualRecursion_impure() throws Exception {
+		final String source = multilineString(
+				"class C1 {",
+				"  var x : int",
+				"  def f1(n : int) : int { if (n <= 0) 0 else f2(n - 1) }",
+				"  def f2(n : int) : int {",
+				"    val r = f1(n - 1)",
+				"    this.x = r",
+				"    return r",
+				"  }",
+				"  def f3(n : int) : int { f1(n) + 1 }",
+				"}");
+		getCompileHelper().compile(source, (r) -> {
+			final String code = r.getGeneratedCode("C1");
+			assertFalse(isPure(code, "f1"));
+			assertFalse(isPure(code, "f2"));
+			// The impure state that was computed within the cycle is used by the other callers
+			assertFalse(isPure(code, "f3"));
+		});
+	}
+
+	@Test
+	@DisplayName("Recursion through an overridden function")
+	public void mutualRecursion_override() throws Exception {
+		final String source = multilineString(
+				"class C1 {",
+				"  def f1(n : int) : int { if (n <= 0) 0 else f2(n - 1) }",
+				"  def f2(n : int) : int { if (n <= 0) 1 else f1(n - 1) }",
+				"}",
+				"class C2 extends C1 {",
+				"  override f1(n : int) : int { if (n <= 0) 2 else f2(n - 1) }",
+				"  def f3(n : int) : int { f1(n) + f2(n) }",
+				"}");
+		getCompileHelper().compile(source, (r) -> {
+			final String code1 = r.getGeneratedCode("C1");
+			assertTrue(isPure(code1, "f1"));
+			assertTrue(isPure(code1, "f2"));
+			final String code2 = r.getGeneratedCode("C2");
+			assertTrue(isPure(code2, "f1"));
+			assertTrue(isPure(code2, "f3"));
+		});
+	}
+
+}
@@ -0,0 +1,179 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2020 the original authors or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.tests.modules.util;
+
+import static io.sarl.tests.api.tools.TestEObjects.file;
+import static io.sarl.tests.api.tools.TestMockito.mock;
+import static io.sarl.tests.api.tools.TestUtils.multilineString;
+import static io.sarl.tests.api.tools.TestValidator.validate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.xtext.common.types.JvmGenericType;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.common.types.TypesFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.sarl.lang.sarl.actionprototype.ActionParameterTypes;
+import io.sarl.lang.sarl.actionprototype.ActionPrototype;
+import io.sarl.lang.sarl.SarlScript;
+import io.sarl.lang.sarl.actionprototype.IActionPrototypeProvider;
+import io.sarl.lang.util.InheritanceContextCache;
+import io.sarl.lang.util.InheritanceContextCache.TypeDescription;
+import io.sarl.tests.api.AbstractSarlTest;
+
+/** This class tests the {@link InheritanceContextCache} for SARL.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 0.12
+ */
+@SuppressWarnings("all")
+@DisplayName("InheritanceContextCache")
+@Tag("core")
+@Tag("unit")
+public class InheritanceContextCacheTest extends AbstractSarlTest {
+
+	private JvmGenericType type;
+
+	private IActionPrototypeProvider provider;
+
+	@BeforeEach
+	public void setUp() {
+		final Resource resource = new ResourceImpl(URI.createURI("file:/tmp/type.xmi"));
+		new ResourceSetImpl().getResources().add(resource);
+		this.type = TypesFactory.eINSTANCE.createJvmGenericType();
+		this.type.setPackageName("io.sarl.lang.tests");
+		this.type.setSimpleName("Type1");
+		final JvmOperation operation = TypesFactory.eINSTANCE.createJvmOperation();
+		operation.setSimpleName("fct");
+		this.type.getMembers().add(operation);
+		resource.getContents().add(this.type);
+		this.provider = createProvider();
+	}
+
+	private static IActionPrototypeProvider createProvider() {
+		final IActionPrototypeProvider provider = mock(IActionPrototypeProvider.class);
+		when(provider.createParameterTypesFromJvmModel(anyBoolean(), any())).thenAnswer(
+				it -> new ActionParameterTypes(false, 0));
+		when(provider.createActionPrototype(anyString(), any())).thenAnswer(
+				it -> new ActionPrototype(it.getArgument(0), it.getArgument(1), false));
+		return provider;
+	}
+
+	@Test
+	public void getDescription() {
+		final TypeDescription description = InheritanceContextCache.getDescription(this.type, this.provider);
+		assertEquals(1, description.getFeatures().size());
+		assertSame(this.type.getMembers().get(0), description.getFeatures().get(0).getFeature());
+		assertEquals("fct", description.getFeatures().get(0).getPrototype().getActionName());
+		assertEquals(0, description.getConstructors().size());
+	}
+
+	@Test
+	public void getDescription_shared() {
+		final TypeDescription description = InheritanceContextCache.getDescription(this.type, this.provider);
+		assertSame(description, InheritanceContextCache.getDescription(this.type, this.provider));
+	}
+
+	@Test
+	public void getDescription_otherProvider() {
+		final TypeDescription description = InheritanceContextCache.getDescription(this.type, this.provider);
+		assertNotSame(description, InheritanceContextCache.getDescription(this.type, createProvider()));
+	}
+
+	private static JvmGenericType findType(SarlScript script, String name) {
+		for (final EObject object : script.eResource().getContents()) {
+			if (object instanceof JvmGenericType && name.equals(((JvmGenericType) object).getSimpleName())) {
+				return (JvmGenericType) object;
+			}
+		}
+		return null;
+	}
+
+	private static Set<String> getFeatureNames(TypeDescription description) {
+		return description.getFeatures().stream().map(it -> it.getFeature().getSimpleName()).collect(Collectors.toSet());
+	}
+
+	@Test
+	@DisplayName("super type declared after its sub type")
+	public void getDescription_superTypeDeclaredAfterSubType() throws Exception {
+		final SarlScript script = file(getParseHelper(), multilineString(
+				"package io.sarl.lang.tests.test",
+				"class B extends A {",
+				"  override fct1 {}",
+				"  def fct3 {",
+				"    fct2",
+				"  }",
+				"}",
+				"class A {",
+				"  def fct1 {}",
+				"  def fct2(a : int = 4) {}",
+				"}"));
+		validate(getValidationHelper(), getInjector(), script).assertNoErrors();
+		final JvmGenericType typeB = findType(script, "B");
+		assertNotNull(typeB);
+		final TypeDescription description = InheritanceContextCache.getDescription(typeB,
+				getInjector().getInstance(IActionPrototypeProvider.class));
+		final Set<String> names = getFeatureNames(description);
+		assertTrue(names.contains("fct1"), names::toString);
+		assertTrue(names.contains("fct2"), names::toString);
+		assertTrue(names.contains("fct3"), names::toString);
+	}
+
+	@Test
+	@DisplayName("invalidate")
+	public void invalidate() throws Exception {
+		final SarlScript script = file(getParseHelper(), multilineString(
+				"package io.sarl.lang.tests.test",
+				"class A {",
+				"  def fct1 {}",
+				"}"));
+		final JvmGenericType typeA = findType(script, "A");
+		assertNotNull(typeA);
+		final IActionPrototypeProvider provider = getInjector().getInstance(IActionPrototypeProvider.class);
+		final TypeDescription description = InheritanceContextCache.getDescription(typeA, provider);
+		assertSame(description, InheritanceContextCache.getDescription(typeA, provider));
+		InheritanceContextCache.invalidate(typeA.eResource());
+		assertNotSame(description, InheritanceContextCache.getDescription(typeA, provider));
+	}
+
+}